@@ -0,0 +1,40 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.data.CheckoutInput;
+import com.saucedemo.data.CheckoutInputGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to produce 10,000 checkout inputs one by one versus through the batch-parallel iterator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CheckoutInputGeneratorBenchmark {
+    private static final int COUNT = 10_000;
+    private final CheckoutInputGenerator generator = new CheckoutInputGenerator(42, true);
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(generator.generate(i));
+        }
+    }
+
+    @Benchmark
+    public void parallelBatches(Blackhole blackhole) {
+        Iterator<CheckoutInput> inputs = generator.iterator(COUNT, 256);
+        while (inputs.hasNext()) {
+            blackhole.consume(inputs.next());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.saucedemo.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one page-object style log call under the logback setups in {@code logback.xml}.
+ * SYNC_CONSOLE_AND_FILE is the original configuration; the console is replaced by a null
+ * stream so that the JMH harness output does not distort the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoggingBenchmark {
+    private static final long PACING_TOKENS = 50_000;
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"SYNC_CONSOLE_AND_FILE", "SYNC_FILE", "ASYNC_FILE", "ASYNC_JSON", "DISABLED"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logging-benchmark");
+        context = new LoggerContext();
+        logger = context.getLogger("com.saucedemo.pages.CheckoutStepOnePage");
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+
+        switch (mode) {
+            case "SYNC_CONSOLE_AND_FILE":
+                logger.addAppender(nullConsole());
+                logger.addAppender(file("selenium-tests.log", patternEncoder()));
+                break;
+            case "SYNC_FILE":
+                logger.addAppender(file("selenium-tests.log", patternEncoder()));
+                break;
+            case "ASYNC_FILE":
+                logger.addAppender(async(file("selenium-tests.log", patternEncoder())));
+                break;
+            case "ASYNC_JSON":
+                logger.addAppender(async(file("selenium-tests.jsonl", jsonEncoder())));
+                break;
+            case "DISABLED":
+                logger.setLevel(Level.WARN);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown logging mode: " + mode);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void pageActionLog() {
+        logger.info("Filling checkout information - First: {}, Last: {}, Postal: {}",
+                "Emmanuel", "Arhu", "Kumasi");
+    }
+
+    /**
+     * Same call followed by simulated page work, which is how page objects log in practice.
+     * Subtract the DISABLED score to get the cost the calling test thread actually pays.
+     */
+    @Benchmark
+    public void pacedPageActionLog() {
+        pageActionLog();
+        Blackhole.consumeCPU(PACING_TOKENS);
+    }
+
+    private Appender<ILoggingEvent> nullConsole() {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(patternEncoder());
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> file(String name, Encoder<ILoggingEvent> encoder) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(directory.resolve(name).toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> delegate) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(0);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(context);
+        encoder.setWithMessage(false);
+        encoder.setWithFormattedMessage(true);
+        encoder.setWithArguments(false);
+        encoder.setWithContext(false);
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,138 @@
+package com.saucedemo.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.saucedemo.pages.CheckoutStepOnePage;
+import com.saucedemo.pages.CheckoutStepTwoPage;
+import com.saucedemo.pages.InventoryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The framework's own cost per page-object call, measured against {@link StubWebDriver} so no
+ * browser is involved: {@code PageFactory} construction, the {@code BasePage} wait-then-act
+ * helpers and the price regexes of {@link CheckoutStepTwoPage}. {@code latencyMicros} adds a
+ * simulated round trip per WebDriver call, and {@code pageLogLevel} switches the page objects'
+ * logging on (to a null stream) or off, so its share can be read from the difference.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PageObjectBenchmark -rf json -rff target/jmh-page-objects.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageObjectBenchmark {
+    private static final String PAGES_LOGGER = "com.saucedemo.pages";
+
+    @Param({"0", "50"})
+    public long latencyMicros;
+
+    @Param({"OFF", "INFO"})
+    public String pageLogLevel;
+
+    private StubWebDriver driver;
+    private WebDriverWait wait;
+    private CheckoutStepOnePage stepOne;
+    private CheckoutStepTwoPage stepTwo;
+    private OutputStreamAppender<ILoggingEvent> appender;
+
+    @Setup
+    public void setUp() {
+        driver = new StubWebDriver(TimeUnit.MICROSECONDS.toNanos(latencyMicros))
+                .withUrl("https://www.saucedemo.com/checkout-step-two.html")
+                .withText(By.cssSelector("[data-test='title']"), "Checkout: Overview")
+                .withText(By.cssSelector("[data-test='subtotal-label']"), "Item total: $39.98")
+                .withText(By.cssSelector("[data-test='tax-label']"), "Tax: $3.20")
+                .withText(By.cssSelector("[data-test='total-label']"), "Total: $43.18");
+        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        routePageLogs();
+        stepOne = new CheckoutStepOnePage(driver, wait);
+        stepTwo = new CheckoutStepTwoPage(driver, wait);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger pages = (Logger) LoggerFactory.getLogger(PAGES_LOGGER);
+        if (appender != null) {
+            pages.detachAppender(appender);
+            appender.stop();
+        }
+        pages.setAdditive(true);
+        pages.setLevel(null);
+    }
+
+    @Benchmark
+    public InventoryPage constructInventoryPage() {
+        return new InventoryPage(driver, wait);
+    }
+
+    @Benchmark
+    public CheckoutStepTwoPage constructCheckoutStepTwoPage() {
+        return new CheckoutStepTwoPage(driver, wait);
+    }
+
+    /** Three {@code clearAndType} calls: a wait for visibility, clear and sendKeys each. */
+    @Benchmark
+    public CheckoutStepOnePage fillCheckoutInformation() {
+        return stepOne.fillCheckoutInformation("Emmanuel", "Arhu", "Kumasi");
+    }
+
+    /** {@code isElementDisplayed}, {@code getCurrentUrl} and {@code getElementText}. */
+    @Benchmark
+    public boolean isCheckoutStepTwoPageLoaded() {
+        return stepTwo.isCheckoutStepTwoPageLoaded();
+    }
+
+    @Benchmark
+    public void verifyPricing(Blackhole blackhole) {
+        blackhole.consume(stepTwo.verifySubtotal("39.98"));
+        blackhole.consume(stepTwo.verifyTax("3.20"));
+        blackhole.consume(stepTwo.verifyTotal("43.18"));
+    }
+
+    /** The WebDriver calls behind {@link #verifyPricing} without the page object around them. */
+    @Benchmark
+    public void verifyPricingDriverOnly(Blackhole blackhole) {
+        blackhole.consume(driver.findElement(By.cssSelector("[data-test='subtotal-label']")).getText());
+        blackhole.consume(driver.findElement(By.cssSelector("[data-test='tax-label']")).getText());
+        blackhole.consume(driver.findElement(By.cssSelector("[data-test='total-label']")).getText());
+    }
+
+    private void routePageLogs() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger pages = context.getLogger(PAGES_LOGGER);
+        pages.setAdditive(false);
+        pages.setLevel(Level.toLevel(pageLogLevel));
+        if (pages.getLevel() != Level.OFF) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+            encoder.start();
+            appender = new OutputStreamAppender<>();
+            appender.setContext(context);
+            appender.setEncoder(encoder);
+            appender.setOutputStream(OutputStream.nullOutputStream());
+            appender.start();
+            pages.addAppender(appender);
+        }
+    }
+}
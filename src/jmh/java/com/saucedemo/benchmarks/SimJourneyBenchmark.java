@@ -0,0 +1,52 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.load.JourneyRecorder;
+import com.saucedemo.load.PurchaseJourney;
+import com.saucedemo.sim.SimWebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole purchase journey through the page objects on {@link SimWebDriver}: page loads,
+ * script-rendered lists, waits and lookups, with no browser or network in the measurement, so
+ * a regression in the framework shows up as a shift here rather than as noise.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="SimJourneyBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimJourneyBenchmark {
+    private SimWebDriver driver;
+    private PurchaseJourney journey;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        driver = new SimWebDriver();
+        journey = new PurchaseJourney("https://www.saucedemo.com", "standard_user", "secret_sauce",
+                Duration.ZERO, Duration.ZERO, JourneyRecorder.NONE);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public void purchaseJourney() throws InterruptedException {
+        journey.run(driver, random);
+    }
+}
@@ -0,0 +1,57 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.standin.ResponseLatency;
+import com.saucedemo.standin.SwagLabsServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip for one page of the local stand-in with no injected latency: the floor that
+ * {@code standin.latency} is added to when browser runs are measured offline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StandInServerBenchmark {
+    private SwagLabsServer server;
+    private HttpClient client;
+    private HttpRequest loginPage;
+    private HttpRequest inventoryPage;
+
+    @Setup
+    public void setUp() {
+        server = SwagLabsServer.start(0, "localhost", 4, ResponseLatency.NONE);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        loginPage = HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "/")).build();
+        inventoryPage = HttpRequest.newBuilder(URI.create(server.getBaseUrl() + "/inventory.html"))
+                .header("Cookie", "session-username=standard_user").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] loginPage() throws IOException, InterruptedException {
+        return client.send(loginPage, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] inventoryPage() throws IOException, InterruptedException {
+        return client.send(inventoryPage, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
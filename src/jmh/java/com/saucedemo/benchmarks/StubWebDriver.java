@@ -0,0 +1,227 @@
+package com.saucedemo.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Just enough {@link WebDriver} for page objects to run without a browser: every lookup finds a
+ * visible, enabled element whose text is whatever was registered for its locator. Each driver or
+ * element call spins for {@code latencyNanos} to stand in for the WebDriver round trip, so
+ * benchmarks can show the framework's share of a command next to a given transport cost.
+ */
+final class StubWebDriver implements WebDriver {
+    private final long latencyNanos;
+    private final Map<String, String> texts = new HashMap<>();
+    private String currentUrl = "about:blank";
+
+    StubWebDriver(long latencyNanos) {
+        this.latencyNanos = latencyNanos;
+    }
+
+    /** Text returned by elements found with {@code locator}; others return an empty string. */
+    StubWebDriver withText(By locator, String text) {
+        texts.put(locator.toString(), text);
+        return this;
+    }
+
+    StubWebDriver withUrl(String url) {
+        this.currentUrl = url;
+        return this;
+    }
+
+    @Override
+    public void get(String url) {
+        roundTrip();
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        roundTrip();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        roundTrip();
+        return "Swag Labs";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        roundTrip();
+        return List.of(new StubElement(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        roundTrip();
+        return new StubElement(by);
+    }
+
+    @Override
+    public String getPageSource() {
+        roundTrip();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("stub");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "stub";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo is not stubbed");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate is not stubbed");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("manage is not stubbed");
+    }
+
+    private void roundTrip() {
+        if (latencyNanos > 0) {
+            long end = System.nanoTime() + latencyNanos;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private final class StubElement implements WebElement {
+        private final By locator;
+
+        StubElement(By locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public void click() {
+            roundTrip();
+        }
+
+        @Override
+        public void submit() {
+            roundTrip();
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            roundTrip();
+        }
+
+        @Override
+        public void clear() {
+            roundTrip();
+        }
+
+        @Override
+        public String getTagName() {
+            roundTrip();
+            return "div";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            roundTrip();
+            return null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            roundTrip();
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            roundTrip();
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            roundTrip();
+            return texts.getOrDefault(locator.toString(), "");
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return StubWebDriver.this.findElements(by);
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return StubWebDriver.this.findElement(by);
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            roundTrip();
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            roundTrip();
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            roundTrip();
+            return new Dimension(100, 20);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            roundTrip();
+            return new Rectangle(getLocation(), getSize());
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            roundTrip();
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            throw new UnsupportedOperationException("Screenshots are not stubbed");
+        }
+
+        @Override
+        public String toString() {
+            return "StubElement(" + locator + ")";
+        }
+    }
+}
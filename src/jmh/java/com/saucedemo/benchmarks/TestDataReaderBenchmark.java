@@ -0,0 +1,69 @@
+package com.saucedemo.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saucedemo.utils.TestData;
+import com.saucedemo.utils.TestDataReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost of {@code credentials.username} and {@code pricing.total}: the original
+ * regex-split tree walk, the cached dotted-path API and the typed binding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TestDataReaderBenchmark {
+    private JsonNode tree;
+    private TestData data;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("testdata.json")) {
+            tree = new ObjectMapper().readTree(in);
+        }
+        data = TestDataReader.getData();
+    }
+
+    @Benchmark
+    public void legacySplitWalk(Blackhole blackhole) {
+        blackhole.consume(legacyLookup("credentials.username").asText());
+        blackhole.consume(legacyLookup("pricing.total").asText());
+    }
+
+    @Benchmark
+    public void cachedPathLookup(Blackhole blackhole) {
+        blackhole.consume(TestDataReader.getTestDataAsString("credentials.username"));
+        blackhole.consume(TestDataReader.getTestDataAsString("pricing.total"));
+    }
+
+    @Benchmark
+    public void typedBinding(Blackhole blackhole) {
+        blackhole.consume(data.getCredentials().getUsername());
+        blackhole.consume(data.getPricing().getTotal());
+    }
+
+    /** The lookup as it was before the cache: regex split and walk on every call. */
+    private JsonNode legacyLookup(String path) {
+        String[] keys = path.split("\\.");
+        JsonNode node = tree;
+        for (String key : keys) {
+            node = node.get(key);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+}
@@ -1,41 +1,68 @@
 package com.saucedemo.base;
 
+import com.saucedemo.execution.AdaptiveConcurrencyController;
+import com.saucedemo.execution.BrowserProcesses;
+import com.saucedemo.execution.RemoteSessionPool;
+import com.saucedemo.execution.RetryBudget;
+import com.saucedemo.execution.SessionWatchdog;
+import com.saucedemo.execution.WarmSessions;
+import com.saucedemo.sim.SimWebDriver;
+import com.saucedemo.standin.SwagLabsServer;
 import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.handleAnyPopups;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import io.qameta.allure.Attachment;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
-import java.time.Duration;
-
 public class BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
     protected WebDriver driver;
     protected WebDriverWait wait;
-    private static final int TIMEOUT = 10;
+    private AdaptiveConcurrencyController.Lease sessionLease;
+    private String browser;
 
     @BeforeMethod
     @Parameters({"browser"})
-    public void setUp(@Optional("chrome") String browser) {
-        logger.info("Setting up test environment for browser: {}", browser);
-        initializeDriver(browser);
+    public void setUp(@Optional String browser) {
+        if (browser == null) {
+            browser = ConfigReader.getBrowser();
+        }
+        this.browser = browser;
+        WarmSessions.Session warm = WarmSessions.take(browser);
+        if (warm != null) {
+            logger.info("Retrying on the warm {} session of the failed attempt", browser);
+            driver = warm.getDriver();
+            sessionLease = warm.getLease();
+        } else {
+            logger.info("Setting up test environment for browser: {}", browser);
+            sessionLease = AdaptiveConcurrencyController.forBrowser(browser).acquire();
+            try {
+                initializeDriver(browser);
+            } catch (RuntimeException e) {
+                sessionLease.close();
+                throw e;
+            }
+            SessionWatchdog.register(driver, sessionLease);
+        }
         driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(TIMEOUT));
-        wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT));
+        driver.manage().timeouts().implicitlyWait(ConfigReader.getDuration("timeout.implicit"));
+        driver.manage().timeouts().pageLoadTimeout(ConfigReader.getDuration("timeout.page.load"));
+        wait = new WebDriverWait(driver, ConfigReader.getDuration("timeout.explicit"),
+                ConfigReader.getDuration("poll.interval"));
 
-        String baseUrl = ConfigReader.getProperty("base.url");
+        String baseUrl = SwagLabsServer.resolveBaseUrl();
         logger.info("Navigating to: {}", baseUrl);
         driver.get(baseUrl);
     }
@@ -43,24 +70,33 @@ public class BaseTest {
     private void initializeDriver(String browser) {
         switch (browser.toLowerCase()) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
+                if (!RemoteSessionPool.isEnabled()) {
+                    WebDriverManager.chromedriver().setup();
+                }
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
                 chromeOptions.addArguments("--disable-extensions");
                 chromeOptions.addArguments("--no-sandbox");
                 chromeOptions.addArguments("--disable-dev-shm-usage");
-                if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
+                if (ConfigReader.isHeadless()) {
                     chromeOptions.addArguments("--headless");
                 }
-                driver = new ChromeDriver(chromeOptions);
+                driver = RemoteSessionPool.isEnabled() ? RemoteSessionPool.shared().create(chromeOptions)
+                        : BrowserProcesses.chrome(chromeOptions);
                 break;
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
+                if (!RemoteSessionPool.isEnabled()) {
+                    WebDriverManager.firefoxdriver().setup();
+                }
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
+                if (ConfigReader.isHeadless()) {
                     firefoxOptions.addArguments("--headless");
                 }
-                driver = new FirefoxDriver(firefoxOptions);
+                driver = RemoteSessionPool.isEnabled() ? RemoteSessionPool.shared().create(firefoxOptions)
+                        : BrowserProcesses.firefox(firefoxOptions);
+                break;
+            case "sim":
+                driver = new SimWebDriver();
                 break;
             default:
                 throw new IllegalArgumentException("Browser not supported: " + browser);
@@ -68,14 +104,34 @@ public class BaseTest {
         logger.info("Driver initialized for browser: {}", browser);
     }
 
+    /** Keeps the session open, reset, when the failed test is about to be retried. */
     @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            logger.info("Closing browser and cleaning up resources");
-            driver.quit();
+    public void tearDown(ITestResult result) {
+        if (driver == null) {
+            return;
+        }
+        boolean killed = SessionWatchdog.wasKilled(driver);
+        if (!killed && RetryBudget.shouldRetry(result) && WarmSessions.park(browser, driver, sessionLease)) {
+            logger.info("Keeping the {} session for the retry", browser);
+            driver = null;
+            return;
+        }
+        SessionWatchdog.unregister(driver);
+        logger.info("Closing browser and cleaning up resources");
+        try {
+            if (!killed) {
+                driver.quit();
+            }
+        } finally {
+            sessionLease.close();
+            driver = null;
         }
     }
 
+    protected void handleAnyPopups() {
+        new handleAnyPopups(driver, wait).handleBrowserPopups();
+    }
+
     @Attachment(value = "Screenshot", type = "image/png")
     public byte[] takeScreenshot() {
         return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
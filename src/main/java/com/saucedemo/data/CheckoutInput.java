@@ -0,0 +1,111 @@
+package com.saucedemo.data;
+
+/**
+ * One set of values for the checkout information form.
+ */
+public final class CheckoutInput {
+    private final String firstName;
+    private final String lastName;
+    private final String postalCode;
+
+    public CheckoutInput(String firstName, String lastName, String postalCode) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.postalCode = postalCode;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    public String getField(int field) {
+        switch (field) {
+            case 0:
+                return firstName;
+            case 1:
+                return lastName;
+            case 2:
+                return postalCode;
+            default:
+                throw new IllegalArgumentException("No checkout field " + field);
+        }
+    }
+
+    public CheckoutInput withField(int field, String value) {
+        switch (field) {
+            case 0:
+                return new CheckoutInput(value, lastName, postalCode);
+            case 1:
+                return new CheckoutInput(firstName, value, postalCode);
+            case 2:
+                return new CheckoutInput(firstName, lastName, value);
+            default:
+                throw new IllegalArgumentException("No checkout field " + field);
+        }
+    }
+
+    /**
+     * The error Swag Labs shows for this input: the first empty field is reported as required,
+     * anything else (whitespace, digits, any script) is accepted.
+     *
+     * @return the expected error text, or null if the form should be accepted
+     */
+    public String expectedError() {
+        if (firstName.isEmpty()) {
+            return "Error: First Name is required";
+        }
+        if (lastName.isEmpty()) {
+            return "Error: Last Name is required";
+        }
+        if (postalCode.isEmpty()) {
+            return "Error: Postal Code is required";
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CheckoutInput)) {
+            return false;
+        }
+        CheckoutInput other = (CheckoutInput) o;
+        return firstName.equals(other.firstName) && lastName.equals(other.lastName)
+                && postalCode.equals(other.postalCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return (firstName.hashCode() * 31 + lastName.hashCode()) * 31 + postalCode.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "{firstName=" + escape(firstName) + ", lastName=" + escape(lastName)
+                + ", postalCode=" + escape(postalCode) + "}";
+    }
+
+    /** Quotes the value and spells out anything outside printable ASCII as \\u{...}. */
+    static String escape(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        if (value.length() > 64) {
+            sb.append("<").append(value.codePointCount(0, value.length())).append(" code points> ");
+            value = value.substring(0, 32);
+        }
+        value.codePoints().forEach(cp -> {
+            if (cp >= 0x20 && cp < 0x7F && cp != '"' && cp != '\\') {
+                sb.append((char) cp);
+            } else {
+                sb.append("\\u{").append(Integer.toHexString(cp)).append('}');
+            }
+        });
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,231 @@
+package com.saucedemo.data;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+/**
+ * Generates checkout form inputs covering empty and single-character values, digits,
+ * whitespace, non-Latin scripts, combining and zero-width characters, markup/punctuation
+ * and length extremes, alone or mixed within one field.
+ * <p>
+ * Input {@code i} depends only on the seed and {@code i}, so a failure is reproducible from
+ * {@code (seed, index)} no matter how generation was parallelized. Characters WebDriver
+ * cannot type literally are never produced: Enter/Tab and other C0 controls (they press keys)
+ * and the private use block U+E000..U+F8FF (WebDriver key codes). Supplementary characters
+ * such as emoji are opt-in because ChromeDriver only types the Basic Multilingual Plane.
+ */
+public class CheckoutInputGenerator {
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int[] LENGTH_EXTREMES = {64, 255, 256, 1024, 4096};
+    private static final String[] MARKUP = {
+            "'", "\"", "<", ">", "&", ";", "%", "\\", "/", "`", "$", "{", "}", "#", "-", ".",
+            "<script>", "' OR '1'='1", "${x}", "%s", "null", "undefined", "NaN"
+    };
+    private static final int[][] SCRIPTS = {
+            {0x00C0, 0x00FF},   // Latin-1 letters
+            {0x0100, 0x017F},   // Latin Extended-A
+            {0x0391, 0x03C9},   // Greek
+            {0x0410, 0x044F},   // Cyrillic
+            {0x05D0, 0x05EA},   // Hebrew
+            {0x0627, 0x064A},   // Arabic
+            {0x0905, 0x0939},   // Devanagari
+            {0x3041, 0x3096},   // Hiragana
+            {0x4E00, 0x9FFF},   // CJK ideographs
+            {0xAC00, 0xD7A3},   // Hangul syllables
+    };
+    private static final int[] WHITESPACE = {' ', 0x00A0, 0x2002, 0x2009, 0x3000};
+    private static final int[] INVISIBLE = {0x200B, 0x200C, 0x200D, 0x200E, 0x200F, 0x2060, 0xFEFF, 0x00AD};
+    private static final int[][] SUPPLEMENTARY = {
+            {0x1F600, 0x1F64F}, // emoticons
+            {0x1D400, 0x1D433}, // mathematical bold letters
+            {0x20000, 0x2A6DF}, // CJK extension B
+    };
+
+    private final long seed;
+    private final boolean supplementary;
+
+    public CheckoutInputGenerator(long seed, boolean supplementary) {
+        this.seed = seed;
+        this.supplementary = supplementary;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public CheckoutInput generate(long index) {
+        SplittableRandom random = new SplittableRandom(mix(seed + index * GAMMA));
+        return new CheckoutInput(field(random), field(random), field(random));
+    }
+
+    /**
+     * Inputs {@code 0..count-1} in order. Batches are generated on the common fork/join pool,
+     * one batch ahead of the consumer.
+     */
+    public Iterator<CheckoutInput> iterator(long count, int batchSize) {
+        return new Iterator<CheckoutInput>() {
+            private CheckoutInput[] batch = new CheckoutInput[0];
+            private int position;
+            private long nextStart;
+            private CompletableFuture<CheckoutInput[]> pending = submit();
+
+            private CompletableFuture<CheckoutInput[]> submit() {
+                long from = nextStart;
+                long to = Math.min(count, from + batchSize);
+                nextStart = to;
+                if (from >= to) {
+                    return null;
+                }
+                return CompletableFuture.supplyAsync(() -> LongStream.range(from, to).parallel()
+                        .mapToObj(CheckoutInputGenerator.this::generate)
+                        .toArray(CheckoutInput[]::new));
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (position < batch.length) {
+                    return true;
+                }
+                if (pending == null) {
+                    return false;
+                }
+                batch = pending.join();
+                position = 0;
+                pending = submit();
+                return batch.length > 0;
+            }
+
+            @Override
+            public CheckoutInput next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch[position++];
+            }
+        };
+    }
+
+    private String field(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 8) {
+            return "";
+        }
+        if (roll < 14) {
+            return new String(Character.toChars(anyCodePoint(random)));
+        }
+        if (roll < 20) {
+            int length = LENGTH_EXTREMES[random.nextInt(LENGTH_EXTREMES.length)];
+            return repeat(random, length, random.nextInt(4));
+        }
+        StringBuilder sb = new StringBuilder();
+        int segments = roll < 60 ? 1 : 1 + random.nextInt(3);
+        for (int i = 0; i < segments; i++) {
+            segment(random, sb);
+        }
+        return sb.toString();
+    }
+
+    private void segment(SplittableRandom random, StringBuilder sb) {
+        int length = 1 + random.nextInt(12);
+        switch (random.nextInt(8)) {
+            case 0:
+                appendRange(random, sb, length, 'A', 'Z');
+                break;
+            case 1:
+                appendRange(random, sb, length, 'a', 'z');
+                break;
+            case 2:
+                appendRange(random, sb, length, '0', '9');
+                break;
+            case 3:
+                for (int i = 0; i < length; i++) {
+                    sb.appendCodePoint(WHITESPACE[random.nextInt(WHITESPACE.length)]);
+                }
+                break;
+            case 4:
+                int[] script = SCRIPTS[random.nextInt(SCRIPTS.length)];
+                appendRange(random, sb, length, script[0], script[1]);
+                break;
+            case 5:
+                // a base letter followed by a stack of combining marks
+                sb.append((char) ('a' + random.nextInt(26)));
+                appendRange(random, sb, length, 0x0300, 0x036F);
+                break;
+            case 6:
+                sb.append(MARKUP[random.nextInt(MARKUP.length)]);
+                if (random.nextBoolean()) {
+                    sb.appendCodePoint(INVISIBLE[random.nextInt(INVISIBLE.length)]);
+                }
+                break;
+            default:
+                if (supplementary) {
+                    int[] range = SUPPLEMENTARY[random.nextInt(SUPPLEMENTARY.length)];
+                    appendRange(random, sb, length, range[0], range[1]);
+                } else {
+                    sb.appendCodePoint(INVISIBLE[random.nextInt(INVISIBLE.length)]);
+                }
+                break;
+        }
+    }
+
+    /** A long run of a single character class, to probe length limits. */
+    private String repeat(SplittableRandom random, int length, int kind) {
+        StringBuilder sb = new StringBuilder(length);
+        switch (kind) {
+            case 0:
+                appendRange(random, sb, length, 'a', 'z');
+                break;
+            case 1:
+                appendRange(random, sb, length, '0', '9');
+                break;
+            case 2:
+                for (int i = 0; i < length; i++) {
+                    sb.append(' ');
+                }
+                break;
+            default:
+                int[] script = SCRIPTS[random.nextInt(SCRIPTS.length)];
+                appendRange(random, sb, length, script[0], script[1]);
+                break;
+        }
+        return sb.toString();
+    }
+
+    private int anyCodePoint(SplittableRandom random) {
+        if (supplementary && random.nextInt(8) == 0) {
+            int[] range = SUPPLEMENTARY[random.nextInt(SUPPLEMENTARY.length)];
+            return random.nextInt(range[0], range[1] + 1);
+        }
+        int cp;
+        do {
+            cp = random.nextInt(0x20, 0xFFFE);
+        } while (!isTypeable(cp));
+        return cp;
+    }
+
+    private static void appendRange(SplittableRandom random, StringBuilder sb, int length, int from, int to) {
+        for (int i = 0; i < length; i++) {
+            sb.appendCodePoint(random.nextInt(from, to + 1));
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer. Seeding with {@code seed + index * GAMMA} directly would give index
+     * {@code i + 1} the stream of index {@code i} shifted by one value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static boolean isTypeable(int cp) {
+        return cp >= 0x20 && !(cp >= 0x7F && cp < 0xA0)
+                && !(cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)
+                && !(cp >= 0xE000 && cp <= 0xF8FF)
+                && Character.isDefined(cp);
+    }
+}
@@ -0,0 +1,76 @@
+package com.saucedemo.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reduces a failing {@link CheckoutInput} to a smaller one that still fails. Each round tries,
+ * field by field, emptying it, keeping either half, deleting chunks of decreasing size and
+ * replacing characters with {@code 'a'}; the first candidate that still fails is kept.
+ * Every candidate is strictly smaller or simpler, so shrinking always terminates, and the
+ * number of re-runs is capped because each one drives the browser.
+ */
+public final class CheckoutInputShrinker {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutInputShrinker.class);
+    private static final int CHUNK_POSITIONS = 16;
+
+    private CheckoutInputShrinker() {
+    }
+
+    public static CheckoutInput shrink(CheckoutInput failing, Predicate<CheckoutInput> stillFails, int maxAttempts) {
+        CheckoutInput current = failing;
+        int attempts = 0;
+        boolean improved = true;
+        while (improved && attempts < maxAttempts) {
+            improved = false;
+            for (int field = 0; field < 3 && !improved && attempts < maxAttempts; field++) {
+                for (String candidate : candidates(current.getField(field))) {
+                    if (attempts++ >= maxAttempts) {
+                        break;
+                    }
+                    CheckoutInput smaller = current.withField(field, candidate);
+                    if (stillFails.test(smaller)) {
+                        logger.debug("Shrunk to {}", smaller);
+                        current = smaller;
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        logger.info("Shrank {} to {} in {} attempts", failing, current, attempts);
+        return current;
+    }
+
+    static List<String> candidates(String value) {
+        int[] cps = value.codePoints().toArray();
+        int n = cps.length;
+        List<String> candidates = new ArrayList<>();
+        if (n == 0) {
+            return candidates;
+        }
+        candidates.add("");
+        if (n > 1) {
+            candidates.add(new String(cps, 0, n / 2));
+            candidates.add(new String(cps, n / 2, n - n / 2));
+        }
+        for (int chunk = Math.max(1, n / 4); chunk >= 1; chunk /= 2) {
+            int step = Math.max(chunk, n / CHUNK_POSITIONS);
+            for (int start = 0; start + chunk <= n; start += step) {
+                candidates.add(new String(cps, 0, start) + new String(cps, start + chunk, n - start - chunk));
+            }
+        }
+        for (int i = 0; i < n && i < CHUNK_POSITIONS; i++) {
+            if (cps[i] != 'a') {
+                int[] simpler = cps.clone();
+                simpler[i] = 'a';
+                candidates.add(new String(simpler, 0, n));
+            }
+        }
+        return candidates;
+    }
+}
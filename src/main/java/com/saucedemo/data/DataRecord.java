@@ -0,0 +1,40 @@
+package com.saucedemo.data;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One row of a data set: its position in the source file and its column values.
+ */
+public final class DataRecord {
+    private final long index;
+    private final Map<String, String> values;
+
+    public DataRecord(long index, Map<String, String> values) {
+        this.index = index;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String get(String column) {
+        String value = values.get(column);
+        return value != null ? value : "";
+    }
+
+    public boolean getBoolean(String column) {
+        return Boolean.parseBoolean(get(column).trim());
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        String id = values.get("id");
+        return "#" + index + (id != null ? " " + id : "");
+    }
+}
@@ -0,0 +1,19 @@
+package com.saucedemo.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the data set a test method is driven by. The location can be overridden at run time
+ * with the {@code dataset.<name>} config key, e.g.
+ * {@code -Ddataset.checkout=<file or classpath resource>}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DataSet {
+    String name();
+
+    String path();
+}
@@ -0,0 +1,83 @@
+package com.saucedemo.data;
+
+import com.saucedemo.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.DataProvider;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * TestNG data providers for methods annotated with {@link DataSet}. Each invocation receives a
+ * single {@link DataRecord}; only records belonging to this JVM's {@link ShardSelector} slice
+ * are handed out.
+ * <p>
+ * Use {@code dataProviderClass = DataSetProvider.class} with either {@value #PARALLEL} or
+ * {@value #SEQUENTIAL}. The sequential provider is pulled one record at a time by TestNG;
+ * the parallel one streams the file too, but TestNG collects the parameter sets before
+ * dispatching them to the {@code data-provider-thread-count} workers.
+ */
+public class DataSetProvider {
+    private static final Logger logger = LoggerFactory.getLogger(DataSetProvider.class);
+    public static final String PARALLEL = "dataSet";
+    public static final String SEQUENTIAL = "dataSetSequential";
+
+    @DataProvider(name = PARALLEL, parallel = true)
+    public static Iterator<Object[]> parallel(Method method) {
+        return records(method);
+    }
+
+    @DataProvider(name = SEQUENTIAL)
+    public static Iterator<Object[]> sequential(Method method) {
+        return records(method);
+    }
+
+    public static String location(DataSet dataSet) {
+        return ConfigReader.getProperty("dataset." + dataSet.name(), dataSet.path());
+    }
+
+    private static Iterator<Object[]> records(Method method) {
+        DataSet dataSet = method.getAnnotation(DataSet.class);
+        if (dataSet == null) {
+            throw new IllegalStateException(method.getName() + " uses a data set provider but has no @DataSet");
+        }
+        String location = location(dataSet);
+        ShardSelector shard = ShardSelector.fromConfig();
+        logger.info("Streaming data set '{}' from {} (shard {})", dataSet.name(), location, shard);
+        return new ShardIterator(DataSetReader.open(location), shard);
+    }
+
+    private static final class ShardIterator implements Iterator<Object[]> {
+        private final DataSetReader reader;
+        private final ShardSelector shard;
+        private DataRecord next;
+
+        ShardIterator(DataSetReader reader, ShardSelector shard) {
+            this.reader = reader;
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && reader.hasNext()) {
+                DataRecord record = reader.next();
+                if (shard.accepts(record)) {
+                    next = record;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRecord record = next;
+            next = null;
+            return new Object[]{record};
+        }
+    }
+}
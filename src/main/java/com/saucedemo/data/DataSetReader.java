@@ -0,0 +1,210 @@
+package com.saucedemo.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lazily reads a CSV (with header row) or JSON Lines data set one record at a time.
+ * Only the current record is held in memory, so the file can be arbitrarily large.
+ * The location is a file path or, if no such file exists, a classpath resource;
+ * a {@code .gz} suffix is decompressed on the fly.
+ */
+public abstract class DataSetReader implements Iterator<DataRecord>, Closeable {
+    private final Reader reader;
+    private DataRecord next;
+    private long index;
+    private boolean done;
+
+    protected DataSetReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static DataSetReader open(String location) {
+        try {
+            Reader reader = new BufferedReader(new InputStreamReader(openStream(location), StandardCharsets.UTF_8), 65536);
+            String name = location.endsWith(".gz") ? location.substring(0, location.length() - 3) : location;
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return new JsonLines(reader);
+            }
+            if (name.endsWith(".csv")) {
+                return new Csv(reader);
+            }
+            reader.close();
+            throw new IllegalArgumentException("Unsupported data set format: " + location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open data set " + location, e);
+        }
+    }
+
+    private static InputStream openStream(String location) throws IOException {
+        Path path = Paths.get(location);
+        InputStream in;
+        if (Files.isRegularFile(path)) {
+            in = Files.newInputStream(path);
+        } else {
+            in = DataSetReader.class.getClassLoader().getResourceAsStream(location);
+            if (in == null) {
+                throw new IOException("Data set not found as file or classpath resource: " + location);
+            }
+        }
+        return location.endsWith(".gz") ? new GZIPInputStream(in, 65536) : in;
+    }
+
+    /**
+     * @return the next record's values, or null at end of input
+     */
+    protected abstract Map<String, String> readValues(Reader reader) throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                Map<String, String> values = readValues(reader);
+                if (values == null) {
+                    done = true;
+                    close();
+                } else {
+                    next = new DataRecord(index++, values);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read data set", e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public DataRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DataRecord record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        reader.close();
+    }
+
+    private static final class JsonLines extends DataSetReader {
+        private final MappingIterator<JsonNode> rows;
+
+        JsonLines(Reader reader) throws IOException {
+            super(reader);
+            this.rows = new ObjectMapper().readerFor(JsonNode.class).readValues(reader);
+        }
+
+        @Override
+        protected Map<String, String> readValues(Reader reader) {
+            if (!rows.hasNext()) {
+                return null;
+            }
+            JsonNode row = rows.next();
+            Map<String, String> values = new LinkedHashMap<>();
+            row.fields().forEachRemaining(e -> values.put(e.getKey(),
+                    e.getValue().isValueNode() ? e.getValue().asText() : e.getValue().toString()));
+            return values;
+        }
+    }
+
+    /**
+     * RFC 4180 style CSV: quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    private static final class Csv extends DataSetReader {
+        private List<String> header;
+
+        Csv(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected Map<String, String> readValues(Reader reader) throws IOException {
+            if (header == null) {
+                header = readRow(reader);
+                if (header == null) {
+                    return null;
+                }
+                if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                    header.set(0, header.get(0).substring(1));
+                }
+            }
+            List<String> row;
+            do {
+                row = readRow(reader);
+                if (row == null) {
+                    return null;
+                }
+            } while (row.size() == 1 && row.get(0).isEmpty());
+
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                values.put(header.get(i), i < row.size() ? row.get(i) : "");
+            }
+            return values;
+        }
+
+        private static List<String> readRow(Reader reader) throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (following != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.saucedemo.data;
+
+import com.saucedemo.utils.ConfigReader;
+
+/**
+ * Picks this JVM's slice of a data set. Records are dealt round-robin by their index, so every
+ * shard gets an even share without knowing the total size up front.
+ * Reads {@code dataset.shard.count}/{@code dataset.shard.index}, falling back to
+ * {@code shard.count}/{@code shard.index} from {@link ConfigReader}; without either, the single shard takes everything.
+ */
+public final class ShardSelector {
+    private final int count;
+    private final int index;
+
+    public ShardSelector(int count, int index) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        this.count = count;
+        this.index = index;
+    }
+
+    public static ShardSelector fromConfig() {
+        int count = Integer.parseInt(property("dataset.shard.count", "shard.count", "1"));
+        int index = Integer.parseInt(property("dataset.shard.index", "shard.index", "0"));
+        return new ShardSelector(count, index);
+    }
+
+    private static String property(String name, String fallback, String defaultValue) {
+        return ConfigReader.getProperty(name, ConfigReader.getProperty(fallback, defaultValue));
+    }
+
+    public boolean accepts(DataRecord record) {
+        return record.getIndex() % count == index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
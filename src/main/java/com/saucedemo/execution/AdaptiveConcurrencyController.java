@@ -0,0 +1,259 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.metrics.LatencyHistogram;
+import com.saucedemo.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits how many sessions of one browser may be open at once and adapts that limit to the host.
+ * Each browser has its own pool ({@link #forBrowser}), so a cross-browser run can hold, say,
+ * four Chrome and two Firefox sessions. Every session start takes a {@link Lease}; when the
+ * limit is reached callers queue until a session closes or the limit rises.
+ * <p>
+ * With {@code autoscale.enabled} a sampler reads {@link ProcStats} every {@code autoscale.interval}
+ * and adjusts the limit between {@code autoscale.min.sessions} and {@code autoscale.max.sessions}
+ * (either can be set per browser, e.g. {@code autoscale.max.sessions.firefox}):
+ * it cuts the limit by a quarter (at least one) when CPU (smoothed over samples), load or free
+ * memory is past its threshold, and adds one session when there is headroom for another browser
+ * (using the measured RSS per session of this browser's processes), someone is waiting and the
+ * last cut is at least three samples old. Open sessions are never interrupted; a lower limit only delays new ones.
+ * When disabled the limit is unbounded and only the statistics are kept.
+ */
+public final class AdaptiveConcurrencyController {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyController.class);
+    private static final long MB = 1024 * 1024;
+    private static final int SAMPLES_AFTER_CUT = 3;
+    private static final Map<String, AdaptiveConcurrencyController> pools = new ConcurrentHashMap<>();
+
+    private final String browser;
+    private final boolean enabled;
+    private final int minSessions;
+    private final int maxSessions;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final LatencyHistogram queueWaitMillis = new LatencyHistogram();
+    private final ProcStats procStats = new ProcStats();
+    private int limit;
+    private int active;
+    private int waiting;
+    private int peakActive;
+    private int peakLimit;
+    private long leases;
+    private int increases;
+    private int decreases;
+    private double smoothedCpu = -1;
+    private int samplesSinceCut = SAMPLES_AFTER_CUT;
+
+    private AdaptiveConcurrencyController(String browser, boolean enabled, int minSessions, int maxSessions, int initial) {
+        this.browser = browser;
+        this.enabled = enabled;
+        this.minSessions = minSessions;
+        this.maxSessions = maxSessions;
+        this.limit = enabled ? initial : Integer.MAX_VALUE;
+        this.peakLimit = limit;
+    }
+
+    public static AdaptiveConcurrencyController forBrowser(String browser) {
+        return pools.computeIfAbsent(browser.toLowerCase(Locale.ROOT), AdaptiveConcurrencyController::fromConfig);
+    }
+
+    public static Collection<AdaptiveConcurrencyController> all() {
+        return pools.values();
+    }
+
+    private static AdaptiveConcurrencyController fromConfig(String browser) {
+        boolean enabled = ConfigReader.getBoolean("autoscale.enabled") && ProcStats.isAvailable();
+        if (ConfigReader.getBoolean("autoscale.enabled") && !enabled) {
+            logger.warn("Autoscaling needs /proc; session concurrency will not be limited");
+        }
+        int min = Integer.parseInt(perBrowser("autoscale.min.sessions", browser));
+        int max = Integer.parseInt(perBrowser("autoscale.max.sessions", browser));
+        String initialSetting = ConfigReader.getProperty("autoscale.initial.sessions." + browser,
+                ConfigReader.getProperty("autoscale.initial.sessions", null));
+        int initial = initialSetting != null ? Integer.parseInt(initialSetting.trim())
+                : Runtime.getRuntime().availableProcessors();
+        initial = Math.max(min, Math.min(max, initial));
+
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(browser, enabled, min, max, initial);
+        if (enabled) {
+            long intervalMillis = ConfigReader.getDuration("autoscale.interval").toMillis();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "session-autoscaler-" + browser);
+                thread.setDaemon(true);
+                return thread;
+            });
+            sampler.scheduleWithFixedDelay(controller::adjustSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+            logger.info("Session autoscaling on for {}: starting at {} concurrent sessions (range {}..{}), sampling every {} ms",
+                    browser, initial, min, max, intervalMillis);
+        }
+        return controller;
+    }
+
+    private static String perBrowser(String key, String browser) {
+        return ConfigReader.getProperty(key + "." + browser, ConfigReader.getProperty(key));
+    }
+
+    /**
+     * Waits for a free session slot. Close the lease when the session is closed.
+     */
+    public Lease acquire() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (active >= limit) {
+                    slotFreed.await();
+                }
+            } finally {
+                waiting--;
+            }
+            active++;
+            leases++;
+            peakActive = Math.max(peakActive, active);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session slot", e);
+        } finally {
+            lock.unlock();
+        }
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        queueWaitMillis.record(waitedMillis);
+        if (waitedMillis >= 100) {
+            logger.info("Waited {} ms for a {} session slot", waitedMillis, browser);
+        }
+        return new Lease();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            active--;
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjustSafely() {
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            logger.warn("Autoscaler sample failed: {}", e.getMessage());
+        }
+    }
+
+    private void adjust() {
+        double sample = procStats.cpuBusy();
+        double cpu = sample < 0 || smoothedCpu < 0 ? sample : (smoothedCpu + sample) / 2;
+        smoothedCpu = cpu;
+        double load = ProcStats.loadPerCpu();
+        long available = ProcStats.availableMemory();
+        long browserRss = ProcStats.descendantRss(browser);
+        long reserve = ConfigReader.getLong("autoscale.memory.reserve.mb") * MB;
+
+        lock.lock();
+        try {
+            long perSession = active > 0 && browserRss > 0 ? browserRss / active
+                    : ConfigReader.getLong("autoscale.session.estimate.mb") * MB;
+            String reason = null;
+            int newLimit = limit;
+            if (cpu >= ConfigReader.getDouble("autoscale.cpu.high")) {
+                reason = String.format("CPU %.0f%% busy", cpu * 100);
+            } else if (load >= ConfigReader.getDouble("autoscale.load.high")) {
+                reason = String.format("load %.2f per CPU", load);
+            } else if (available >= 0 && available < reserve) {
+                reason = String.format("only %d MB available", available / MB);
+            }
+            samplesSinceCut++;
+            if (reason != null) {
+                newLimit = Math.max(minSessions, Math.min(limit - 1, limit - limit / 4));
+                samplesSinceCut = 0;
+            } else if (waiting > 0 && limit < maxSessions && samplesSinceCut > SAMPLES_AFTER_CUT && cpu >= 0
+                    && cpu < ConfigReader.getDouble("autoscale.cpu.low")
+                    && (available < 0 || available - reserve > perSession)) {
+                newLimit = limit + 1;
+                reason = String.format("CPU %.0f%% busy, %d MB available, ~%d MB per session",
+                        cpu * 100, available / MB, perSession / MB);
+            }
+
+            logger.debug("Autoscaler sample for {}: cpu={} load={} availableMb={} browserRssMb={} active={} waiting={} limit={}",
+                    browser, cpu, load, available / MB, browserRss / MB, active, waiting, limit);
+            if (newLimit != limit) {
+                logger.info("{} session limit {} -> {} ({}; {} active, {} waiting)", browser, limit, newLimit, reason,
+                        active, waiting);
+                if (newLimit > limit) {
+                    increases++;
+                    slotFreed.signalAll();
+                } else {
+                    decreases++;
+                }
+                limit = newLimit;
+                peakLimit = Math.max(peakLimit, limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public LatencyHistogram getQueueWaitMillis() {
+        return queueWaitMillis.copy();
+    }
+
+    public String summary() {
+        lock.lock();
+        try {
+            return String.format("%s: limit=%s (peak %s, %d raises, %d cuts), peak active=%d, leases=%d, queue wait ms: %s",
+                    browser, enabled ? limit : "unbounded", enabled ? peakLimit : "-", increases, decreases,
+                    peakActive, leases, queueWaitMillis.summary());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One granted session slot. Closing it more than once has no further effect.
+     */
+    public final class Lease implements AutoCloseable {
+        private boolean released;
+
+        private Lease() {
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                release();
+            }
+        }
+    }
+}
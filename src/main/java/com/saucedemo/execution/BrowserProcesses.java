@@ -0,0 +1,209 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.profiling.CommandEventExecutor;
+import com.saucedemo.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps track of the driver and browser processes of local sessions so they can be killed when a
+ * session hangs or this JVM goes away. Every driver process, found among this JVM's descendants by
+ * the {@code --port} its service was started with, is written with its browser processes to a
+ * ledger in {@code reaper.dir} named after this JVM. A shutdown hook kills whatever is still
+ * running on exit, and {@link #reapOrphans()} kills what the ledgers of JVMs that died without
+ * running it (e.g. killed with SIGKILL) left behind. Processes are matched by pid and start time,
+ * so a reused pid is never killed.
+ */
+public final class BrowserProcesses {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProcesses.class);
+    private static final ProcessHandle SELF = ProcessHandle.current();
+    private static final Map<WebDriver, ProcessHandle> drivers = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final List<ProcessHandle> roots = new ArrayList<>();
+    private static Path ledger;
+
+    private BrowserProcesses() {
+    }
+
+    /** A local Chrome session whose processes are tracked. */
+    public static ChromeDriver chrome(ChromeOptions options) {
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        ChromeDriver driver = new ChromeDriver(service, options) {
+            {
+                setCommandExecutor(new CommandEventExecutor(getCommandExecutor()));
+            }
+        };
+        track(driver, service);
+        return driver;
+    }
+
+    /** A local Firefox session whose processes are tracked. */
+    public static FirefoxDriver firefox(FirefoxOptions options) {
+        GeckoDriverService service = GeckoDriverService.createDefaultService();
+        FirefoxDriver driver = new FirefoxDriver(service, options) {
+            {
+                setCommandExecutor(new CommandEventExecutor(getCommandExecutor()));
+            }
+        };
+        track(driver, service);
+        return driver;
+    }
+
+    private static void track(WebDriver driver, DriverService service) {
+        String port = String.valueOf(service.getUrl().getPort());
+        Optional<ProcessHandle> process = SELF.descendants()
+                .filter(handle -> hasPort(handle, port))
+                .findFirst();
+        if (process.isPresent()) {
+            track(driver, process.get());
+        } else {
+            logger.warn("Driver process on port {} not found; it will not be reaped", port);
+        }
+    }
+
+    static synchronized void track(WebDriver driver, ProcessHandle process) {
+        drivers.put(driver, process);
+        roots.removeIf(root -> !root.isAlive());
+        roots.add(process);
+        List<String> lines = Stream.concat(Stream.of(process), process.descendants())
+                .map(BrowserProcesses::ledgerLine)
+                .filter(line -> line != null)
+                .collect(Collectors.toList());
+        try {
+            if (ledger == null) {
+                Path dir = Paths.get(ConfigReader.getProperty("reaper.dir"));
+                Files.createDirectories(dir);
+                ledger = dir.resolve(ledgerLine(SELF) + ".pids");
+                Runtime.getRuntime().addShutdownHook(new Thread(BrowserProcesses::killAll, "browser-reaper"));
+            }
+            Files.write(ledger, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Could not record driver process {} for reaping: {}", process.pid(), e.getMessage());
+        }
+    }
+
+    /** The driver process of {@code driver}; its browser is among its descendants. */
+    public static Optional<ProcessHandle> process(WebDriver driver) {
+        return Optional.ofNullable(drivers.get(driver)).filter(ProcessHandle::isAlive);
+    }
+
+    /**
+     * Kills the driver process of {@code driver} and everything it started.
+     *
+     * @return false when the session has no tracked local process, e.g. a remote one
+     */
+    public static boolean kill(WebDriver driver) {
+        ProcessHandle process = drivers.remove(driver);
+        if (process == null) {
+            return false;
+        }
+        destroyTree(process);
+        return true;
+    }
+
+    /** Kills the process trees of the ledgers left by JVMs that are gone, and deletes those ledgers. */
+    public static int reapOrphans() {
+        Path dir = Paths.get(ConfigReader.getProperty("reaper.dir"));
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        int reaped = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".pids"))
+                    .collect(Collectors.toList())) {
+                String owner = file.getFileName().toString().replace(".pids", "");
+                if (find(owner).isPresent()) {
+                    continue;
+                }
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    Optional<ProcessHandle> orphan = find(line.trim());
+                    if (orphan.isPresent()) {
+                        logger.warn("Killing orphaned browser process {} ({}) left by process {}", orphan.get().pid(),
+                                orphan.get().info().command().orElse("?"), owner);
+                        destroyTree(orphan.get());
+                        reaped++;
+                    }
+                }
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to reap orphaned browser processes in " + dir, e);
+        }
+        return reaped;
+    }
+
+    private static synchronized void killAll() {
+        roots.stream().filter(ProcessHandle::isAlive).forEach(BrowserProcesses::destroyTree);
+        try {
+            if (ledger != null) {
+                Files.deleteIfExists(ledger);
+            }
+        } catch (IOException e) {
+            // Left for the next sweep, which finds nothing alive to kill in it
+        }
+    }
+
+    private static void destroyTree(ProcessHandle process) {
+        List<ProcessHandle> tree = process.descendants().collect(Collectors.toList());
+        process.destroyForcibly();
+        tree.forEach(ProcessHandle::destroyForcibly);
+    }
+
+    private static boolean hasPort(ProcessHandle handle, String port) {
+        String[] arguments = handle.info().arguments().orElse(new String[0]);
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i].equals("--port=" + port)
+                    || (arguments[i].equals("--port") && i + 1 < arguments.length && arguments[i + 1].equals(port))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** {@code pid-startMillis}, or null when the start time cannot be read. */
+    private static String ledgerLine(ProcessHandle handle) {
+        return handle.info().startInstant().map(start -> handle.pid() + "-" + start.toEpochMilli()).orElse(null);
+    }
+
+    /** The live process a {@link #ledgerLine} names, if its pid was not reused since. */
+    private static Optional<ProcessHandle> find(String line) {
+        int dash = line.indexOf('-');
+        if (dash <= 0) {
+            return Optional.empty();
+        }
+        try {
+            long pid = Long.parseLong(line.substring(0, dash));
+            Instant start = Instant.ofEpochMilli(Long.parseLong(line.substring(dash + 1)));
+            return ProcessHandle.of(pid)
+                    .filter(ProcessHandle::isAlive)
+                    .filter(handle -> handle.info().startInstant().map(s -> s.toEpochMilli() == start.toEpochMilli())
+                            .orElse(false));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.saucedemo.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Per-test-method durations in milliseconds, kept in a sorted {@code id=millis} properties file.
+ * New observations are blended into the stored value (half old, half new) so one slow run does
+ * not reshuffle every shard. Updates take an exclusive file lock, so shards finishing at the
+ * same time on one machine do not lose each other's results.
+ */
+public final class DurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+
+    private DurationHistory() {
+    }
+
+    public static Map<String, Long> load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable duration history {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    public static void record(Path file, Map<String, Long> observed) {
+        if (observed.isEmpty()) {
+            return;
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Map<String, Long> history = new TreeMap<>(parse(Channels.newReader(channel, StandardCharsets.UTF_8)));
+                observed.forEach((id, millis) -> history.merge(id, millis, (old, now) -> (old + now + 1) / 2));
+
+                StringBuilder sb = new StringBuilder("# Test method durations in ms, maintained by DurationHistory\n");
+                history.forEach((id, millis) -> sb.append(id).append('=').append(millis).append('\n'));
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)), 0);
+            }
+            logger.info("Recorded durations of {} test methods in {}", observed.size(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update duration history " + file, e);
+        }
+    }
+
+    private static Map<String, Long> parse(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        Map<String, Long> history = new TreeMap<>();
+        for (String id : properties.stringPropertyNames()) {
+            try {
+                history.put(id, Long.parseLong(properties.getProperty(id).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring bad duration for {}: {}", id, properties.getProperty(id));
+            }
+        }
+        return history;
+    }
+}
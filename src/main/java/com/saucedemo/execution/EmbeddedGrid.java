@@ -0,0 +1,83 @@
+package com.saucedemo.execution;
+
+import org.openqa.selenium.grid.commands.Standalone;
+import org.openqa.selenium.grid.config.MapConfig;
+import org.openqa.selenium.grid.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Selenium Grid standalone (router, distributor, session queue and one node) running inside
+ * this JVM, for {@code grid.url=embedded}. The node offers {@code slots} sessions of every
+ * browser it finds on the machine, resolving drivers through Selenium Manager. Started at most
+ * once per JVM and stopped on exit.
+ */
+public final class EmbeddedGrid {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedGrid.class);
+    private static Server<?> server;
+
+    private EmbeddedGrid() {
+    }
+
+    /**
+     * Starts the grid if it is not running yet and returns its address.
+     *
+     * @param port  port to listen on; 0 picks a free one
+     * @param slots concurrent sessions the node accepts
+     */
+    public static synchronized URL start(int port, int slots) {
+        if (server == null) {
+            int listenPort = port > 0 ? port : freePort();
+            Map<String, Object> serverSection = new HashMap<>();
+            serverSection.put("port", listenPort);
+            serverSection.put("host", "localhost");
+            Map<String, Object> nodeSection = new HashMap<>();
+            nodeSection.put("max-sessions", slots);
+            nodeSection.put("override-max-sessions", true);
+            nodeSection.put("detect-drivers", true);
+            nodeSection.put("selenium-manager", true);
+            Map<String, Object> config = new HashMap<>();
+            config.put("server", serverSection);
+            config.put("node", nodeSection);
+
+            long start = System.nanoTime();
+            try {
+                server = new Standalone().asServer(new MapConfig(config)).start();
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Embedded Selenium Grid failed to start on port " + listenPort
+                        + " (are browsers installed?)", e);
+            }
+            logger.info("Embedded Selenium Grid listening on {} with {} slots (started in {} ms)",
+                    server.getUrl(), slots, (System.nanoTime() - start) / 1_000_000);
+            Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedGrid::stop, "embedded-grid-shutdown"));
+        }
+        return server.getUrl();
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null && server.isStarted();
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop();
+            server = null;
+            logger.info("Embedded Selenium Grid stopped");
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No free port for the embedded grid", e);
+        }
+    }
+}
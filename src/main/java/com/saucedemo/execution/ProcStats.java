@@ -0,0 +1,148 @@
+package com.saucedemo.execution;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads host load from {@code /proc}: CPU busy fraction between two samples, load average,
+ * available memory and the resident memory of this JVM's descendant processes (drivers and
+ * the browsers they start). On systems without {@code /proc} every reading is unknown (-1).
+ */
+public final class ProcStats {
+    private static final Path PROC = Paths.get("/proc");
+    private long previousBusy = -1;
+    private long previousTotal = -1;
+
+    public static boolean isAvailable() {
+        return Files.isReadable(PROC.resolve("stat"));
+    }
+
+    /**
+     * Fraction of CPU time spent busy since the previous call, or -1 on the first call.
+     * Not thread-safe; each sampler keeps its own instance.
+     */
+    public double cpuBusy() {
+        String line = firstLine(PROC.resolve("stat"));
+        if (line == null || !line.startsWith("cpu ")) {
+            return -1;
+        }
+        String[] fields = line.trim().split("\\s+");
+        long total = 0;
+        for (int i = 1; i < fields.length && i <= 8; i++) {
+            total += Long.parseLong(fields[i]);
+        }
+        long idle = Long.parseLong(fields[4]) + (fields.length > 5 ? Long.parseLong(fields[5]) : 0);
+        long busy = total - idle;
+        double fraction = -1;
+        if (previousTotal >= 0 && total > previousTotal) {
+            fraction = (double) (busy - previousBusy) / (total - previousTotal);
+        }
+        previousBusy = busy;
+        previousTotal = total;
+        return fraction;
+    }
+
+    /** One-minute load average divided by the processor count, or -1. */
+    public static double loadPerCpu() {
+        String line = firstLine(PROC.resolve("loadavg"));
+        if (line == null) {
+            return -1;
+        }
+        return Double.parseDouble(line.split("\\s+")[0]) / Runtime.getRuntime().availableProcessors();
+    }
+
+    /** {@code MemAvailable} in bytes, or -1. */
+    public static long availableMemory() {
+        return meminfo("MemAvailable:");
+    }
+
+    /** {@code MemTotal} in bytes, or -1. */
+    public static long totalMemory() {
+        return meminfo("MemTotal:");
+    }
+
+    /** Summed resident set size of all processes started (directly or not) by this JVM, in bytes. */
+    public static long descendantRss() {
+        return ProcessHandle.current().descendants().mapToLong(p -> rss(p.pid())).filter(v -> v > 0).sum();
+    }
+
+    /**
+     * Like {@link #descendantRss()}, counting only the processes of one browser: its driver and
+     * browser executables are recognised by name ({@code chrome}/{@code chromedriver},
+     * {@code firefox}/{@code geckodriver}, otherwise the browser name itself).
+     */
+    public static long descendantRss(String browser) {
+        String[] names = executableNames(browser);
+        return ProcessHandle.current().descendants()
+                .filter(p -> p.info().command().map(c -> matches(c, names)).orElse(false))
+                .mapToLong(p -> rss(p.pid())).filter(v -> v > 0).sum();
+    }
+
+    private static String[] executableNames(String browser) {
+        switch (browser) {
+            case "chrome":
+                return new String[]{"chrom"};
+            case "firefox":
+                return new String[]{"firefox", "gecko"};
+            case "edge":
+                return new String[]{"msedge"};
+            default:
+                return new String[]{browser};
+        }
+    }
+
+    private static boolean matches(String command, String[] names) {
+        String executable = Paths.get(command).getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String name : names) {
+            if (executable.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Resident set size of one process in bytes, or -1 if it is gone or unreadable. */
+    public static long rss(long pid) {
+        return statusValue(PROC.resolve(Long.toString(pid)).resolve("status"), "VmRSS:");
+    }
+
+    /** Thread count of one process, or -1 if it is gone or unreadable. */
+    public static long threads(long pid) {
+        return statusValue(PROC.resolve(Long.toString(pid)).resolve("status"), "Threads:");
+    }
+
+    private static long meminfo(String key) {
+        return statusValue(PROC.resolve("meminfo"), key);
+    }
+
+    /** Reads a {@code Key:   123 kB} line and returns bytes. */
+    private static long statusValue(Path file, String key) {
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.ISO_8859_1);
+            for (String line : lines) {
+                if (line.startsWith(key)) {
+                    String[] parts = line.substring(key.length()).trim().split("\\s+");
+                    long value = Long.parseLong(parts[0]);
+                    return parts.length > 1 && parts[1].equalsIgnoreCase("kB") ? value * 1024 : value;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static String firstLine(Path file) {
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.ISO_8859_1);
+            return lines.isEmpty() ? null : lines.get(0);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
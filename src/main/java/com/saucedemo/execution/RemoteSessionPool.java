@@ -0,0 +1,174 @@
+package com.saucedemo.execution;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saucedemo.metrics.LatencyHistogram;
+import com.saucedemo.profiling.CommandEventExecutor;
+import com.saucedemo.utils.ConfigReader;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates {@link RemoteWebDriver} sessions on a Selenium Grid when {@code grid.url} is set:
+ * either {@code embedded} (an {@link EmbeddedGrid} in this JVM with {@code grid.slots} slots on
+ * {@code grid.port}) or the URL of an external hub/standalone. Session requests beyond the
+ * grid's slot count queue here in arrival order, so nothing is left to time out in the grid's
+ * own queue; for an external grid the slot count is read from its {@code /status} and falls
+ * back to {@code grid.slots}. The time each session spent queued is recorded and reported by
+ * {@link #summary()}.
+ */
+public final class RemoteSessionPool {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteSessionPool.class);
+    private static volatile RemoteSessionPool shared;
+
+    private final URL gridUrl;
+    private final int slots;
+    private final Semaphore freeSlots;
+    private final LatencyHistogram queueWaitMillis = new LatencyHistogram();
+    private final LatencyHistogram sessionStartMillis = new LatencyHistogram();
+
+    private RemoteSessionPool(URL gridUrl, int slots) {
+        this.gridUrl = gridUrl;
+        this.slots = slots;
+        this.freeSlots = new Semaphore(slots, true);
+    }
+
+    public static boolean isEnabled() {
+        return !ConfigReader.getProperty("grid.url").trim().isEmpty();
+    }
+
+    public static RemoteSessionPool shared() {
+        RemoteSessionPool pool = shared;
+        if (pool == null) {
+            synchronized (RemoteSessionPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    pool = fromConfig();
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private static RemoteSessionPool fromConfig() {
+        String setting = ConfigReader.getProperty("grid.url").trim();
+        int configuredSlots = ConfigReader.getInt("grid.slots");
+        if (setting.equalsIgnoreCase("embedded")) {
+            return new RemoteSessionPool(EmbeddedGrid.start(ConfigReader.getInt("grid.port"), configuredSlots),
+                    configuredSlots);
+        }
+        URL url;
+        try {
+            url = new URL(setting);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("grid.url is neither 'embedded' nor a URL: " + setting, e);
+        }
+        int gridSlots = readSlotCount(url);
+        int slots = gridSlots > 0 ? gridSlots : configuredSlots;
+        logger.info("Using Selenium Grid at {} with {} slots{}", url, slots,
+                gridSlots > 0 ? "" : " (from grid.slots; /status did not list any)");
+        return new RemoteSessionPool(url, slots);
+    }
+
+    private static int readSlotCount(URL url) {
+        try {
+            URLConnection connection = new URL(url.toString().replaceAll("/+$", "") + "/status").openConnection();
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(5000);
+            try (InputStream in = connection.getInputStream()) {
+                int count = 0;
+                for (JsonNode node : new ObjectMapper().readTree(in).path("value").path("nodes")) {
+                    count += node.path("slots").size();
+                }
+                return count;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read slots from {}/status: {}", url, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Waits for a free grid slot and opens a session there. Quitting the driver frees the slot.
+     */
+    public WebDriver create(Capabilities capabilities) {
+        long start = System.nanoTime();
+        try {
+            freeSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a grid slot", e);
+        }
+        long queued = System.nanoTime();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(queued - start);
+        queueWaitMillis.record(waitedMillis);
+        try {
+            WebDriver driver = new PooledRemoteWebDriver(gridUrl, capabilities, freeSlots);
+            long startedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queued);
+            sessionStartMillis.record(startedMillis);
+            logger.info("Grid session for {} queued {} ms, started in {} ms",
+                    capabilities.getBrowserName(), waitedMillis, startedMillis);
+            return driver;
+        } catch (RuntimeException e) {
+            freeSlots.release();
+            throw e;
+        }
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public URL getGridUrl() {
+        return gridUrl;
+    }
+
+    public LatencyHistogram getQueueWaitMillis() {
+        return queueWaitMillis.copy();
+    }
+
+    public String summary() {
+        return String.format("grid %s, %d slots, queue wait ms: %s, session start ms: %s",
+                gridUrl, slots, queueWaitMillis.summary(), sessionStartMillis.summary());
+    }
+
+    /**
+     * Gives its grid slot back when the session ends; quitting twice releases once.
+     */
+    private static final class PooledRemoteWebDriver extends RemoteWebDriver {
+        private final Semaphore freeSlots;
+        private boolean released;
+
+        PooledRemoteWebDriver(URL gridUrl, Capabilities capabilities, Semaphore freeSlots) {
+            super(gridUrl, capabilities);
+            this.freeSlots = freeSlots;
+            setCommandExecutor(new CommandEventExecutor(getCommandExecutor()));
+        }
+
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                synchronized (this) {
+                    if (!released) {
+                        released = true;
+                        freeSlots.release();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.metrics.ResourceUsage;
+import com.saucedemo.utils.ConfigReader;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Samples the driver and browser processes of the sessions a test thread registered with
+ * {@link SessionWatchdog}, every {@code resources.interval} and at each top-level step boundary,
+ * and charges the readings to the running test and step. Only local sessions started through
+ * {@link BrowserProcesses} have processes to read; remote and simulated ones record nothing.
+ */
+public final class ResourceSampler {
+    private static final Map<Thread, Tracking> tracked = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService timer;
+
+    private ResourceSampler() {
+    }
+
+    /** Starts charging the calling thread's sessions to {@code testId}. */
+    public static void begin(String testId, String browser) {
+        Tracking tracking = new Tracking(Thread.currentThread(), new ResourceUsage(testId, browser));
+        tracked.put(Thread.currentThread(), tracking);
+        tracking.sample();
+        startTimer();
+    }
+
+    /** Marks the start of a top-level step on the calling thread. */
+    public static void stepStarted() {
+        Tracking tracking = tracked.get(Thread.currentThread());
+        if (tracking != null) {
+            tracking.sample();
+            tracking.stepStarted = System.nanoTime();
+            tracking.inStep = true;
+        }
+    }
+
+    /** Marks the end of the calling thread's top-level step, charging what it used to {@code name}. */
+    public static void stepFinished(String name) {
+        Tracking tracking = tracked.get(Thread.currentThread());
+        if (tracking != null) {
+            tracking.sample();
+            tracking.inStep = false;
+            tracking.usage.endStep(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tracking.stepStarted));
+        }
+    }
+
+    /** Takes a last sample and stops tracking the calling thread; null if it was not tracked. */
+    public static ResourceUsage finish() {
+        Tracking tracking = tracked.remove(Thread.currentThread());
+        if (tracking == null) {
+            return null;
+        }
+        tracking.sample();
+        return tracking.usage;
+    }
+
+    private static synchronized void startTimer() {
+        if (timer != null) {
+            return;
+        }
+        Duration interval = ConfigReader.getDuration("resources.interval");
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(() -> tracked.values().forEach(Tracking::sample), interval.toMillis(),
+                interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Tracking {
+        private final Thread thread;
+        private final ResourceUsage usage;
+        private final Map<Long, Long> cpuByPid = new ConcurrentHashMap<>();
+        private final Instant begun = Instant.now();
+        private volatile boolean inStep;
+        private long stepStarted;
+
+        private Tracking(Thread thread, ResourceUsage usage) {
+            this.thread = thread;
+            this.usage = usage;
+        }
+
+        /**
+         * CPU is the growth of each process's own total since the test began: a process that was
+         * already running (a session reused from an earlier test) is charged from when it was
+         * first seen, one started since is charged in full.
+         */
+        private synchronized void sample() {
+            long cpu = 0;
+            long rss = 0;
+            int threads = 0;
+            boolean any = false;
+            for (ProcessHandle process : processes()) {
+                Optional<Duration> total = process.info().totalCpuDuration();
+                long memory = ProcStats.rss(process.pid());
+                if (memory < 0) {
+                    continue;
+                }
+                any = true;
+                rss += memory;
+                threads += (int) Math.max(0, ProcStats.threads(process.pid()));
+                if (total.isPresent()) {
+                    long millis = total.get().toMillis();
+                    Long previous = cpuByPid.put(process.pid(), millis);
+                    if (previous == null) {
+                        previous = process.info().startInstant().filter(begun::isBefore).isPresent() ? 0 : millis;
+                    }
+                    cpu += Math.max(0, millis - previous);
+                }
+            }
+            if (any) {
+                usage.record(inStep, cpu, rss, threads);
+            }
+        }
+
+        private Iterable<ProcessHandle> processes() {
+            return SessionWatchdog.sessionsOf(thread).stream()
+                    .map(BrowserProcesses::process)
+                    .flatMap(Optional::stream)
+                    .flatMap(root -> Stream.concat(Stream.of(root), root.descendants()))
+                    .collect(Collectors.toList());
+        }
+    }
+}
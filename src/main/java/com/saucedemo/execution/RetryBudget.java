@@ -0,0 +1,108 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which failed test invocations are run again: each may be retried up to
+ * {@code retry.max.attempts} times, and the suite as a whole at most {@code retry.max.total}
+ * times, so a broken build does not retry everything. The decision for a result is made once and
+ * kept on it, so the tear-down that keeps the session warm and the retry analyzer always agree.
+ * Also adds up how the retries went and how long they took.
+ */
+public final class RetryBudget {
+    private static final Logger logger = LoggerFactory.getLogger(RetryBudget.class);
+    private static final String DECISION = "retry.decision";
+    private static final String ATTEMPT = "retry.attempt";
+
+    private static final Map<String, Integer> retriesByInvocation = new ConcurrentHashMap<>();
+    private static int retries;
+    private static int passedOnRetry;
+    private static int failedOnRetry;
+    private static long retryMillis;
+
+    private RetryBudget() {
+    }
+
+    /** Forgets every retry, for a new suite. */
+    public static synchronized void reset() {
+        retriesByInvocation.clear();
+        retries = 0;
+        passedOnRetry = 0;
+        failedOnRetry = 0;
+        retryMillis = 0;
+    }
+
+    /** Whether the failed {@code result} runs again; the first call for a result uses up the budget. */
+    public static boolean shouldRetry(ITestResult result) {
+        Object decided = result.getAttribute(DECISION);
+        if (decided != null) {
+            return (Boolean) decided;
+        }
+        boolean retry = decide(result);
+        result.setAttribute(DECISION, retry);
+        return retry;
+    }
+
+    private static synchronized boolean decide(ITestResult result) {
+        if (result.getStatus() != ITestResult.FAILURE || !ConfigReader.getBoolean("retry.enabled")) {
+            return false;
+        }
+        String key = invocationKey(result);
+        int used = retriesByInvocation.getOrDefault(key, 0);
+        int maxAttempts = ConfigReader.getInt("retry.max.attempts");
+        int maxTotal = ConfigReader.getInt("retry.max.total");
+        if (used >= maxAttempts) {
+            return false;
+        }
+        if (retries >= maxTotal) {
+            logger.warn("Not retrying {}: all {} retries for the suite are used up", result.getName(), maxTotal);
+            return false;
+        }
+        retriesByInvocation.put(key, used + 1);
+        retries++;
+        logger.info("Retrying {} (attempt {} of {}, {} of {} suite retries used)", result.getName(), used + 2,
+                maxAttempts + 1, retries, maxTotal);
+        return true;
+    }
+
+    /** Notes on a starting result how many times its invocation was already retried. */
+    public static void start(ITestResult result) {
+        result.setAttribute(ATTEMPT, retriesByInvocation.getOrDefault(invocationKey(result), 0));
+    }
+
+    /** Retries that went before {@code result}: 0 for a first attempt. */
+    public static int attempt(ITestResult result) {
+        Object attempt = result.getAttribute(ATTEMPT);
+        return attempt != null ? (Integer) attempt : 0;
+    }
+
+    /** Counts a finished retry attempt and its duration; first attempts are ignored. */
+    public static synchronized void finish(ITestResult result) {
+        if (attempt(result) == 0) {
+            return;
+        }
+        retryMillis += result.getEndMillis() - result.getStartMillis();
+        if (result.getStatus() == ITestResult.SUCCESS) {
+            passedOnRetry++;
+        } else if (!shouldRetry(result)) {
+            failedOnRetry++;
+        }
+    }
+
+    public static synchronized String summary() {
+        return String.format("%d retries: %d passed on retry, %d still failed, %d ms spent retrying", retries,
+                passedOnRetry, failedOnRetry, retryMillis);
+    }
+
+    private static String invocationKey(ITestResult result) {
+        return result.getMethod().getQualifiedName() + Arrays.deepToString(result.getParameters()) + "@"
+                + System.identityHashCode(result.getInstance());
+    }
+}
@@ -0,0 +1,133 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Wall-clock limit on test and configuration methods. Sessions are registered with the thread
+ * that uses them; when a method on that thread runs longer than {@code watchdog.timeout}, its
+ * stack is logged, its sessions are killed (the process tree of a local one, {@code quit()} of a
+ * remote one), their slots are freed and the thread is interrupted. A call blocked on a killed
+ * driver then fails instead of hanging.
+ */
+public final class SessionWatchdog {
+    private static final Logger logger = LoggerFactory.getLogger(SessionWatchdog.class);
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<Thread, List<Session>> sessions = new ConcurrentHashMap<>();
+    private static final Map<Thread, ScheduledFuture<?>> deadlines = new ConcurrentHashMap<>();
+    private static final Set<WebDriver> killed = ConcurrentHashMap.newKeySet();
+
+    private SessionWatchdog() {
+    }
+
+    /** Watches {@code driver} on behalf of the calling thread until {@link #unregister}. */
+    public static void register(WebDriver driver, AdaptiveConcurrencyController.Lease lease) {
+        Session session = new Session(driver, lease);
+        sessions.compute(Thread.currentThread(), (thread, list) -> {
+            List<Session> registered = list != null ? list : new CopyOnWriteArrayList<>();
+            registered.add(session);
+            return registered;
+        });
+    }
+
+    /** Stops watching {@code driver}. */
+    public static void unregister(WebDriver driver) {
+        // A thread left without sessions is dropped, so finished worker threads are not kept alive
+        for (Thread thread : sessions.keySet()) {
+            sessions.computeIfPresent(thread, (key, list) -> {
+                list.removeIf(session -> session.driver == driver);
+                return list.isEmpty() ? null : list;
+            });
+        }
+        killed.remove(driver);
+    }
+
+    /** Whether the watchdog killed {@code driver}; its {@code quit()} would only fail. */
+    public static boolean wasKilled(WebDriver driver) {
+        return killed.contains(driver);
+    }
+
+    /** The sessions registered by {@code thread}, oldest first. */
+    public static List<WebDriver> sessionsOf(Thread thread) {
+        return sessions.getOrDefault(thread, List.of()).stream().map(session -> session.driver)
+                .collect(Collectors.toList());
+    }
+
+    /** Starts the clock for {@code name} on the calling thread. */
+    public static void arm(String name) {
+        Duration timeout = ConfigReader.getDuration("watchdog.timeout");
+        if (timeout.isZero() || timeout.isNegative()) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        ScheduledFuture<?> previous = deadlines.put(thread,
+                timer.schedule(() -> expire(thread, name, timeout), timeout.toMillis(), TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /** Stops the calling thread's clock. */
+    public static void disarm() {
+        ScheduledFuture<?> deadline = deadlines.remove(Thread.currentThread());
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+    }
+
+    private static void expire(Thread thread, String name, Duration timeout) {
+        deadlines.remove(thread);
+        List<Session> hung = sessions.getOrDefault(thread, List.of());
+        logger.error("{} on {} exceeded {} ms: killing {} session(s) and interrupting it. Stack:{}{}", name,
+                thread.getName(), timeout.toMillis(), hung.size(), System.lineSeparator(),
+                Arrays.stream(thread.getStackTrace()).map(frame -> "\tat " + frame)
+                        .collect(Collectors.joining(System.lineSeparator())));
+        for (Session session : hung) {
+            killed.add(session.driver);
+            try {
+                if (!BrowserProcesses.kill(session.driver)) {
+                    // Remote or in-memory: ending the session is all that can be done from here
+                    Thread quitter = new Thread(session.driver::quit, "session-watchdog-quit");
+                    quitter.setDaemon(true);
+                    quitter.start();
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to kill a hung session: {}", e.getMessage());
+            } finally {
+                if (session.lease != null) {
+                    session.lease.close();
+                }
+            }
+        }
+        thread.interrupt();
+    }
+
+    private static final class Session {
+        private final WebDriver driver;
+        private final AdaptiveConcurrencyController.Lease lease;
+
+        private Session(WebDriver driver, AdaptiveConcurrencyController.Lease lease) {
+            this.driver = driver;
+            this.lease = lease;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.saucedemo.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs every shard of a suite as its own JVM on this machine and waits for all of them. Each
+ * child gets {@code shard.index}, a private output directory and Allure results directory, the
+ * parent's agents and heap settings, and the parent's non-JDK system properties.
+ */
+public final class ShardLauncher {
+    private static final Logger logger = LoggerFactory.getLogger(ShardLauncher.class);
+    private static final String[] JDK_PROPERTY_PREFIXES = {
+            "java.", "javax.", "jdk.", "sun.", "os.", "user.", "file.", "line.", "path.", "awt.",
+            "native.", "stdout.", "stderr.", "maven.", "classworlds.", "library.", "exec.", "socksProxy"
+    };
+
+    private ShardLauncher() {
+    }
+
+    /**
+     * @return each shard's output directory and TestNG exit status, in shard order
+     */
+    public static List<ShardResult> launch(String mainClass, int count, Path outputRoot) {
+        List<Process> processes = new ArrayList<>();
+        List<ShardResult> results = new ArrayList<>();
+        long start = System.nanoTime();
+        // Every shard records its executions in the run history under the same run
+        String runId = System.getProperty("history.run.id", String.valueOf(System.currentTimeMillis()));
+        try {
+            for (int i = 0; i < count; i++) {
+                Path dir = outputRoot.resolve("shard-" + i);
+                Files.createDirectories(dir);
+                List<String> command = command(mainClass, count, i, dir, runId);
+                logger.debug("Starting shard {}: {}", i, command);
+                processes.add(new ProcessBuilder(command)
+                        .redirectErrorStream(true)
+                        .redirectOutput(dir.resolve("console.log").toFile())
+                        .start());
+                logger.info("Started shard {}/{} (output in {})", i, count, dir);
+            }
+            for (int i = 0; i < count; i++) {
+                int exitCode = processes.get(i).waitFor();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                logger.info("Shard {}/{} finished with exit code {} after {} s", i, count, exitCode,
+                        String.format("%.1f", seconds));
+                results.add(new ShardResult(i, outputRoot.resolve("shard-" + i), exitCode));
+            }
+        } catch (IOException e) {
+            processes.forEach(Process::destroyForcibly);
+            throw new IllegalStateException("Failed to start shard JVM", e);
+        } catch (InterruptedException e) {
+            processes.forEach(Process::destroyForcibly);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        }
+        return results;
+    }
+
+    private static List<String> command(String mainClass, int count, int index, Path dir, String runId) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-javaagent:") || argument.startsWith("-Xm") || argument.startsWith("-Xss")) {
+                command.add(argument);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (!isJdkProperty(name) && !name.startsWith("shard.") && !name.equals("allure.results.directory")
+                    && !name.equals("history.run.id")) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.add("-Dshard.count=" + count);
+        command.add("-Dshard.index=" + index);
+        command.add("-Dshard.output.dir=" + dir.resolve("testng"));
+        command.add("-Dallure.results.directory=" + dir.resolve("allure-results"));
+        command.add("-Dhistory.run.id=" + runId);
+        command.add("-cp");
+        command.add(classpath());
+        command.add(mainClass);
+        return command;
+    }
+
+    private static boolean isJdkProperty(String name) {
+        for (String prefix : JDK_PROPERTY_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The classpath this class was loaded from. Under {@code exec:java} that is an isolated
+     * URLClassLoader rather than {@code java.class.path}, which then points at Maven itself.
+     */
+    static String classpath() {
+        Set<String> entries = new LinkedHashSet<>();
+        for (ClassLoader loader = Thread.currentThread().getContextClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    try {
+                        entries.add(Paths.get(url.toURI()).toString());
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        logger.debug("Skipping classpath entry {}", url);
+                    }
+                }
+            }
+        }
+        if (entries.isEmpty()) {
+            return System.getProperty("java.class.path");
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    public static final class ShardResult {
+        private final int index;
+        private final Path directory;
+        private final int exitCode;
+
+        ShardResult(int index, Path directory, int exitCode) {
+            this.index = index;
+            this.directory = directory;
+            this.exitCode = exitCode;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public int getExitCode() {
+            return exitCode;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.saucedemo.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Assignment of test methods to shards. With duration history the methods are placed
+ * longest-first onto the currently lightest shard (LPT), methods without history being estimated
+ * at the median known duration. Without any history each method goes to
+ * {@code hash(id) mod count}. The result depends only on the method ids and the history, so every
+ * shard computes the same plan independently.
+ */
+public final class ShardPlan {
+    private final int count;
+    private final boolean historyBased;
+    private final Map<String, Integer> shardOf;
+    private final List<List<String>> methods;
+    private final long[] estimatedMillis;
+
+    private ShardPlan(int count, boolean historyBased) {
+        this.count = count;
+        this.historyBased = historyBased;
+        this.shardOf = new HashMap<>();
+        this.methods = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            methods.add(new ArrayList<>());
+        }
+        this.estimatedMillis = new long[count];
+    }
+
+    public static ShardPlan create(Collection<String> methodIds, Map<String, Long> history, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + count);
+        }
+        TreeSet<String> ids = new TreeSet<>(methodIds);
+        List<Long> known = new ArrayList<>();
+        for (String id : ids) {
+            Long millis = history.get(id);
+            if (millis != null) {
+                known.add(millis);
+            }
+        }
+
+        if (known.isEmpty()) {
+            ShardPlan plan = new ShardPlan(count, false);
+            for (String id : ids) {
+                plan.assign(id, Math.floorMod(id.hashCode(), count), 0);
+            }
+            return plan;
+        }
+
+        Collections.sort(known);
+        long median = known.get(known.size() / 2);
+        List<String> ordered = new ArrayList<>(ids);
+        ordered.sort((a, b) -> {
+            int byDuration = Long.compare(history.getOrDefault(b, median), history.getOrDefault(a, median));
+            return byDuration != 0 ? byDuration : a.compareTo(b);
+        });
+
+        ShardPlan plan = new ShardPlan(count, true);
+        for (String id : ordered) {
+            int lightest = 0;
+            for (int i = 1; i < count; i++) {
+                if (plan.estimatedMillis[i] < plan.estimatedMillis[lightest]) {
+                    lightest = i;
+                }
+            }
+            plan.assign(id, lightest, history.getOrDefault(id, median));
+        }
+        return plan;
+    }
+
+    private void assign(String id, int shard, long millis) {
+        shardOf.put(id, shard);
+        methods.get(shard).add(id);
+        estimatedMillis[shard] += millis;
+    }
+
+    public boolean includes(String methodId, int shard) {
+        Integer assigned = shardOf.get(methodId);
+        return assigned != null && assigned == shard;
+    }
+
+    public List<String> getMethods(int shard) {
+        return Collections.unmodifiableList(methods.get(shard));
+    }
+
+    public long getEstimatedMillis(int shard) {
+        return estimatedMillis[shard];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isHistoryBased() {
+        return historyBased;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(historyBased ? "LPT plan" : "hash plan");
+        for (int i = 0; i < count; i++) {
+            sb.append(String.format("%n  shard %d: %d methods", i, methods.get(i).size()));
+            if (historyBased) {
+                sb.append(String.format(", ~%.1f s", estimatedMillis[i] / 1000.0));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.saucedemo.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Gathers shard output into the locations a single run would have used: Allure result files
+ * (uniquely named already) into the Allure results directory, and each shard's JUnit XML reports
+ * into the reports directory with a {@code -shard<N>} suffix so identically named classes from
+ * different shards do not overwrite each other.
+ */
+public final class ShardResultMerger {
+    private static final Logger logger = LoggerFactory.getLogger(ShardResultMerger.class);
+
+    private ShardResultMerger() {
+    }
+
+    public static void merge(List<ShardLauncher.ShardResult> shards, Path allureResults, Path reports) {
+        int allureFiles = 0;
+        int reportFiles = 0;
+        try {
+            Files.createDirectories(allureResults);
+            Files.createDirectories(reports);
+            for (ShardLauncher.ShardResult shard : shards) {
+                allureFiles += copy(shard.getDirectory().resolve("allure-results"), allureResults, "");
+                reportFiles += copy(shard.getDirectory().resolve("testng").resolve("junitreports"), reports,
+                        "-shard" + shard.getIndex());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge shard results", e);
+        }
+        logger.info("Merged {} Allure files into {} and {} JUnit reports into {}",
+                allureFiles, allureResults, reportFiles, reports);
+    }
+
+    private static int copy(Path from, Path to, String suffix) throws IOException {
+        if (!Files.isDirectory(from)) {
+            return 0;
+        }
+        int copied = 0;
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    Files.copy(file, to.resolve(withSuffix(file.getFileName().toString(), suffix)),
+                            StandardCopyOption.REPLACE_EXISTING);
+                    copied++;
+                }
+            }
+        }
+        return copied;
+    }
+
+    private static String withSuffix(String name, String suffix) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name + suffix : name.substring(0, dot) + suffix + name.substring(dot);
+    }
+}
@@ -0,0 +1,95 @@
+package com.saucedemo.execution;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Browser sessions kept open after a failed test for its retry, one per thread, so the retry
+ * skips starting a browser. A session is logged out, with cookies and web storage cleared,
+ * before it is kept.
+ */
+public final class WarmSessions {
+    private static final Logger logger = LoggerFactory.getLogger(WarmSessions.class);
+    private static final Map<Thread, Session> sessions = new ConcurrentHashMap<>();
+
+    private WarmSessions() {
+    }
+
+    /**
+     * Resets {@code driver} and keeps it, with its slot, for this thread's next test.
+     *
+     * @return false, with the session closed, when it could not be reset
+     */
+    public static boolean park(String browser, WebDriver driver, AdaptiveConcurrencyController.Lease lease) {
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (RuntimeException e) {
+            logger.warn("Could not reset the {} session for a retry, closing it: {}", browser, e.getMessage());
+            close(new Session(browser, driver, lease));
+            return false;
+        }
+        Session previous = sessions.put(Thread.currentThread(), new Session(browser, driver, lease));
+        if (previous != null) {
+            close(previous);
+        }
+        return true;
+    }
+
+    /** This thread's kept session for {@code browser}, or null; a session for another browser is closed. */
+    public static Session take(String browser) {
+        Session session = sessions.remove(Thread.currentThread());
+        if (session != null && !session.browser.equalsIgnoreCase(browser)) {
+            close(session);
+            return null;
+        }
+        return session;
+    }
+
+    /** Closes every kept session, e.g. those of threads whose retry never came. */
+    public static void closeAll() {
+        for (Thread thread : sessions.keySet()) {
+            Session session = sessions.remove(thread);
+            if (session != null) {
+                close(session);
+            }
+        }
+    }
+
+    private static void close(Session session) {
+        SessionWatchdog.unregister(session.driver);
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to close a kept {} session: {}", session.browser, e.getMessage());
+        } finally {
+            session.lease.close();
+        }
+    }
+
+    public static final class Session {
+        private final String browser;
+        private final WebDriver driver;
+        private final AdaptiveConcurrencyController.Lease lease;
+
+        private Session(String browser, WebDriver driver, AdaptiveConcurrencyController.Lease lease) {
+            this.browser = browser;
+            this.driver = driver;
+            this.lease = lease;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public AdaptiveConcurrencyController.Lease getLease() {
+            return lease;
+        }
+    }
+}
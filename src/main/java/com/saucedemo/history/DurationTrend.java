@@ -0,0 +1,58 @@
+package com.saucedemo.history;
+
+import com.saucedemo.metrics.LatencySamples;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Duration percentiles of one test over the executions {@link RunHistory#lastRuns} returned. */
+public final class DurationTrend {
+    private final String testId;
+    private final int runs;
+    private final LatencySamples durations = new LatencySamples();
+    private final Map<String, LatencySamples> steps = new LinkedHashMap<>();
+    private final Map<TestExecution.Outcome, Integer> outcomes = new EnumMap<>(TestExecution.Outcome.class);
+
+    /** Skipped executions count towards the outcomes but not the durations. */
+    public DurationTrend(String testId, List<TestExecution> executions) {
+        this.testId = testId;
+        this.runs = (int) executions.stream().mapToLong(TestExecution::getRunId).distinct().count();
+        for (TestExecution execution : executions) {
+            outcomes.merge(execution.getOutcome(), 1, Integer::sum);
+            if (execution.getOutcome() == TestExecution.Outcome.SKIPPED) {
+                continue;
+            }
+            durations.record(execution.getDurationMs());
+            execution.getStepMillis().forEach((step, millis) ->
+                    steps.computeIfAbsent(step, name -> new LatencySamples()).record(millis));
+        }
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getExecutions() {
+        return durations.count();
+    }
+
+    public int count(TestExecution.Outcome outcome) {
+        return outcomes.getOrDefault(outcome, 0);
+    }
+
+    /** @param percentile value in [0, 100]; 0 when nothing was timed */
+    public long percentile(double percentile) {
+        return durations.percentile(percentile);
+    }
+
+    /** Step names in the order they were first seen, each with its own durations. */
+    public Map<String, LatencySamples> getSteps() {
+        return steps;
+    }
+}
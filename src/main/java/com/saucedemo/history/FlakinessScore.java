@@ -0,0 +1,79 @@
+package com.saucedemo.history;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How often a test's outcome flips between passed and failed from one execution to the next on
+ * the same browser. A test that always fails scores 0 like one that always passes: only the
+ * flipping is flaky. Skipped executions are ignored.
+ */
+public final class FlakinessScore {
+    private final String testId;
+    private final int executions;
+    private final int failures;
+    private final int flips;
+    private final int transitions;
+
+    private FlakinessScore(String testId, int executions, int failures, int flips, int transitions) {
+        this.testId = testId;
+        this.executions = executions;
+        this.failures = failures;
+        this.flips = flips;
+        this.transitions = transitions;
+    }
+
+    /** @param executions oldest first, as {@link RunHistory#lastRuns} returns them */
+    public static FlakinessScore of(String testId, List<TestExecution> executions) {
+        Map<String, TestExecution.Outcome> previous = new HashMap<>();
+        int counted = 0;
+        int failures = 0;
+        int flips = 0;
+        int transitions = 0;
+        for (TestExecution execution : executions) {
+            if (execution.getOutcome() == TestExecution.Outcome.SKIPPED) {
+                continue;
+            }
+            counted++;
+            if (execution.getOutcome() == TestExecution.Outcome.FAILED) {
+                failures++;
+            }
+            TestExecution.Outcome last = previous.put(execution.getBrowser(), execution.getOutcome());
+            if (last != null) {
+                transitions++;
+                if (last != execution.getOutcome()) {
+                    flips++;
+                }
+            }
+        }
+        return new FlakinessScore(testId, counted, failures, flips, transitions);
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public int getExecutions() {
+        return executions;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public int getFlips() {
+        return flips;
+    }
+
+    /** Flips per consecutive pair of executions, in [0, 1]; 0 with fewer than two executions. */
+    public double flipRate() {
+        return transitions == 0 ? 0 : (double) flips / transitions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: flip rate %.2f (%d flips, %d failures in %d executions)", testId, flipRate(),
+                flips, failures, executions);
+    }
+}
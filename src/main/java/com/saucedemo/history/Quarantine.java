@@ -0,0 +1,86 @@
+package com.saucedemo.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Which tests are quarantined, and why: those whose {@link FlakinessScore} over their recent runs
+ * reaches the flip-rate threshold, and those named explicitly.
+ */
+public final class Quarantine {
+    public static final Quarantine NONE = new Quarantine(Collections.emptyMap(), Collections.emptyList());
+
+    private final Map<String, String> reasons;
+    private final List<FlakinessScore> scores;
+
+    private Quarantine(Map<String, String> reasons, List<FlakinessScore> scores) {
+        this.reasons = reasons;
+        this.scores = scores;
+    }
+
+    /**
+     * @param testIds       the tests to decide on
+     * @param named         test ids or method names quarantined regardless of their history
+     * @param runs          how many recent runs the score covers
+     * @param threshold     flip rate at or above which a test is quarantined
+     * @param minExecutions fewer executions than this are not enough to judge
+     */
+    public static Quarantine evaluate(RunHistory history, Collection<String> testIds, Set<String> named, int runs,
+                                      double threshold, int minExecutions) {
+        Map<String, String> reasons = new LinkedHashMap<>();
+        List<FlakinessScore> scores = new ArrayList<>();
+        for (String testId : testIds) {
+            FlakinessScore score = FlakinessScore.of(testId, history.lastRuns(testId, null, runs));
+            scores.add(score);
+            if (named.contains(testId) || named.contains(testId.substring(testId.lastIndexOf('.') + 1))) {
+                reasons.put(testId, "quarantined by configuration; " + score);
+            } else if (score.getExecutions() >= minExecutions && score.flipRate() >= threshold) {
+                reasons.put(testId, String.format("flip rate %.2f >= %.2f over the last %d runs; %s",
+                        score.flipRate(), threshold, runs, score));
+            }
+        }
+        return new Quarantine(reasons, scores);
+    }
+
+    public boolean contains(String testId) {
+        return reasons.containsKey(testId);
+    }
+
+    /** Why {@code testId} is quarantined, or null when it is not. */
+    public String reason(String testId) {
+        return reasons.get(testId);
+    }
+
+    public Set<String> testIds() {
+        return Collections.unmodifiableSet(reasons.keySet());
+    }
+
+    /** Every decision: the quarantined tests with their reasons, then the score of every test. */
+    public void write(Path file) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Quarantined: " + reasons.size() + " of " + scores.size() + " tests");
+        reasons.forEach((testId, reason) -> lines.add("  " + testId + " - " + reason));
+        lines.add("Scores:");
+        scores.stream()
+                .sorted((a, b) -> Double.compare(b.flipRate(), a.flipRate()))
+                .forEach(score -> lines.add("  " + score));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write quarantine decisions to " + file, e);
+        }
+    }
+}
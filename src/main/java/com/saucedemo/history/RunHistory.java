@@ -0,0 +1,357 @@
+package com.saucedemo.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Append-only store of every test execution, in three files under one directory:
+ * <ul>
+ *     <li>{@code runs.idx}: a 16-byte header, then one 40-byte entry per execution (run id, step
+ *     data offset, test, browser, duration, outcome, and the entry number of the same test's
+ *     previous execution)</li>
+ *     <li>{@code steps.dat}: each execution's step timings, as a count and (step, millis) pairs</li>
+ *     <li>{@code strings.txt}: test ids, browsers and step names, one per line; an id is a line
+ *     number</li>
+ * </ul>
+ * Queries memory-map the index and follow one test's chain of entries backwards from its latest
+ * execution, so they cost the number of executions asked for rather than the size of the history.
+ * Appends take an exclusive lock on the index and write strings and step data before the index
+ * entries that refer to them, so readers never see an entry whose data is missing, and a torn
+ * write is cut off by the next append.
+ */
+public final class RunHistory {
+    private static final Logger logger = LoggerFactory.getLogger(RunHistory.class);
+    private static final int MAGIC = 0x534C5248;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_BYTES = 40;
+    private static final int RUN_ID = 0;
+    private static final int DATA_OFFSET = 8;
+    private static final int TEST = 16;
+    private static final int BROWSER = 20;
+    private static final int DURATION = 24;
+    private static final int PREVIOUS = 28;
+    private static final int OUTCOME = 32;
+    private static final String INDEX_FILE = "runs.idx";
+    private static final String STEPS_FILE = "steps.dat";
+    private static final String STRINGS_FILE = "strings.txt";
+    private static final TestExecution.Outcome[] OUTCOMES = TestExecution.Outcome.values();
+
+    private final ByteBuffer index;
+    private final ByteBuffer steps;
+    private final int entries;
+    private final List<String> strings;
+    private final Map<String, Integer> keys;
+
+    private RunHistory(ByteBuffer index, ByteBuffer steps, List<String> strings) {
+        this.index = index;
+        this.steps = steps;
+        this.entries = Math.max(0, (index.limit() - HEADER_BYTES) / ENTRY_BYTES);
+        this.strings = strings;
+        this.keys = new HashMap<>();
+        for (int i = 0; i < strings.size(); i++) {
+            keys.putIfAbsent(strings.get(i), i);
+        }
+    }
+
+    /** A read-only view of the history as it is now; an empty one when nothing was recorded yet. */
+    public static RunHistory open(Path dir) {
+        Path indexFile = dir.resolve(INDEX_FILE);
+        if (!Files.isRegularFile(indexFile)) {
+            return new RunHistory(ByteBuffer.allocate(0), ByteBuffer.allocate(0), Collections.emptyList());
+        }
+        try {
+            // The index is mapped first: everything its entries refer to was written before them
+            ByteBuffer index = map(indexFile);
+            if (index.limit() >= HEADER_BYTES) {
+                checkHeader(index.getInt(0), index.getInt(4), indexFile);
+            }
+            return new RunHistory(index, map(dir.resolve(STEPS_FILE)), readStrings(dir.resolve(STRINGS_FILE)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open run history " + dir, e);
+        }
+    }
+
+    public int size() {
+        return entries;
+    }
+
+    /** Every test id with at least one execution, sorted. */
+    public Set<String> testIds() {
+        Set<Integer> tests = new HashSet<>();
+        for (int i = 0; i < entries; i++) {
+            tests.add(index.getInt(offset(i) + TEST));
+        }
+        Set<String> ids = new TreeSet<>();
+        tests.forEach(test -> ids.add(strings.get(test)));
+        return ids;
+    }
+
+    /**
+     * Test ids equal to {@code name}, or ending in {@code .name}, so a method name alone is
+     * enough when it is unambiguous.
+     */
+    public List<String> resolve(String name) {
+        if (keys.containsKey(name)) {
+            return List.of(name);
+        }
+        List<String> matches = new ArrayList<>();
+        for (String id : testIds()) {
+            if (id.endsWith("." + name)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The executions of {@code testId} in its latest {@code runs} runs, oldest first.
+     *
+     * @param browser only executions on this browser, or null for all
+     */
+    public List<TestExecution> lastRuns(String testId, String browser, int runs) {
+        Integer test = keys.get(testId);
+        Integer browserKey = browser != null ? keys.get(browser) : null;
+        if (test == null || runs <= 0 || (browser != null && browserKey == null)) {
+            return Collections.emptyList();
+        }
+        int entry = entries - 1;
+        while (entry >= 0 && index.getInt(offset(entry) + TEST) != test) {
+            entry--;
+        }
+        List<TestExecution> found = new ArrayList<>();
+        Set<Long> runIds = new HashSet<>();
+        while (entry >= 0) {
+            int at = offset(entry);
+            if (browserKey == null || index.getInt(at + BROWSER) == browserKey) {
+                long runId = index.getLong(at + RUN_ID);
+                if (runIds.add(runId) && runIds.size() > runs) {
+                    break;
+                }
+                found.add(read(entry));
+            }
+            entry = index.getInt(at + PREVIOUS);
+        }
+        Collections.reverse(found);
+        return found;
+    }
+
+    private TestExecution read(int entry) {
+        int at = offset(entry);
+        long dataOffset = index.getLong(at + DATA_OFFSET);
+        Map<String, Integer> stepMillis = new LinkedHashMap<>();
+        if (dataOffset >= 0) {
+            int position = (int) dataOffset;
+            int count = steps.getInt(position);
+            for (int i = 0; i < count; i++) {
+                stepMillis.put(strings.get(steps.getInt(position + 4 + i * 8)), steps.getInt(position + 8 + i * 8));
+            }
+        }
+        return new TestExecution(index.getLong(at + RUN_ID), strings.get(index.getInt(at + TEST)),
+                strings.get(index.getInt(at + BROWSER)), index.getInt(at + DURATION),
+                OUTCOMES[index.get(at + OUTCOME)], stepMillis);
+    }
+
+    private static int offset(int entry) {
+        return HEADER_BYTES + entry * ENTRY_BYTES;
+    }
+
+    /** Appends {@code executions}, in order, to the history in {@code dir}, creating it if needed. */
+    public static void append(Path dir, Collection<TestExecution> executions) {
+        if (executions.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Path indexFile = dir.resolve(INDEX_FILE);
+            try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = index.lock()) {
+                int count = prepareIndex(index, indexFile);
+                Map<String, Integer> keys = new HashMap<>();
+                List<String> added = new ArrayList<>();
+                List<String> known = readStringsForAppend(dir.resolve(STRINGS_FILE));
+                for (int i = 0; i < known.size(); i++) {
+                    keys.putIfAbsent(known.get(i), i);
+                }
+
+                Set<Integer> tests = new LinkedHashSet<>();
+                for (TestExecution execution : executions) {
+                    tests.add(key(execution.getTestId(), keys, added));
+                }
+                Map<Integer, Integer> latest = latestEntries(index, count, tests);
+
+                ByteBuffer entryBytes = ByteBuffer.allocate(executions.size() * ENTRY_BYTES);
+                ByteBuffer stepBytes = ByteBuffer.allocate(executions.stream()
+                        .mapToInt(e -> e.getStepMillis().isEmpty() ? 0 : 4 + 8 * e.getStepMillis().size()).sum());
+                long stepsStart;
+                try (FileChannel stepsChannel = FileChannel.open(dir.resolve(STEPS_FILE), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE)) {
+                    stepsStart = stepsChannel.size();
+                    int entry = count;
+                    for (TestExecution execution : executions) {
+                        int test = key(execution.getTestId(), keys, added);
+                        long dataOffset = -1;
+                        if (!execution.getStepMillis().isEmpty()) {
+                            dataOffset = stepsStart + stepBytes.position();
+                            stepBytes.putInt(execution.getStepMillis().size());
+                            for (Map.Entry<String, Integer> step : execution.getStepMillis().entrySet()) {
+                                stepBytes.putInt(key(step.getKey(), keys, added)).putInt(step.getValue());
+                            }
+                        }
+                        entryBytes.putLong(execution.getRunId())
+                                .putLong(dataOffset)
+                                .putInt(test)
+                                .putInt(key(execution.getBrowser(), keys, added))
+                                .putInt(execution.getDurationMs())
+                                .putInt(latest.getOrDefault(test, -1))
+                                .put((byte) execution.getOutcome().ordinal())
+                                .put(new byte[ENTRY_BYTES - OUTCOME - 1]);
+                        latest.put(test, entry++);
+                    }
+                    appendStrings(dir.resolve(STRINGS_FILE), added);
+                    stepBytes.flip();
+                    writeFully(stepsChannel, stepBytes, stepsStart);
+                }
+                entryBytes.flip();
+                writeFully(index, entryBytes, offset(count));
+            }
+            logger.info("Recorded {} test executions in run history {}", executions.size(), dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to run history " + dir, e);
+        }
+    }
+
+    /** Writes the header of a new index or checks an existing one, and drops a torn last entry. */
+    private static int prepareIndex(FileChannel index, Path file) throws IOException {
+        if (index.size() < HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(0);
+            header.flip();
+            index.truncate(0);
+            writeFully(index, header, 0);
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(8);
+        index.read(header, 0);
+        checkHeader(header.getInt(0), header.getInt(4), file);
+        int count = (int) ((index.size() - HEADER_BYTES) / ENTRY_BYTES);
+        index.truncate(offset(count));
+        return count;
+    }
+
+    private static void checkHeader(int magic, int version, Path file) {
+        if (magic != MAGIC) {
+            throw new IllegalStateException("Not a run history index: " + file);
+        }
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported run history version " + version + " in " + file);
+        }
+    }
+
+    /** Entry number of the latest execution of each of {@code tests}, scanning back from the end. */
+    private static Map<Integer, Integer> latestEntries(FileChannel index, int count, Set<Integer> tests)
+            throws IOException {
+        Map<Integer, Integer> latest = new HashMap<>();
+        if (count == 0) {
+            return latest;
+        }
+        MappedByteBuffer entries = index.map(FileChannel.MapMode.READ_ONLY, 0, offset(count));
+        for (int entry = count - 1; entry >= 0 && latest.size() < tests.size(); entry--) {
+            int test = entries.getInt(offset(entry) + TEST);
+            if (tests.contains(test)) {
+                latest.putIfAbsent(test, entry);
+            }
+        }
+        return latest;
+    }
+
+    private static int key(String value, Map<String, Integer> keys, List<String> added) {
+        String clean = value == null ? "" : value.replace('\n', ' ').replace('\r', ' ');
+        Integer key = keys.get(clean);
+        if (key == null) {
+            key = keys.size();
+            keys.put(clean, key);
+            added.add(clean);
+        }
+        return key;
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return ByteBuffer.allocate(0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /** Complete lines only: a line still being written has no newline yet. */
+    private static List<String> readStrings(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyList();
+        }
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n');
+        if (end < 0) {
+            return Collections.emptyList();
+        }
+        return List.of(content.substring(0, end).split("\n", -1));
+    }
+
+    /** Like {@link #readStrings}, and cuts off a line left incomplete by an interrupted append. */
+    private static List<String> readStringsForAppend(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyList();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        if (end < bytes.length) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+        }
+        return readStrings(file);
+    }
+
+    private static void appendStrings(Path file, List<String> added) throws IOException {
+        if (added.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        added.forEach(line -> lines.append(line).append('\n'));
+        Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.saucedemo.history;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** One invocation of a test method as kept in the {@link RunHistory}. */
+public final class TestExecution {
+    public enum Outcome {
+        PASSED, FAILED, SKIPPED
+    }
+
+    private final long runId;
+    private final String testId;
+    private final String browser;
+    private final int durationMs;
+    private final Outcome outcome;
+    private final Map<String, Integer> stepMillis;
+
+    /**
+     * @param runId      identifies the run; every execution of one suite run shares it
+     * @param stepMillis top-level step durations by step name, in execution order
+     */
+    public TestExecution(long runId, String testId, String browser, long durationMs, Outcome outcome,
+                         Map<String, Integer> stepMillis) {
+        this.runId = runId;
+        this.testId = testId;
+        this.browser = browser;
+        this.durationMs = (int) Math.min(Integer.MAX_VALUE, Math.max(0, durationMs));
+        this.outcome = outcome;
+        this.stepMillis = Collections.unmodifiableMap(new LinkedHashMap<>(stepMillis));
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public int getDurationMs() {
+        return durationMs;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public Map<String, Integer> getStepMillis() {
+        return stepMillis;
+    }
+
+    @Override
+    public String toString() {
+        return testId + " [" + browser + "] " + outcome + " in " + durationMs + " ms (run " + runId + ")";
+    }
+}
@@ -0,0 +1,221 @@
+package com.saucedemo.impact;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * What changed since a git base: the page-object methods ({@code Page#method}, or
+ * {@code Page#*} for a change outside any method) and the test classes. Anything else that
+ * changed, other than the ignored files, makes the change set unsafe to select tests from, and so
+ * does any trouble running git.
+ */
+public final class ChangeSet {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeSet.class);
+    private static final String PAGES = "src/main/java/com/saucedemo/pages/";
+    private static final String TESTS = "src/test/java/";
+    private static final Pattern FILE = Pattern.compile("^\\+\\+\\+ (?:b/)?(.*)$");
+    private static final Pattern OLD_FILE = Pattern.compile("^--- (?:a/)?(.*)$");
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@.*");
+    private static final Pattern METHOD = Pattern.compile(
+            "^\\s*(?:(?:public|protected|private|static|final|synchronized|abstract|default)\\s+)*"
+                    + "(?:<[^>]+>\\s+)?[\\w.<>\\[\\],? ]+\\s+(\\w+)\\s*\\(.*");
+    private static final Pattern TYPE = Pattern.compile("\\b(?:class|interface|enum)\\s+\\w+");
+
+    private final String unsafeReason;
+    private final Set<String> pageMembers;
+    private final Set<String> testClasses;
+
+    private ChangeSet(String unsafeReason, Set<String> pageMembers, Set<String> testClasses) {
+        this.unsafeReason = unsafeReason;
+        this.pageMembers = pageMembers;
+        this.testClasses = testClasses;
+    }
+
+    /**
+     * Changes from the merge base of {@code base} and HEAD to the working tree, so both committed
+     * and uncommitted edits count.
+     *
+     * @param ignored glob patterns of repository paths that affect no test, e.g. {@code **.md}
+     */
+    public static ChangeSet since(String base, List<String> ignored) {
+        try {
+            Path root = Paths.get(git(Paths.get("."), "rev-parse", "--show-toplevel").trim());
+            String mergeBase = git(root, "merge-base", base, "HEAD").trim();
+            return parse(root, git(root, "diff", "-U0", "--no-color", "--no-ext-diff", mergeBase), ignored);
+        } catch (IOException | IllegalStateException e) {
+            return unsafe("could not diff against " + base + ": " + e.getMessage());
+        }
+    }
+
+    static ChangeSet parse(Path root, String diff, List<String> ignored) throws IOException {
+        List<PathMatcher> matchers = ignored.stream()
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .collect(Collectors.toList());
+        Set<String> members = new TreeSet<>();
+        Set<String> tests = new TreeSet<>();
+        String oldPath = null;
+        String path = null;
+        String[] memberByLine = null;
+        for (String line : diff.split("\n")) {
+            Matcher matcher;
+            if ((matcher = OLD_FILE.matcher(line)).matches()) {
+                oldPath = matcher.group(1);
+            } else if ((matcher = FILE.matcher(line)).matches()) {
+                path = matcher.group(1).equals("/dev/null") ? oldPath : matcher.group(1);
+                memberByLine = null;
+                String finalPath = path;
+                if (matchers.stream().anyMatch(m -> m.matches(Paths.get(finalPath)))) {
+                    path = null;
+                } else if (path.startsWith(TESTS) && path.endsWith(".java")) {
+                    tests.add(path.substring(TESTS.length(), path.length() - 5).replace('/', '.'));
+                    path = null;
+                } else if (!path.startsWith(PAGES) || !path.endsWith(".java")) {
+                    return unsafe(path + " changed outside the page objects and tests");
+                } else if (matcher.group(1).equals("/dev/null") || !Files.isRegularFile(root.resolve(path))) {
+                    members.add(page(path) + "#*");
+                    path = null;
+                } else {
+                    memberByLine = memberByLine(Files.readAllLines(root.resolve(path), StandardCharsets.UTF_8));
+                }
+            } else if (path != null && memberByLine != null && (matcher = HUNK.matcher(line)).matches()) {
+                int start = Integer.parseInt(matcher.group(1));
+                int count = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 1;
+                // A pure deletion sits between line start and start + 1
+                int end = count == 0 ? start + 1 : start + count - 1;
+                for (int i = Math.max(1, start); i <= Math.min(end, memberByLine.length); i++) {
+                    if (memberByLine[i - 1] != null) {
+                        members.add(page(path) + "#" + memberByLine[i - 1]);
+                    }
+                }
+            }
+        }
+        return new ChangeSet(null, members, tests);
+    }
+
+    /**
+     * The method each line belongs to, counting a method's annotations and comments as part of
+     * it; {@code *} for other code, such as fields and locators; null for blank lines.
+     */
+    static String[] memberByLine(List<String> lines) {
+        String[] members = new String[lines.size()];
+        int depth = 0;
+        int declarationStart = -1;
+        String method = null;
+        boolean inComment = false;
+        for (int i = 0; i < lines.size(); i++) {
+            String code = lines.get(i);
+            if (inComment) {
+                int end = code.indexOf("*/");
+                inComment = end < 0;
+                code = inComment ? "" : code.substring(end + 2);
+            }
+            code = code.replaceAll("\"(?:\\\\.|[^\"\\\\])*\"", "\"\"").replaceAll("//.*", "");
+            int blockComment = code.indexOf("/*");
+            if (blockComment >= 0) {
+                int end = code.indexOf("*/", blockComment + 2);
+                inComment = end < 0;
+                code = code.substring(0, blockComment) + (inComment ? "" : code.substring(end + 2));
+            }
+            String trimmed = code.trim();
+
+            if (method == null && depth == 1) {
+                Matcher matcher = METHOD.matcher(code);
+                if (matcher.matches() && !TYPE.matcher(code).find() && !trimmed.startsWith("return")
+                        && !trimmed.startsWith("new ")) {
+                    method = matcher.group(1);
+                    for (int j = declarationStart >= 0 ? declarationStart : i; j < i; j++) {
+                        members[j] = members[j] != null ? method : null;
+                    }
+                } else if (trimmed.startsWith("@") || lines.get(i).trim().startsWith("/**")
+                        || lines.get(i).trim().startsWith("*")) {
+                    declarationStart = declarationStart >= 0 ? declarationStart : i;
+                } else if (!trimmed.isEmpty()) {
+                    declarationStart = -1;
+                }
+            }
+            members[i] = lines.get(i).trim().isEmpty() ? null : method != null ? method : "*";
+
+            for (char c : code.toCharArray()) {
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth--;
+                }
+            }
+            if (method != null && depth <= 1 && (trimmed.endsWith("}") || trimmed.endsWith(";"))) {
+                method = null;
+                declarationStart = -1;
+            }
+        }
+        return members;
+    }
+
+    private static ChangeSet unsafe(String reason) {
+        return new ChangeSet(reason, Collections.emptySet(), Collections.emptySet());
+    }
+
+    private static String page(String path) {
+        return path.substring(path.lastIndexOf('/') + 1, path.length() - 5);
+    }
+
+    private static String git(Path dir, String... args) throws IOException {
+        List<String> command = new ArrayList<>(Arrays.asList("git", "-C", dir.toString()));
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream in = process.getInputStream()) {
+            in.transferTo(output);
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException(String.join(" ", command) + " failed: "
+                        + output.toString(StandardCharsets.UTF_8).trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted running git", e);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Why tests cannot be selected from this change set, or null when they can. */
+    public String getUnsafeReason() {
+        return unsafeReason;
+    }
+
+    /** Changed page-object members as {@code Page#method}, or {@code Page#*} for the whole page. */
+    public Set<String> getPageMembers() {
+        return pageMembers;
+    }
+
+    /** Fully qualified names of the changed test classes. */
+    public Set<String> getTestClasses() {
+        return testClasses;
+    }
+
+    @Override
+    public String toString() {
+        return unsafeReason != null ? "unsafe: " + unsafeReason
+                : "page members " + pageMembers + ", test classes " + testClasses;
+    }
+}
@@ -0,0 +1,92 @@
+package com.saucedemo.impact;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Which page-object methods each test method reached, as {@code testId=Page#method,...} in a
+ * sorted properties file. A test that passed replaces what was known about it; one that failed or
+ * was skipped may have stopped early, so what it reached is added to what was known. Updates take
+ * an exclusive file lock like {@code DurationHistory}.
+ */
+public final class ImpactMap {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactMap.class);
+
+    private ImpactMap() {
+    }
+
+    public static Map<String, Set<String>> load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable impact map {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * @param complete members reached by tests that passed
+     * @param partial  members reached by tests that failed or were skipped
+     */
+    public static void record(Path file, Map<String, Set<String>> complete, Map<String, Set<String>> partial) {
+        if (complete.isEmpty() && partial.isEmpty()) {
+            return;
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Map<String, Set<String>> map = parse(Channels.newReader(channel, StandardCharsets.UTF_8));
+                partial.forEach((id, members) -> map.computeIfAbsent(id, key -> new TreeSet<>()).addAll(members));
+                complete.forEach((id, members) -> map.put(id, new TreeSet<>(members)));
+
+                StringBuilder sb = new StringBuilder("# Page-object methods reached by each test, maintained by ImpactMap\n");
+                map.forEach((id, members) -> sb.append(id).append('=').append(String.join(",", members)).append('\n'));
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)), 0);
+            }
+            logger.info("Recorded page-object use of {} test methods in {}", complete.size() + partial.size(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update impact map " + file, e);
+        }
+    }
+
+    private static Map<String, Set<String>> parse(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        Map<String, Set<String>> map = new TreeMap<>();
+        for (String id : properties.stringPropertyNames()) {
+            map.put(id, Arrays.stream(properties.getProperty(id).split(","))
+                    .map(String::trim)
+                    .filter(member -> !member.isEmpty())
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        return map;
+    }
+}
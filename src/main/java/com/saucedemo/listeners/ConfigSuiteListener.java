@@ -0,0 +1,40 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies the {@code parallel.threads} and {@code parallel.dataprovider.threads} settings to
+ * every suite before it runs, so parallelism is tuned through {@link ConfigReader} rather than
+ * by editing the suite XML. With {@code autoscale.enabled} both pools are sized to
+ * {@code autoscale.max.sessions} and the autoscaler decides how many of those threads may hold
+ * a browser at a time. A suite running its {@code <test>}s in parallel (e.g. one per browser)
+ * always gets at least one thread per test. Must be registered in the suite XML or on the
+ * TestNG instance.
+ */
+public class ConfigSuiteListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = ConfigReader.getInt("parallel.threads");
+        int dataProviderThreads = ConfigReader.getInt("parallel.dataprovider.threads");
+        if (ConfigReader.getBoolean("autoscale.enabled")) {
+            threads = ConfigReader.getInt("autoscale.max.sessions");
+            dataProviderThreads = threads;
+        }
+        for (XmlSuite suite : suites) {
+            int suiteThreads = suite.getParallel() == XmlSuite.ParallelMode.TESTS
+                    ? Math.max(threads, suite.getTests().size()) : threads;
+            suite.setThreadCount(suiteThreads);
+            suite.setDataProviderThreadCount(dataProviderThreads);
+            logger.info("Suite '{}': thread-count {}, data-provider-thread-count {}",
+                    suite.getName(), suiteThreads, dataProviderThreads);
+        }
+    }
+}
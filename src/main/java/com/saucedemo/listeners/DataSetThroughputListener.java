@@ -0,0 +1,80 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.data.DataSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Reports how many data set cases each {@link DataSet} method ran and the throughput in
+ * cases per second, measured from the first case starting to the last one finishing.
+ */
+public class DataSetThroughputListener implements ITestListener {
+    private static final Logger logger = LoggerFactory.getLogger(DataSetThroughputListener.class);
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        Stats s = stats(result);
+        if (s != null) {
+            s.firstStart.accumulate(result.getStartMillis());
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, true);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, false);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, false);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        stats.forEach((name, s) -> {
+            long cases = s.passed.get() + s.failed.get();
+            long elapsedMillis = Math.max(1, s.lastEnd.get() - s.firstStart.get());
+            logger.info("Data set '{}': {} cases ({} passed, {} failed/skipped) in {} ms - {} cases/sec",
+                    name, cases, s.passed.get(), s.failed.get(), elapsedMillis,
+                    String.format("%.2f", cases * 1000.0 / elapsedMillis));
+        });
+        stats.clear();
+    }
+
+    private void record(ITestResult result, boolean passed) {
+        Stats s = stats(result);
+        if (s != null) {
+            (passed ? s.passed : s.failed).incrementAndGet();
+            s.firstStart.accumulate(result.getStartMillis());
+            s.lastEnd.accumulate(result.getEndMillis());
+        }
+    }
+
+    private Stats stats(ITestResult result) {
+        Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        DataSet dataSet = method != null ? method.getAnnotation(DataSet.class) : null;
+        return dataSet != null ? stats.computeIfAbsent(dataSet.name(), k -> new Stats()) : null;
+    }
+
+    private static final class Stats {
+        final AtomicLong passed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    }
+}
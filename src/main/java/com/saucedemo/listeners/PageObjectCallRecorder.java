@@ -0,0 +1,67 @@
+package com.saucedemo.listeners;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Notes which page-object methods each thread's test reaches: every Allure {@code @Step} started
+ * from a page object is traced back through the stack to the page methods on it, recorded as
+ * {@code Page#method}. Registered through {@code META-INF/services} like {@link StepMdcListener};
+ * {@link TestImpactListener} collects the result per test.
+ */
+public class PageObjectCallRecorder implements StepLifecycleListener {
+    private static final String PAGES = "com.saucedemo.pages.";
+    private static final ThreadLocal<Set<String>> MEMBERS = ThreadLocal.withInitial(TreeSet::new);
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        MEMBERS.get().addAll(WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PAGES))
+                .map(frame -> member(frame.getClassName(), frame.getMethodName()))
+                .collect(Collectors.toSet())));
+    }
+
+    /**
+     * {@code Page#method} for a frame, with nested classes, lambdas and AspectJ's woven bodies
+     * folded into their method.
+     */
+    public static String member(String className, String methodName) {
+        String page = className.substring(PAGES.length());
+        int nested = page.indexOf('$');
+        if (nested >= 0) {
+            page = page.substring(0, nested);
+        }
+        String method = methodName;
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            method = end > 7 ? method.substring(7, end) : method;
+        }
+        int woven = method.indexOf("_aroundBody");
+        if (woven > 0) {
+            method = method.substring(0, woven);
+        }
+        return page + "#" + (method.equals("<init>") ? page : method);
+    }
+
+    /** Forgets what was reached on this thread so far. */
+    public static void reset() {
+        MEMBERS.get().clear();
+    }
+
+    /** The page-object members reached on this thread since the last reset. */
+    public static Set<String> drain() {
+        Set<String> members = MEMBERS.get();
+        if (members.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> drained = new TreeSet<>(members);
+        members.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,129 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.history.Quarantine;
+import com.saucedemo.history.RunHistory;
+import com.saucedemo.utils.ConfigReader;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Moves flaky tests, as scored from the {@link RunHistory} by {@link Quarantine}, out of the way
+ * of the others. {@code quarantine.mode} decides how:
+ * <ul>
+ *     <li>{@code defer} (default): quarantined tests run after all the others</li>
+ *     <li>{@code exclude}: they do not run, for a blocking phase that finishes faster</li>
+ *     <li>{@code only}: only they run, for the non-blocking phase after it</li>
+ *     <li>{@code off}: no quarantine</li>
+ * </ul>
+ * The decisions and scores are written to {@code quarantine.report.file}, and each quarantined
+ * test that runs is tagged {@code quarantined} in Allure with the reason attached.
+ */
+public class QuarantineListener implements IMethodInterceptor, ITestListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(QuarantineListener.class);
+    private static final Set<String> MODES = Set.of("off", "defer", "exclude", "only");
+
+    private final Map<String, String> reasons = new ConcurrentHashMap<>();
+    private volatile RunHistory history;
+
+    @Override
+    public void onStart(ISuite suite) {
+        history = null;
+        reasons.clear();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String mode = ConfigReader.getProperty("quarantine.mode");
+        if (!MODES.contains(mode)) {
+            throw new IllegalArgumentException("quarantine.mode must be one of " + MODES + ": " + mode);
+        }
+        if (mode.equals("off")) {
+            return methods;
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        methods.forEach(instance -> ids.add(ShardMethodInterceptor.methodId(instance.getMethod())));
+        Quarantine quarantine = Quarantine.evaluate(history(), ids, named(),
+                ConfigReader.getInt("quarantine.runs"), ConfigReader.getDouble("quarantine.flip.threshold"),
+                ConfigReader.getInt("quarantine.min.executions"));
+        quarantine.write(Paths.get(ConfigReader.getProperty("quarantine.report.file")));
+        quarantine.testIds().forEach(id -> reasons.put(id, quarantine.reason(id)));
+        if (quarantine.testIds().isEmpty()) {
+            return methods;
+        }
+        logger.info("'{}': {} of {} tests quarantined ({}): {}", context.getName(), quarantine.testIds().size(),
+                ids.size(), mode, quarantine.testIds());
+
+        List<IMethodInstance> regular = new ArrayList<>();
+        List<IMethodInstance> quarantined = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            (quarantine.contains(ShardMethodInterceptor.methodId(instance.getMethod())) ? quarantined : regular)
+                    .add(instance);
+        }
+        switch (mode) {
+            case "exclude":
+                return regular;
+            case "only":
+                return quarantined;
+            default:
+                regular.addAll(quarantined);
+                return regular;
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        report(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        report(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        report(result);
+    }
+
+    private void report(ITestResult result) {
+        String reason = reasons.get(ShardMethodInterceptor.methodId(result.getMethod()));
+        if (reason != null) {
+            Allure.label("tag", "quarantined");
+            Allure.addAttachment("Quarantine", "text/plain", reason, ".txt");
+        }
+    }
+
+    private RunHistory history() {
+        RunHistory opened = history;
+        if (opened == null) {
+            opened = RunHistory.open(Paths.get(ConfigReader.getProperty("history.dir")));
+            history = opened;
+        }
+        return opened;
+    }
+
+    private static Set<String> named() {
+        return Arrays.stream(ConfigReader.getProperty("quarantine.tests").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
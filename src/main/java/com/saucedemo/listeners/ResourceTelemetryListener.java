@@ -0,0 +1,126 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.execution.ProcStats;
+import com.saucedemo.execution.ResourceSampler;
+import com.saucedemo.metrics.ResourceUsage;
+import com.saucedemo.utils.ConfigReader;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Charges the CPU, memory and threads of each test's browser processes to the test and its steps
+ * (see {@link ResourceSampler}) from its setup to its teardown, attaches the summary to the test in
+ * Allure and writes all of them, with the test and step durations, to {@code resources.report.file}
+ * when the suite finishes.
+ * Off with {@code resources.enabled=false}, and wherever {@code /proc} is missing.
+ */
+public class ResourceTelemetryListener extends TestSpanListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceTelemetryListener.class);
+    private static final long MB = 1024 * 1024;
+    private final Queue<Row> rows = new ConcurrentLinkedQueue<>();
+
+    @Override
+    protected void spanStarted(ITestNGMethod testMethod, ITestResult result) {
+        if (ConfigReader.getBoolean("resources.enabled") && ProcStats.isAvailable()) {
+            String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+            ResourceSampler.begin(ShardMethodInterceptor.methodId(testMethod),
+                    browser != null ? browser : ConfigReader.getBrowser());
+        }
+    }
+
+    /** Runs after the teardown, whose Allure fixture is still open to take the attachment. */
+    @Override
+    protected void spanFinished(ITestResult testResult, long millis) {
+        ResourceUsage usage = ResourceSampler.finish();
+        if (usage == null || usage.getTotal().getSamples() == 0) {
+            return;
+        }
+        rows.add(new Row(usage, millis));
+        if (Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.addAttachment("Browser resources", "text/plain", summary(usage, millis), ".txt");
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<Row> finished = new ArrayList<>(rows);
+        rows.clear();
+        if (finished.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(ConfigReader.getProperty("resources.report.file"));
+        List<String> lines = new ArrayList<>();
+        lines.add("test,browser,step,duration_ms,cpu_ms,peak_rss_mb,mean_rss_mb,peak_threads,samples");
+        for (Row row : finished) {
+            ResourceUsage.Usage total = row.usage.getTotal();
+            lines.add(line(row.usage, "", row.durationMs, total));
+            row.usage.getSteps().forEach((step, usage) -> lines.add(line(row.usage, step, usage.getMillis(), usage)));
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write resource report " + file, e);
+        }
+        finished.sort(Comparator.comparingLong((Row row) -> row.usage.getTotal().getCpuMillis()).reversed());
+        for (Row row : finished.subList(0, Math.min(3, finished.size()))) {
+            ResourceUsage.Usage total = row.usage.getTotal();
+            logger.info("Browser CPU {} ms, peak RSS {} MB, peak threads {}: {} [{}]", total.getCpuMillis(),
+                    total.getPeakRss() / MB, total.getPeakThreads(), row.usage.getTestId(), row.usage.getBrowser());
+        }
+        logger.info("Resource usage of {} test(s) written to {}", finished.size(), file);
+    }
+
+    private static String summary(ResourceUsage usage, long durationMs) {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT, "%-40s %8s %8s %9s %9s %7s%n",
+                "step", "ms", "cpu ms", "peak MB", "mean MB", "threads"));
+        usage.getSteps().forEach((step, stepUsage) -> text.append(format(step, stepUsage.getMillis(), stepUsage)));
+        return text.append(format("(whole test)", durationMs, usage.getTotal())).toString();
+    }
+
+    private static String format(String name, long millis, ResourceUsage.Usage usage) {
+        return String.format(Locale.ROOT, "%-40.40s %8d %8d %9d %9d %7d%n", name, millis, usage.getCpuMillis(),
+                usage.getPeakRss() / MB, usage.getMeanRss() / MB, usage.getPeakThreads());
+    }
+
+    private static String line(ResourceUsage test, String step, long millis, ResourceUsage.Usage usage) {
+        return String.join(",", test.getTestId(), test.getBrowser(), csv(step), Long.toString(millis),
+                Long.toString(usage.getCpuMillis()), Long.toString(usage.getPeakRss() / MB),
+                Long.toString(usage.getMeanRss() / MB), Integer.toString(usage.getPeakThreads()),
+                Integer.toString(usage.getSamples()));
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static final class Row {
+        private final ResourceUsage usage;
+        private final long durationMs;
+
+        private Row(ResourceUsage usage, long durationMs) {
+            this.usage = usage;
+            this.durationMs = durationMs;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.history.RunHistory;
+import com.saucedemo.history.TestExecution;
+import com.saucedemo.utils.ConfigReader;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records every test invocation, with its browser, outcome and step timings, and appends them to
+ * the {@link RunHistory} when the suite finishes. The run id is {@code history.run.id} when set
+ * (shards of one launch share it), the suite's start time otherwise.
+ */
+public class RunHistoryListener implements ITestListener, ISuiteListener {
+    private final Queue<TestExecution> executions = new ConcurrentLinkedQueue<>();
+    private volatile long runId;
+
+    @Override
+    public void onStart(ISuite suite) {
+        String configured = ConfigReader.getProperty("history.run.id");
+        runId = configured.isEmpty() ? System.currentTimeMillis() : Long.parseLong(configured);
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        StepTimingListener.reset();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, TestExecution.Outcome.PASSED);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, TestExecution.Outcome.FAILED);
+    }
+
+    /** A failed attempt that is retried is reported as skipped, but is recorded as the failure it was. */
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, result.wasRetried() ? TestExecution.Outcome.FAILED : TestExecution.Outcome.SKIPPED);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (ConfigReader.getBoolean("history.enabled")) {
+            RunHistory.append(Paths.get(ConfigReader.getProperty("history.dir")), executions);
+        }
+        executions.clear();
+    }
+
+    private void record(ITestResult result, TestExecution.Outcome outcome) {
+        Map<String, Integer> steps = StepTimingListener.drain();
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        executions.add(new TestExecution(runId, ShardMethodInterceptor.methodId(result.getMethod()),
+                browser != null ? browser : ConfigReader.getBrowser(),
+                result.getEndMillis() - result.getStartMillis(), outcome, steps));
+    }
+}
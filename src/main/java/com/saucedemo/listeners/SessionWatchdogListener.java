@@ -0,0 +1,40 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.execution.BrowserProcesses;
+import com.saucedemo.execution.SessionWatchdog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+/**
+ * Puts every test and configuration method under the {@link SessionWatchdog}'s time limit, and
+ * reaps browsers orphaned by earlier runs (see {@link BrowserProcesses}) before a suite starts.
+ */
+public class SessionWatchdogListener implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(SessionWatchdogListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        int reaped = BrowserProcesses.reapOrphans();
+        if (reaped > 0) {
+            logger.warn("Killed {} browser process(es) orphaned by earlier runs", reaped);
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        SessionWatchdog.arm(method.getTestMethod().getRealClass().getSimpleName() + "."
+                + method.getTestMethod().getMethodName());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        SessionWatchdog.disarm();
+        // An interrupt meant for a method that finished anyway must not hit the next one
+        Thread.interrupted();
+    }
+}
@@ -0,0 +1,140 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.execution.DurationHistory;
+import com.saucedemo.utils.ConfigReader;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the smoke checks first (the {@code smoke} group and the methods named in
+ * {@code scheduler.smoke.tests}, in that order), then the rest by Allure {@link Severity},
+ * longest first within a level according to the duration history, so the most important and
+ * slowest tests start earliest. Must come before {@link QuarantineListener}, which defers
+ * quarantined tests behind this order.
+ * <p>
+ * Once a smoke check has failed for good (after any retry), {@code scheduler.fail.fast} decides
+ * what happens to the tests not yet started:
+ * <ul>
+ *     <li>{@code off} (default): they run as usual</li>
+ *     <li>{@code critical-only}: only BLOCKER and CRITICAL tests still run, the others are skipped</li>
+ *     <li>{@code abort}: all of them are skipped</li>
+ * </ul>
+ */
+public class SeverityScheduler implements IMethodInterceptor, IInvokedMethodListener, ITestListener,
+        ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(SeverityScheduler.class);
+    private static final Set<String> POLICIES = Set.of("off", "critical-only", "abort");
+
+    private volatile String failedSmokeCheck;
+
+    @Override
+    public void onStart(ISuite suite) {
+        failedSmokeCheck = null;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.getBoolean("scheduler.enabled")) {
+            return methods;
+        }
+        List<String> smoke = smokeTests();
+        Map<String, Long> durations = DurationHistory.load(Paths.get(ConfigReader.getProperty("shard.history.file")));
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator
+                .comparingInt((IMethodInstance instance) -> smokeRank(instance.getMethod(), smoke))
+                .thenComparingInt(instance -> severity(instance.getMethod()).ordinal())
+                .thenComparing(instance -> durations.getOrDefault(
+                        ShardMethodInterceptor.methodId(instance.getMethod()), 0L), Comparator.reverseOrder()));
+        logger.info("'{}' schedule: {}", context.getName(), ordered.stream()
+                .map(instance -> instance.getMethod().getMethodName() + " [" + severity(instance.getMethod()) + "]")
+                .distinct()
+                .collect(Collectors.joining(", ")));
+        return ordered;
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        if (failedSmokeCheck == null && isSmoke(result.getMethod(), smokeTests())) {
+            failedSmokeCheck = result.getMethod().getMethodName();
+            if (!policy().equals("off")) {
+                logger.error("Smoke check {} failed: fail-fast policy '{}' applies to the rest of the run",
+                        failedSmokeCheck, policy());
+            }
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        String failed = failedSmokeCheck;
+        if (failed == null || !method.isTestMethod() || isSmoke(method.getTestMethod(), smokeTests())) {
+            return;
+        }
+        String policy = policy();
+        if (policy.equals("abort") || (policy.equals("critical-only")
+                && severity(method.getTestMethod()).compareTo(SeverityLevel.CRITICAL) > 0)) {
+            throw new SkipException("Skipped by fail-fast policy '" + policy + "': smoke check " + failed
+                    + " failed");
+        }
+    }
+
+    private static String policy() {
+        String policy = ConfigReader.getProperty("scheduler.fail.fast");
+        if (!POLICIES.contains(policy)) {
+            throw new IllegalArgumentException("scheduler.fail.fast must be one of " + POLICIES + ": " + policy);
+        }
+        return policy;
+    }
+
+    private static List<String> smokeTests() {
+        return Arrays.stream(ConfigReader.getProperty("scheduler.smoke.tests").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isSmoke(ITestNGMethod method, List<String> smoke) {
+        return smokeRank(method, smoke) < Integer.MAX_VALUE;
+    }
+
+    /** Position among the smoke checks, or MAX_VALUE for any other test. */
+    private static int smokeRank(ITestNGMethod method, List<String> smoke) {
+        int named = smoke.indexOf(method.getMethodName());
+        if (named >= 0) {
+            return named;
+        }
+        return Arrays.asList(method.getGroups()).contains("smoke") ? smoke.size() : Integer.MAX_VALUE;
+    }
+
+    /** The method's Allure severity, or its class's, NORMAL when neither has one. */
+    private static SeverityLevel severity(ITestNGMethod method) {
+        Method reflected = method.getConstructorOrMethod().getMethod();
+        Severity severity = reflected != null ? reflected.getAnnotation(Severity.class) : null;
+        if (severity == null) {
+            severity = ((Class<?>) method.getRealClass()).getAnnotation(Severity.class);
+        }
+        return severity != null ? severity.value() : SeverityLevel.NORMAL;
+    }
+}
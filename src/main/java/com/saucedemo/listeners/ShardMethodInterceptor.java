@@ -0,0 +1,66 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.data.DataSet;
+import com.saucedemo.execution.DurationHistory;
+import com.saucedemo.execution.ShardPlan;
+import com.saucedemo.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps only this process's share of the test methods when {@code shard.count} is above one.
+ * The split comes from {@link ShardPlan} over the duration history in {@code shard.history.file}.
+ * {@link DataSet} methods are not assigned to a single shard: they run everywhere and each shard
+ * takes its own slice of the records.
+ */
+public class ShardMethodInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(ShardMethodInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int count = ConfigReader.getInt("shard.count");
+        if (count <= 1) {
+            return methods;
+        }
+        int index = ConfigReader.getInt("shard.index");
+
+        Set<String> ids = new LinkedHashSet<>();
+        for (IMethodInstance instance : methods) {
+            if (!isDataSetMethod(instance.getMethod())) {
+                ids.add(methodId(instance.getMethod()));
+            }
+        }
+        ShardPlan plan = ShardPlan.create(ids,
+                DurationHistory.load(Paths.get(ConfigReader.getProperty("shard.history.file"))), count);
+        logger.info("Test '{}' shard {}/{} using {}", context.getName(), index, count, plan);
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (isDataSetMethod(method) || plan.includes(methodId(method), index)) {
+                selected.add(instance);
+            }
+        }
+        return selected;
+    }
+
+    static String methodId(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    private static boolean isDataSetMethod(ITestNGMethod method) {
+        Method reflected = method.getConstructorOrMethod().getMethod();
+        return reflected != null && reflected.isAnnotationPresent(DataSet.class);
+    }
+}
@@ -0,0 +1,14 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.execution.RetryBudget;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/** Retries failed tests within the {@link RetryBudget}; attached to every test by {@link SmartRetryListener}. */
+public class SmartRetryAnalyzer implements IRetryAnalyzer {
+
+    @Override
+    public boolean retry(ITestResult result) {
+        return RetryBudget.shouldRetry(result);
+    }
+}
@@ -0,0 +1,79 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.execution.RetryBudget;
+import com.saucedemo.execution.WarmSessions;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.StatusDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Gives every test without a retry analyzer of its own the {@link SmartRetryAnalyzer}, marks
+ * tests that passed only on a retry as flaky in Allure, and reports how many retries ran and how
+ * long they took when the suite finishes. Must be registered in the suite XML or on the TestNG
+ * instance, as annotation transformers are.
+ */
+public class SmartRetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(SmartRetryListener.class);
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+                          Method testMethod) {
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(SmartRetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        RetryBudget.reset();
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        RetryBudget.start(result);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        int attempt = RetryBudget.attempt(result);
+        if (attempt > 0) {
+            logger.warn("{} passed on retry {}", result.getName(), attempt);
+            Allure.label("tag", "passed-on-retry");
+            Allure.getLifecycle().updateTestCase(testCase -> {
+                StatusDetails details = testCase.getStatusDetails() != null
+                        ? testCase.getStatusDetails() : new StatusDetails();
+                testCase.setStatusDetails(details.setFlaky(true)
+                        .setMessage("Passed on retry " + attempt + " after failing"));
+            });
+        }
+        RetryBudget.finish(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        RetryBudget.finish(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        RetryBudget.finish(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        WarmSessions.closeAll();
+        logger.info("Suite '{}' retries: {}", suite.getName(), RetryBudget.summary());
+    }
+}
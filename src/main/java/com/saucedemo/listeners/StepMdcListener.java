@@ -0,0 +1,35 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.logging.LogContext;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Publishes the name of the innermost running Allure {@code @Step} to the MDC.
+ * Registered through {@code META-INF/services}, so it sees every step woven by AspectJ.
+ */
+public class StepMdcListener implements StepLifecycleListener {
+    private static final ThreadLocal<Deque<String>> STEPS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void afterStepStart(StepResult result) {
+        Deque<String> steps = STEPS.get();
+        steps.push(result.getName());
+        MDC.put(LogContext.STEP, result.getName());
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        Deque<String> steps = STEPS.get();
+        steps.poll();
+        if (steps.isEmpty()) {
+            MDC.remove(LogContext.STEP);
+        } else {
+            MDC.put(LogContext.STEP, steps.peek());
+        }
+    }
+}
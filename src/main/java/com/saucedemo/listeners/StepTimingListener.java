@@ -0,0 +1,57 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.execution.ResourceSampler;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Times the top-level Allure {@code @Step}s run on each thread, adding up repeated steps, for
+ * {@link RunHistoryListener} to store with the test, and tells the {@link ResourceSampler} which
+ * one is running. Nested steps are part of their parent's time.
+ * Registered through {@code META-INF/services} like {@link StepMdcListener}.
+ */
+public class StepTimingListener implements StepLifecycleListener {
+    private static final ThreadLocal<Map<String, Integer>> STEPS = ThreadLocal.withInitial(LinkedHashMap::new);
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public void afterStepStart(StepResult result) {
+        if (DEPTH.get()[0]++ == 0) {
+            ResourceSampler.stepStarted();
+        }
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        int[] depth = DEPTH.get();
+        depth[0] = Math.max(0, depth[0] - 1);
+        if (depth[0] == 0) {
+            ResourceSampler.stepFinished(result.getName());
+            if (result.getStart() != null && result.getStop() != null) {
+                int millis = (int) Math.max(0, result.getStop() - result.getStart());
+                STEPS.get().merge(result.getName(), millis, Integer::sum);
+            }
+        }
+    }
+
+    /** Forgets the steps timed so far on this thread. */
+    public static void reset() {
+        STEPS.get().clear();
+        DEPTH.get()[0] = 0;
+    }
+
+    /** The steps timed on this thread since the last reset, in the order they first ran. */
+    public static Map<String, Integer> drain() {
+        Map<String, Integer> steps = STEPS.get();
+        if (steps.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> drained = new LinkedHashMap<>(steps);
+        steps.clear();
+        return drained;
+    }
+}
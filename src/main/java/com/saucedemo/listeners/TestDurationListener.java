@@ -0,0 +1,38 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.execution.DurationHistory;
+import com.saucedemo.utils.ConfigReader;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adds up how long each test method took across all its invocations, setup and teardown
+ * included, and folds the totals into the duration history when the suite finishes;
+ * {@link ShardMethodInterceptor} balances later runs from it.
+ */
+public class TestDurationListener extends TestSpanListener implements ISuiteListener {
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    @Override
+    protected void spanStarted(ITestNGMethod testMethod, ITestResult result) {
+    }
+
+    @Override
+    protected void spanFinished(ITestResult testResult, long millis) {
+        if (testResult.getStatus() == ITestResult.SUCCESS || testResult.getStatus() == ITestResult.FAILURE) {
+            durations.merge(ShardMethodInterceptor.methodId(testResult.getMethod()), millis, Long::sum);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DurationHistory.record(Paths.get(ConfigReader.getProperty("shard.history.file")), durations);
+        durations.clear();
+    }
+}
@@ -0,0 +1,168 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.impact.ChangeSet;
+import com.saucedemo.impact.ImpactMap;
+import com.saucedemo.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Test impact analysis. Every run records in {@code impact.map.file} which page-object methods
+ * each test reached (see {@link PageObjectCallRecorder}). With {@code impact.base} set to a git
+ * ref, e.g. {@code origin/main}, only the tests affected by the changes since that ref run:
+ * <ul>
+ *     <li>tests that reached a changed page-object method</li>
+ *     <li>tests that reached a page whose fields, or whose methods without a {@code @Step} of
+ *     their own, changed; a change to {@code BasePage} affects every test that reached a page</li>
+ *     <li>every test of a changed test class, and tests the map does not know yet</li>
+ * </ul>
+ * Any change outside the page objects and tests (other than the {@code impact.ignore} globs), a
+ * missing map or a git failure runs the full suite instead. When nothing is affected only the
+ * smoke checks of {@code scheduler.smoke.tests} run.
+ */
+public class TestImpactListener implements IMethodInterceptor, ITestListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(TestImpactListener.class);
+    private static final String BASE_PAGE = "BasePage";
+
+    private final Map<String, Set<String>> complete = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> partial = new ConcurrentHashMap<>();
+    private volatile ChangeSet changes;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String base = ConfigReader.getProperty("impact.base");
+        if (base.isEmpty()) {
+            return methods;
+        }
+        Map<String, Set<String>> map = ImpactMap.load(mapFile());
+        if (map.isEmpty()) {
+            logger.warn("No impact map in {} yet: running all tests", mapFile());
+            return methods;
+        }
+        ChangeSet changeSet = changes(base);
+        if (changeSet.getUnsafeReason() != null) {
+            logger.warn("Running all tests: {}", changeSet.getUnsafeReason());
+            return methods;
+        }
+
+        Set<String> changedPages = changeSet.getPageMembers().stream()
+                .map(member -> member.substring(0, member.indexOf('#')))
+                .collect(Collectors.toSet());
+        Set<String> entryPoints = map.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+        // A changed method no test reached through a step is a helper: the whole page is affected
+        Set<String> wholePages = changeSet.getPageMembers().stream()
+                .filter(member -> member.endsWith("#*") || !entryPoints.contains(member))
+                .map(member -> member.substring(0, member.indexOf('#')))
+                .collect(Collectors.toSet());
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        Set<String> reasons = new TreeSet<>();
+        for (IMethodInstance instance : methods) {
+            String id = ShardMethodInterceptor.methodId(instance.getMethod());
+            Set<String> reached = map.get(id);
+            String reason = null;
+            if (changeSet.getTestClasses().contains(instance.getMethod().getRealClass().getName())) {
+                reason = "test class changed";
+            } else if (reached == null) {
+                reason = "not in the impact map";
+            } else {
+                for (String member : reached) {
+                    String page = member.substring(0, member.indexOf('#'));
+                    if (changeSet.getPageMembers().contains(member) || wholePages.contains(page)
+                            || wholePages.contains(BASE_PAGE)) {
+                        reason = "reaches " + (changeSet.getPageMembers().contains(member) ? member : page);
+                        break;
+                    }
+                }
+            }
+            if (reason != null) {
+                selected.add(instance);
+                reasons.add(instance.getMethod().getMethodName() + " (" + reason + ")");
+            }
+        }
+        if (selected.isEmpty()) {
+            Set<String> smoke = new HashSet<>(Arrays.asList(ConfigReader.getProperty("scheduler.smoke.tests").split(",")));
+            methods.stream().filter(instance -> smoke.contains(instance.getMethod().getMethodName()))
+                    .forEach(selected::add);
+            logger.info("'{}': no test affected by the changes since {} ({}), running the {} smoke checks",
+                    context.getName(), base, changedPages.isEmpty() ? "no page changed" : changedPages, selected.size());
+            return selected;
+        }
+        logger.info("'{}': {} of {} tests affected by the changes since {}: {}", context.getName(), selected.size(),
+                methods.size(), base, reasons);
+        return selected;
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        PageObjectCallRecorder.reset();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(complete, result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(partial, result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(partial, result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (ConfigReader.getBoolean("impact.record")) {
+            complete.keySet().forEach(partial::remove);
+            ImpactMap.record(mapFile(), complete, partial);
+        }
+        complete.clear();
+        partial.clear();
+    }
+
+    private static void record(Map<String, Set<String>> into, ITestResult result) {
+        Set<String> reached = PageObjectCallRecorder.drain();
+        into.computeIfAbsent(ShardMethodInterceptor.methodId(result.getMethod()),
+                id -> Collections.synchronizedSet(new TreeSet<>())).addAll(reached);
+    }
+
+    private ChangeSet changes(String base) {
+        ChangeSet changeSet = changes;
+        if (changeSet == null) {
+            changeSet = ChangeSet.since(base, Arrays.stream(ConfigReader.getProperty("impact.ignore").split(","))
+                    .map(String::trim)
+                    .filter(pattern -> !pattern.isEmpty())
+                    .collect(Collectors.toList()));
+            logger.info("Changes since {}: {}", base, changeSet);
+            changes = changeSet;
+        }
+        return changeSet;
+    }
+
+    private static Path mapFile() {
+        return Paths.get(ConfigReader.getProperty("impact.map.file"));
+    }
+}
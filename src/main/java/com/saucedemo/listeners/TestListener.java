@@ -1,23 +1,60 @@
 package com.saucedemo.listeners;
 
 import com.saucedemo.base.BaseTest;
+import com.saucedemo.execution.AdaptiveConcurrencyController;
+import com.saucedemo.execution.RemoteSessionPool;
+import com.saucedemo.execution.SessionWatchdog;
+import com.saucedemo.logging.LogContext;
+import com.saucedemo.logging.TestLogBufferAppender;
+import com.saucedemo.utils.ConfigReader;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.testng.ITestListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 
-public class TestListener implements ITestListener {
+/**
+ * Logs test outcomes and screenshots failures. It also scopes the log context and the per-test
+ * log buffer to the test's span (see {@link TestSpanListener}), so the setup and teardown lines
+ * are kept with the test's own.
+ */
+public class TestListener extends TestSpanListener {
     private static final Logger logger = LoggerFactory.getLogger(TestListener.class);
 
+    @Override
+    protected void spanStarted(ITestNGMethod testMethod, ITestResult result) {
+        String testId = ShardMethodInterceptor.methodId(testMethod);
+        LogContext.begin(testId, browser(result));
+        TestLogBufferAppender.open(bufferKey(testId));
+    }
+
+    /**
+     * Attaches the buffered lines to the report when the test failed and ends the log context.
+     * After a teardown, Allure's fixture for it is still open and takes the attachment.
+     */
+    @Override
+    protected void spanFinished(ITestResult testResult, long millis) {
+        String key = bufferKey(ShardMethodInterceptor.methodId(testResult.getMethod()));
+        if (testResult.getStatus() == ITestResult.FAILURE) {
+            Allure.addAttachment("Test Log", "text/plain", TestLogBufferAppender.drain(key), ".log");
+        } else {
+            TestLogBufferAppender.discard(key);
+        }
+        LogContext.end();
+    }
+
     @Override
     public void onTestStart(ITestResult result) {
+        super.onTestStart(result);
         logger.info("Starting test: {}", result.getMethod().getMethodName());
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
         logger.info("Test passed: {}", result.getMethod().getMethodName());
+        super.onTestSuccess(result);
     }
 
     @Override
@@ -26,19 +63,50 @@ public class TestListener implements ITestListener {
                 result.getThrowable().getMessage());
 
         Object testClass = result.getInstance();
-        if (testClass instanceof BaseTest) {
+        if (testClass instanceof BaseTest && ConfigReader.getBoolean("screenshot.on.failure")) {
             BaseTest baseTest = (BaseTest) testClass;
-            attachScreenshot(baseTest.takeScreenshot());
+            // A session the watchdog killed has nothing left to screenshot
+            if (!SessionWatchdog.wasKilled(baseTest.getDriver())) {
+                attachScreenshot(baseTest.takeScreenshot());
+            }
         }
+        super.onTestFailure(result);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
         logger.warn("Test skipped: {}", result.getMethod().getMethodName());
+        super.onTestSkipped(result);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        String browser = context.getCurrentXmlTest().getParameter("browser");
+        if (browser == null) {
+            browser = ConfigReader.getBrowser();
+        }
+        logger.info("'{}' finished on {}: {} passed, {} failed, {} skipped", context.getName(), browser,
+                context.getPassedTests().size(), context.getFailedTests().size(), context.getSkippedTests().size());
+        if (ConfigReader.getBoolean("autoscale.enabled")) {
+            logger.info("Browser sessions for '{}': {}", context.getName(),
+                    AdaptiveConcurrencyController.forBrowser(browser).summary());
+        }
+        if (RemoteSessionPool.isEnabled()) {
+            logger.info("Grid sessions after '{}': {}", context.getName(), RemoteSessionPool.shared().summary());
+        }
     }
 
     @Attachment(value = "Failure Screenshot", type = "image/png")
     private byte[] attachScreenshot(byte[] screenshot) {
         return screenshot;
     }
-}
\ No newline at end of file
+
+    private static String bufferKey(String testId) {
+        return LogContext.bufferKey(testId, Thread.currentThread().getName());
+    }
+
+    private static String browser(ITestResult result) {
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        return browser != null ? browser : ConfigReader.getBrowser();
+    }
+}
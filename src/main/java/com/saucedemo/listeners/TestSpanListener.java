@@ -0,0 +1,111 @@
+package com.saucedemo.listeners;
+
+import org.testng.IConfigurationListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * Follows each test from the start of its first {@code @BeforeMethod} to the end of its
+ * {@code @AfterMethod}, the time a test really costs a worker: browser start, login and
+ * cleanup included. A test without setup or teardown methods is followed from its own start or
+ * to its own end instead.
+ */
+abstract class TestSpanListener implements ITestListener, IConfigurationListener, IInvokedMethodListener {
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    /** The test's span opened on the calling thread. */
+    protected abstract void spanStarted(ITestNGMethod testMethod, ITestResult result);
+
+    /**
+     * The span of the test that ended with {@code testResult} closed on the calling thread,
+     * {@code millis} after it opened.
+     */
+    protected abstract void spanFinished(ITestResult testResult, long millis);
+
+    @Override
+    public void beforeConfiguration(ITestResult result, ITestNGMethod testMethod) {
+        if (testMethod != null && result.getMethod().isBeforeMethodConfiguration()) {
+            start(testMethod, result);
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        start(result.getMethod(), result);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        testFinished(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        testFinished(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        testFinished(result);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.getTestMethod().isAfterMethodConfiguration()) {
+            finish();
+        }
+    }
+
+    /** A teardown skipped after a failed setup ends the span as well. */
+    @Override
+    public void onConfigurationSkip(ITestResult result, ITestNGMethod testMethod) {
+        if (result.getMethod().isAfterMethodConfiguration()) {
+            finish();
+        }
+    }
+
+    private void start(ITestNGMethod testMethod, ITestResult result) {
+        String methodId = ShardMethodInterceptor.methodId(testMethod);
+        Span span = current.get();
+        if (span != null && span.methodId.equals(methodId) && span.testResult == null) {
+            return;
+        }
+        // A span still open here lost its teardown; report what it has before moving on
+        finish();
+        current.set(new Span(methodId, System.currentTimeMillis()));
+        spanStarted(testMethod, result);
+    }
+
+    private void testFinished(ITestResult result) {
+        Span span = current.get();
+        if (span == null) {
+            return;
+        }
+        span.testResult = result;
+        if (result.getMethod().getTestClass().getAfterTestMethods().length == 0) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        Span span = current.get();
+        current.remove();
+        if (span != null && span.testResult != null) {
+            spanFinished(span.testResult, System.currentTimeMillis() - span.started);
+        }
+    }
+
+    private static final class Span {
+        private final String methodId;
+        private final long started;
+        private ITestResult testResult;
+
+        private Span(String methodId, long started) {
+            this.methodId = methodId;
+            this.started = started;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.saucedemo.load;
+
+import com.saucedemo.metrics.LatencyHistogram;
+import com.saucedemo.utils.DriverManager;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * At most {@code capacity} browser sessions shared by any number of virtual users. Sessions are
+ * started on demand, handed out idle-first, and a session that failed is quit and replaced
+ * rather than reused. Time spent waiting for a session is recorded.
+ */
+final class BrowserPool implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+
+    private final int capacity;
+    private final String browser;
+    private final boolean headless;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+    private final Deque<WebDriver> idle = new ArrayDeque<>();
+    private final List<WebDriver> all = new ArrayList<>();
+    private final LatencyHistogram waitMillis = new LatencyHistogram();
+    private int starting;
+    private boolean closed;
+
+    BrowserPool(int capacity, String browser, boolean headless) {
+        this.capacity = capacity;
+        this.browser = browser;
+        this.headless = headless;
+    }
+
+    WebDriver borrow() throws InterruptedException {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            while (idle.isEmpty() && all.size() + starting >= capacity && !closed) {
+                available.await();
+            }
+            if (closed) {
+                throw new IllegalStateException("Browser pool is closed");
+            }
+            WebDriver driver = idle.pollFirst();
+            if (driver != null) {
+                waitMillis.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return driver;
+            }
+            starting++;
+        } finally {
+            lock.unlock();
+        }
+
+        WebDriver driver = null;
+        try {
+            driver = DriverManager.createDriver(browser, headless);
+            return driver;
+        } finally {
+            lock.lock();
+            try {
+                starting--;
+                if (driver != null) {
+                    all.add(driver);
+                } else {
+                    available.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+            waitMillis.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Returns a session; an unhealthy one is quit so the next borrower gets a fresh browser.
+     */
+    void release(WebDriver driver, boolean healthy) {
+        boolean keep;
+        lock.lock();
+        try {
+            keep = healthy && !closed;
+            if (keep) {
+                idle.addFirst(driver);
+            } else {
+                all.remove(driver);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (!keep) {
+            quit(driver);
+        }
+    }
+
+    LatencyHistogram getWaitMillis() {
+        return waitMillis.copy();
+    }
+
+    @Override
+    public void close() {
+        List<WebDriver> drivers;
+        lock.lock();
+        try {
+            closed = true;
+            drivers = new ArrayList<>(all);
+            all.clear();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        drivers.forEach(BrowserPool::quit);
+        logger.info("Closed {} pooled browser session(s)", drivers.size());
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error closing pooled browser: {}", e.getMessage());
+        }
+    }
+}
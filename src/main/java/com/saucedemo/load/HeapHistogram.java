@@ -0,0 +1,66 @@
+package com.saucedemo.load;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Live-object class histogram of this JVM, as {@code jcmd <pid> GC.class_histogram} prints it,
+ * taken in-process through the {@code DiagnosticCommand} MBean. Taking one runs a full GC.
+ */
+final class HeapHistogram {
+    private static final Pattern ROW = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+(\\d+)\\s+(.+?)\\s*$");
+
+    private final String text;
+    private final Map<String, long[]> classes = new HashMap<>();
+
+    private HeapHistogram(String text) {
+        this.text = text;
+        for (String line : text.split("\\R")) {
+            Matcher row = ROW.matcher(line);
+            if (row.matches()) {
+                classes.put(row.group(3), new long[]{Long.parseLong(row.group(1)), Long.parseLong(row.group(2))});
+            }
+        }
+    }
+
+    static HeapHistogram capture() {
+        try {
+            Object output = ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+                    new Object[]{new String[0]}, new String[]{String[].class.getName()});
+            return new HeapHistogram(String.valueOf(output));
+        } catch (JMException e) {
+            throw new IllegalStateException("This JVM cannot take a class histogram", e);
+        }
+    }
+
+    String getText() {
+        return text;
+    }
+
+    /** The {@code limit} classes whose live bytes grew most from {@code earlier} to this one. */
+    List<String> topGrowth(HeapHistogram earlier, int limit) {
+        List<Map.Entry<String, long[]>> growth = new ArrayList<>();
+        classes.forEach((name, now) -> {
+            long[] before = earlier.classes.getOrDefault(name, new long[2]);
+            if (now[1] > before[1]) {
+                growth.add(Map.entry(name, new long[]{now[0] - before[0], now[1] - before[1]}));
+            }
+        });
+        growth.sort(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed());
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : growth.subList(0, Math.min(limit, growth.size()))) {
+            lines.add(String.format("%+12d bytes %+10d instances  %s", entry.getValue()[1], entry.getValue()[0],
+                    entry.getKey()));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,22 @@
+package com.saucedemo.load;
+
+/**
+ * Receives the timings of {@link PurchaseJourney} steps and whole journeys. Implementations must
+ * be thread-safe when one recorder is shared by several users.
+ */
+public interface JourneyRecorder {
+    /** Discards everything, e.g. for warm-up journeys. */
+    JourneyRecorder NONE = new JourneyRecorder() {
+        @Override
+        public void recordStep(String step, long millis, boolean ok) {
+        }
+
+        @Override
+        public void recordJourney(long millis, boolean ok) {
+        }
+    };
+
+    void recordStep(String step, long millis, boolean ok);
+
+    void recordJourney(long millis, boolean ok);
+}
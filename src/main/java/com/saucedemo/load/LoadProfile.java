@@ -0,0 +1,142 @@
+package com.saucedemo.load;
+
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.TestDataReader;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Shape of a load run, read from the {@code load.*} settings: how many virtual users, for how
+ * long or how many journeys each, how quickly they start, how long they pause between steps and
+ * how many browsers they share. Zero {@code load.duration} or {@code load.iterations} means
+ * "no limit", but at least one of them must be set.
+ */
+public final class LoadProfile {
+    private final int users;
+    private final Duration duration;
+    private final int iterations;
+    private final Duration rampUp;
+    private final Duration thinkTime;
+    private final Duration thinkJitter;
+    private final int browsers;
+    private final String browser;
+    private final boolean headless;
+    private final String username;
+    private final String password;
+    private final long seed;
+    private final double maxErrorRate;
+    private final Path reportDir;
+
+    private LoadProfile(int users, Duration duration, int iterations, Duration rampUp, Duration thinkTime,
+                        Duration thinkJitter, int browsers, String browser, boolean headless, String username,
+                        String password, long seed, double maxErrorRate, Path reportDir) {
+        if (users < 1) {
+            throw new IllegalArgumentException("load.users must be at least 1: " + users);
+        }
+        if (duration.isZero() && iterations <= 0) {
+            throw new IllegalArgumentException("Set load.duration or load.iterations, otherwise the run never ends");
+        }
+        this.users = users;
+        this.duration = duration;
+        this.iterations = iterations;
+        this.rampUp = rampUp;
+        this.thinkTime = thinkTime;
+        this.thinkJitter = thinkJitter;
+        this.browsers = browsers > 0 ? Math.min(browsers, users) : users;
+        this.browser = browser;
+        this.headless = headless;
+        this.username = username;
+        this.password = password;
+        this.seed = seed;
+        this.maxErrorRate = maxErrorRate;
+        this.reportDir = reportDir;
+    }
+
+    public static LoadProfile fromConfig() {
+        String username = ConfigReader.getProperty("load.username").trim();
+        String password = ConfigReader.getProperty("load.password").trim();
+        return new LoadProfile(
+                ConfigReader.getInt("load.users"),
+                ConfigReader.getDuration("load.duration"),
+                ConfigReader.getInt("load.iterations"),
+                ConfigReader.getDuration("load.rampup"),
+                ConfigReader.getDuration("load.think.time"),
+                ConfigReader.getDuration("load.think.jitter"),
+                ConfigReader.getInt("load.browsers"),
+                ConfigReader.getBrowser(),
+                ConfigReader.getBoolean("load.headless"),
+                username.isEmpty() ? TestDataReader.getData().getCredentials().getUsername() : username,
+                password.isEmpty() ? TestDataReader.getData().getCredentials().getPassword() : password,
+                ConfigReader.getLong("load.seed"),
+                ConfigReader.getDouble("load.max.error.rate"),
+                Paths.get(ConfigReader.getProperty("load.report.dir")));
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public Duration getThinkJitter() {
+        return thinkJitter;
+    }
+
+    public int getBrowsers() {
+        return browsers;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    public Path getReportDir() {
+        return reportDir;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d users on %d %s browser(s), %s, ramp-up %d s, think %d ms (+%d ms jitter), user %s",
+                users, browsers, browser,
+                (duration.isZero() ? "" : duration.getSeconds() + " s")
+                        + (!duration.isZero() && iterations > 0 ? " or " : "")
+                        + (iterations > 0 ? iterations + " journeys each" : ""),
+                rampUp.getSeconds(), thinkTime.toMillis(), thinkJitter.toMillis(), username);
+    }
+}
@@ -0,0 +1,153 @@
+package com.saucedemo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saucedemo.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-step and per-journey outcome counts and latency histograms of a load run, plus the summary
+ * written at the end ({@code summary.txt} and {@code summary.json}). Latency percentiles cover
+ * successful executions only; throughput is successful executions per second of the whole run.
+ */
+public final class LoadReport implements JourneyRecorder {
+    static final String JOURNEY = "journey";
+
+    private final Map<String, Outcomes> steps;
+    private final Outcomes journeys = new Outcomes();
+    private LatencyHistogram browserWaitMillis = new LatencyHistogram();
+    private double elapsedSeconds;
+
+    LoadReport(List<String> stepNames) {
+        Map<String, Outcomes> map = new LinkedHashMap<>();
+        for (String name : stepNames) {
+            map.put(name, new Outcomes());
+        }
+        this.steps = Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public void recordStep(String step, long millis, boolean ok) {
+        Outcomes outcomes = steps.get(step);
+        if (outcomes == null) {
+            throw new IllegalArgumentException("Unknown journey step: " + step);
+        }
+        outcomes.record(millis, ok);
+    }
+
+    @Override
+    public void recordJourney(long millis, boolean ok) {
+        journeys.record(millis, ok);
+    }
+
+    void finish(double elapsedSeconds, LatencyHistogram browserWaitMillis) {
+        this.elapsedSeconds = elapsedSeconds;
+        this.browserWaitMillis = browserWaitMillis;
+    }
+
+    public long getJourneys() {
+        return journeys.ok.sum() + journeys.failed.sum();
+    }
+
+    public double getErrorRate() {
+        long total = getJourneys();
+        return total == 0 ? 0 : (double) journeys.failed.sum() / total;
+    }
+
+    public LatencyHistogram getStepMillis(String step) {
+        return steps.get(step).millis.copy();
+    }
+
+    public String toText(LoadProfile profile) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Load run: %s%n", profile));
+        text.append(String.format("Elapsed %.1f s, %d journeys, error rate %.2f%%, browser wait ms: %s%n%n",
+                elapsedSeconds, getJourneys(), getErrorRate() * 100, browserWaitMillis.summary()));
+        text.append(String.format("%-14s %7s %7s %9s %9s %8s %8s %8s %8s %8s%n",
+                "step", "ok", "failed", "per sec", "mean ms", "p50", "p90", "p95", "p99", "max"));
+        for (Map.Entry<String, Outcomes> step : steps.entrySet()) {
+            text.append(row(step.getKey(), step.getValue()));
+        }
+        text.append(row(JOURNEY, journeys));
+        return text.toString();
+    }
+
+    private String row(String name, Outcomes outcomes) {
+        LatencyHistogram millis = outcomes.millis.copy();
+        return String.format("%-14s %7d %7d %9.2f %9.1f %8d %8d %8d %8d %8d%n",
+                name, outcomes.ok.sum(), outcomes.failed.sum(), throughput(outcomes), millis.mean(),
+                millis.percentile(50), millis.percentile(90), millis.percentile(95), millis.percentile(99),
+                millis.max());
+    }
+
+    /** Writes {@code summary.txt} and {@code summary.json} to {@code dir}. */
+    public void write(Path dir, LoadProfile profile) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("profile", profile.toString());
+        json.put("elapsedSeconds", elapsedSeconds);
+        json.put("errorRate", getErrorRate());
+        json.put("browserWaitMs", histogram(browserWaitMillis));
+        Map<String, Object> stepJson = new LinkedHashMap<>();
+        for (Map.Entry<String, Outcomes> step : steps.entrySet()) {
+            stepJson.put(step.getKey(), outcomesJson(step.getValue()));
+        }
+        json.put("steps", stepJson);
+        json.put(JOURNEY, outcomesJson(journeys));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("summary.txt"), toText(profile).getBytes(StandardCharsets.UTF_8));
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(dir.resolve("summary.json").toFile(), json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write load report to " + dir, e);
+        }
+    }
+
+    private Map<String, Object> outcomesJson(Outcomes outcomes) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("ok", outcomes.ok.sum());
+        json.put("failed", outcomes.failed.sum());
+        json.put("throughputPerSecond", throughput(outcomes));
+        json.put("latencyMs", histogram(outcomes.millis.copy()));
+        return json;
+    }
+
+    private static Map<String, Object> histogram(LatencyHistogram millis) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("count", millis.count());
+        json.put("mean", millis.mean());
+        json.put("p50", millis.percentile(50));
+        json.put("p90", millis.percentile(90));
+        json.put("p95", millis.percentile(95));
+        json.put("p99", millis.percentile(99));
+        json.put("max", millis.max());
+        return json;
+    }
+
+    private double throughput(Outcomes outcomes) {
+        return elapsedSeconds > 0 ? outcomes.ok.sum() / elapsedSeconds : 0;
+    }
+
+    private static final class Outcomes {
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LatencyHistogram millis = new LatencyHistogram();
+
+        void record(long elapsedMillis, boolean success) {
+            if (success) {
+                ok.increment();
+                millis.record(elapsedMillis);
+            } else {
+                failed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.saucedemo.load;
+
+import com.saucedemo.standin.SwagLabsServer;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load mode: {@code load.users} virtual users repeat the purchase journey against
+ * {@code base.url} (best pointed at the local stand-in, {@code base.url=standin}) until
+ * {@code load.duration} has passed or each has done {@code load.iterations} journeys. Users start
+ * evenly spread over {@code load.rampup} and share at most {@code load.browsers} headless
+ * browsers; a journey in progress when the duration ends is allowed to finish.
+ * <p>
+ * Each user runs on a virtual thread when the JVM has them (Java 21+), otherwise on a platform
+ * thread; either way the browser pool is what bounds concurrency. The summary is logged and
+ * written to {@code load.report.dir}; the exit status is 1 when no journey ran or the journey
+ * error rate exceeds {@code load.max.error.rate}.
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.saucedemo.load.LoadRunner -Dexec.classpathScope=test \
+ *     -Dconfig.profile=offline -Dload.users=8 -Dload.duration=2m
+ * </pre>
+ */
+public final class LoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    private LoadRunner() {
+    }
+
+    public static void main(String[] args) {
+        LoadProfile profile = LoadProfile.fromConfig();
+        LoadReport report = run(profile, SwagLabsServer.resolveBaseUrl());
+        report.write(profile.getReportDir(), profile);
+        logger.info("Load summary (also in {}):{}{}", profile.getReportDir(), System.lineSeparator(),
+                report.toText(profile));
+        System.exit(report.getJourneys() == 0 || report.getErrorRate() > profile.getMaxErrorRate() ? 1 : 0);
+    }
+
+    public static LoadReport run(LoadProfile profile, String baseUrl) {
+        logger.info("Starting load run against {}: {}", baseUrl, profile);
+        LoadReport report = new LoadReport(PurchaseJourney.STEPS);
+        PurchaseJourney journey = new PurchaseJourney(profile, baseUrl, report);
+        long start = System.nanoTime();
+        long deadline = profile.getDuration().isZero() ? Long.MAX_VALUE : start + profile.getDuration().toNanos();
+
+        try (BrowserPool pool = new BrowserPool(profile.getBrowsers(), profile.getBrowser(), profile.isHeadless())) {
+            ExecutorService users = newUserExecutor();
+            SplittableRandom seeds = new SplittableRandom(profile.getSeed());
+            for (int user = 0; user < profile.getUsers(); user++) {
+                long startAt = start + profile.getRampUp().toNanos() * user / profile.getUsers();
+                VirtualUser virtualUser = new VirtualUser(user, startAt, deadline, profile, journey, pool,
+                        report, seeds.split());
+                users.execute(virtualUser::run);
+            }
+            users.shutdown();
+            try {
+                users.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                users.shutdownNow();
+            }
+            report.finish((System.nanoTime() - start) / 1e9, pool.getWaitMillis());
+        }
+        return report;
+    }
+
+    private static ExecutorService newUserExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            logger.info("Virtual users run on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            logger.info("Virtual threads need Java 21+; virtual users run on platform threads");
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "load-user-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static final class VirtualUser {
+        private final int id;
+        private final long startAt;
+        private final long deadline;
+        private final LoadProfile profile;
+        private final PurchaseJourney journey;
+        private final BrowserPool pool;
+        private final LoadReport report;
+        private final SplittableRandom random;
+
+        VirtualUser(int id, long startAt, long deadline, LoadProfile profile, PurchaseJourney journey,
+                    BrowserPool pool, LoadReport report, SplittableRandom random) {
+            this.id = id;
+            this.startAt = startAt;
+            this.deadline = deadline;
+            this.profile = profile;
+            this.journey = journey;
+            this.pool = pool;
+            this.report = report;
+            this.random = random;
+        }
+
+        void run() {
+            try {
+                TimeUnit.NANOSECONDS.sleep(startAt - System.nanoTime());
+                int done = 0;
+                while ((profile.getIterations() <= 0 || done < profile.getIterations())
+                        && System.nanoTime() < deadline) {
+                    WebDriver driver = pool.borrow();
+                    boolean healthy = false;
+                    try {
+                        journey.run(driver, random);
+                        healthy = true;
+                    } catch (RuntimeException e) {
+                        logger.warn("User {} journey {} failed: {}", id, done + 1, e.getMessage());
+                    } finally {
+                        pool.release(driver, healthy);
+                    }
+                    done++;
+                }
+                logger.debug("User {} finished after {} journeys", id, done);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // No browser could be started for this user
+                report.recordJourney(0, false);
+                logger.error("User {} stopped: {}", id, e.getMessage(), e);
+            }
+        }
+    }
+}
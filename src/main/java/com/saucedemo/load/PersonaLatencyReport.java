@@ -0,0 +1,248 @@
+package com.saucedemo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saucedemo.metrics.LatencySamples;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Journey step latencies per persona (Swag Labs username), and their comparison with a baseline
+ * persona: medians and percentiles with distribution-free confidence intervals, and a bootstrap
+ * interval for the difference in medians. A persona is reported slower on a step only when that
+ * whole interval lies above zero.
+ */
+public final class PersonaLatencyReport {
+    private final List<String> steps;
+    private final double confidence;
+    private final int resamples;
+    private final long seed;
+    private final Map<String, Persona> personas = new ConcurrentHashMap<>();
+    private final List<String> order = new ArrayList<>();
+
+    public PersonaLatencyReport(List<String> steps, double confidence, int resamples, long seed) {
+        List<String> names = new ArrayList<>(steps);
+        names.add(LoadReport.JOURNEY);
+        this.steps = List.copyOf(names);
+        this.confidence = confidence;
+        this.resamples = resamples;
+        this.seed = seed;
+    }
+
+    /** The recorder to hand to {@link PurchaseJourney} for journeys run as {@code persona}. */
+    public JourneyRecorder recorderFor(String persona) {
+        return persona(persona);
+    }
+
+    public int getFailures(String persona) {
+        return persona(persona).failures.intValue();
+    }
+
+    public LatencySamples getSamples(String persona, String step) {
+        Persona samples = personas.get(persona);
+        if (samples == null) {
+            throw new IllegalArgumentException("No samples for persona " + persona);
+        }
+        return samples.samples(step);
+    }
+
+    /** How {@code persona} compares with {@code baseline} on one step. */
+    public Comparison compare(String baseline, String persona, String step) {
+        LatencySamples base = getSamples(baseline, step);
+        LatencySamples other = getSamples(persona, step);
+        return new Comparison(step, base.median(), other.median(),
+                base.medianDifferenceInterval(other, confidence, resamples, seed));
+    }
+
+    public String toText(String baseline) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Persona latency, ms (%.0f%% confidence intervals, %d bootstrap resamples)%n",
+                confidence * 100, resamples));
+        for (String persona : personas()) {
+            text.append(String.format("%n%s (%d failed journeys)%n", persona, getFailures(persona)));
+            text.append(String.format("%-14s %6s %8s %17s %8s %17s %8s %8s%n",
+                    "step", "n", "median", "median CI", "p90", "p90 CI", "p95", "max"));
+            for (String step : steps) {
+                LatencySamples samples = getSamples(persona, step);
+                text.append(String.format("%-14s %6d %8d %17s %8d %17s %8d %8d%n",
+                        step, samples.count(), samples.median(), samples.percentileInterval(50, confidence),
+                        samples.percentile(90), samples.percentileInterval(90, confidence),
+                        samples.percentile(95), samples.percentile(100)));
+            }
+        }
+        for (String persona : personas()) {
+            if (persona.equals(baseline)) {
+                continue;
+            }
+            text.append(String.format("%n%s vs %s%n", persona, baseline));
+            text.append(String.format("%-14s %8s %8s %10s %19s %7s  %s%n",
+                    "step", "base", "median", "diff", "diff CI", "ratio", "verdict"));
+            for (String step : steps) {
+                Comparison comparison = compare(baseline, persona, step);
+                text.append(String.format("%-14s %8d %8d %10d %19s %7.2f  %s%n", step,
+                        comparison.getBaselineMedian(), comparison.getMedian(), comparison.getDifference(),
+                        comparison.getDifferenceInterval(), comparison.getRatio(), comparison.verdict()));
+            }
+        }
+        return text.toString();
+    }
+
+    /** Writes {@code persona-latency.txt} and {@code persona-latency.json} to {@code dir}. */
+    public void write(Path dir, String baseline) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("baseline", baseline);
+        json.put("confidence", confidence);
+        json.put("resamples", resamples);
+        Map<String, Object> personaJson = new LinkedHashMap<>();
+        for (String persona : personas()) {
+            Map<String, Object> stepJson = new LinkedHashMap<>();
+            for (String step : steps) {
+                stepJson.put(step, stepJson(baseline, persona, step));
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("failedJourneys", getFailures(persona));
+            entry.put("steps", stepJson);
+            personaJson.put(persona, entry);
+        }
+        json.put("personas", personaJson);
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("persona-latency.txt"), toText(baseline).getBytes(StandardCharsets.UTF_8));
+            new ObjectMapper().writerWithDefaultPrettyPrinter()
+                    .writeValue(dir.resolve("persona-latency.json").toFile(), json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write persona latency report to " + dir, e);
+        }
+    }
+
+    private Map<String, Object> stepJson(String baseline, String persona, String step) {
+        LatencySamples samples = getSamples(persona, step);
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("count", samples.count());
+        json.put("median", samples.median());
+        json.put("medianCi", interval(samples.percentileInterval(50, confidence)));
+        json.put("p90", samples.percentile(90));
+        json.put("p90Ci", interval(samples.percentileInterval(90, confidence)));
+        json.put("p95", samples.percentile(95));
+        json.put("max", samples.percentile(100));
+        if (!persona.equals(baseline) && personas.containsKey(baseline)) {
+            Comparison comparison = compare(baseline, persona, step);
+            json.put("medianDifference", comparison.getDifference());
+            json.put("medianDifferenceCi", interval(comparison.getDifferenceInterval()));
+            json.put("verdict", comparison.verdict());
+        }
+        return json;
+    }
+
+    private static List<Long> interval(LatencySamples.Interval interval) {
+        return List.of(interval.getLow(), interval.getHigh());
+    }
+
+    private List<String> personas() {
+        synchronized (order) {
+            return new ArrayList<>(order);
+        }
+    }
+
+    private Persona persona(String name) {
+        return personas.computeIfAbsent(name, key -> {
+            synchronized (order) {
+                order.add(key);
+            }
+            return new Persona();
+        });
+    }
+
+    private final class Persona implements JourneyRecorder {
+        private final Map<String, LatencySamples> samples = new LinkedHashMap<>();
+        private final LongAdder failures = new LongAdder();
+
+        Persona() {
+            steps.forEach(step -> samples.put(step, new LatencySamples()));
+        }
+
+        LatencySamples samples(String step) {
+            LatencySamples stepSamples = samples.get(step);
+            if (stepSamples == null) {
+                throw new IllegalArgumentException("Unknown journey step: " + step);
+            }
+            return stepSamples;
+        }
+
+        @Override
+        public void recordStep(String step, long millis, boolean ok) {
+            if (ok) {
+                samples(step).record(millis);
+            }
+        }
+
+        @Override
+        public void recordJourney(long millis, boolean ok) {
+            if (ok) {
+                samples(LoadReport.JOURNEY).record(millis);
+            } else {
+                failures.increment();
+            }
+        }
+    }
+
+    /** Median of a step for the baseline and another persona, with the interval of their difference. */
+    public static final class Comparison {
+        private final String step;
+        private final long baselineMedian;
+        private final long median;
+        private final LatencySamples.Interval differenceInterval;
+
+        Comparison(String step, long baselineMedian, long median, LatencySamples.Interval differenceInterval) {
+            this.step = step;
+            this.baselineMedian = baselineMedian;
+            this.median = median;
+            this.differenceInterval = differenceInterval;
+        }
+
+        public String getStep() {
+            return step;
+        }
+
+        public long getBaselineMedian() {
+            return baselineMedian;
+        }
+
+        public long getMedian() {
+            return median;
+        }
+
+        public long getDifference() {
+            return median - baselineMedian;
+        }
+
+        public LatencySamples.Interval getDifferenceInterval() {
+            return differenceInterval;
+        }
+
+        public double getRatio() {
+            return baselineMedian == 0 ? Double.NaN : (double) median / baselineMedian;
+        }
+
+        public boolean isSlower() {
+            return differenceInterval.getLow() > 0;
+        }
+
+        public boolean isFaster() {
+            return differenceInterval.getHigh() < 0;
+        }
+
+        public String verdict() {
+            return isSlower() ? "slower" : isFaster() ? "faster" : "no difference";
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.saucedemo.load;
+
+import com.saucedemo.pages.CartPage;
+import com.saucedemo.pages.CheckoutCompletePage;
+import com.saucedemo.pages.CheckoutStepOnePage;
+import com.saucedemo.pages.CheckoutStepTwoPage;
+import com.saucedemo.pages.InventoryPage;
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.TestData;
+import com.saucedemo.utils.TestDataReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The purchase flow of {@code SauceDemoTest} as timed steps, driven through the page objects.
+ * Each step ends when the page object reports the next page loaded; a step that does not get
+ * there fails the journey. Think time is spent between steps, outside the measurements.
+ */
+public final class PurchaseJourney {
+    public static final List<String> STEPS = List.of("open", "login", "add-to-cart", "cart", "checkout-info",
+            "overview", "finish");
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final Duration thinkTime;
+    private final Duration thinkJitter;
+    private final JourneyRecorder report;
+    private final TestData.Checkout checkout = TestDataReader.getData().getCheckout();
+
+    public PurchaseJourney(String baseUrl, String username, String password, Duration thinkTime,
+                           Duration thinkJitter, JourneyRecorder report) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.thinkTime = thinkTime;
+        this.thinkJitter = thinkJitter;
+        this.report = report;
+    }
+
+    PurchaseJourney(LoadProfile profile, String baseUrl, JourneyRecorder report) {
+        this(baseUrl, profile.getUsername(), profile.getPassword(), profile.getThinkTime(),
+                profile.getThinkJitter(), report);
+    }
+
+    /**
+     * Runs one journey in {@code driver} and leaves the session logged out with an empty cart.
+     *
+     * @throws RuntimeException when a step fails; the browser should then be discarded
+     */
+    public void run(WebDriver driver, SplittableRandom random) throws InterruptedException {
+        WebDriverWait wait = new WebDriverWait(driver, ConfigReader.getDuration("timeout.explicit"),
+                ConfigReader.getDuration("poll.interval"));
+        Steps steps = new Steps();
+        long start = System.nanoTime();
+        try {
+            steps.begin("open");
+            driver.get(baseUrl);
+            LoginPage loginPage = new LoginPage(driver, wait);
+            steps.end(loginPage.isLoginPageDisplayed());
+            think(random);
+
+            steps.begin("login");
+            InventoryPage inventoryPage = loginPage.login(username, password);
+            steps.end(inventoryPage.isInventoryPageLoaded());
+            think(random);
+
+            steps.begin("add-to-cart");
+            inventoryPage.addBackpackToCart().addBikeLightToCart();
+            steps.end(inventoryPage.isBikeLightAddedToCart());
+            think(random);
+
+            steps.begin("cart");
+            CartPage cartPage = inventoryPage.clickShoppingCartLink();
+            steps.end(cartPage.isCartPageLoaded());
+            think(random);
+
+            steps.begin("checkout-info");
+            CheckoutStepOnePage stepOne = cartPage.clickCheckoutButton();
+            steps.end(stepOne.isCheckoutStepOnePageLoaded());
+            think(random);
+
+            steps.begin("overview");
+            CheckoutStepTwoPage stepTwo = stepOne
+                    .fillCheckoutInformation(checkout.getFirstName(), checkout.getLastName(), checkout.getPostalCode())
+                    .clickContinueButton();
+            steps.end(stepTwo.isCheckoutStepTwoPageLoaded());
+            think(random);
+
+            steps.begin("finish");
+            CheckoutCompletePage completePage = stepTwo.clickFinishButton();
+            steps.end(completePage.isCheckoutCompletePageLoaded());
+            report.recordJourney(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), true);
+        } catch (RuntimeException e) {
+            steps.failCurrent();
+            report.recordJourney(0, false);
+            throw e;
+        }
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+    }
+
+    private void think(SplittableRandom random) throws InterruptedException {
+        long millis = thinkTime.toMillis();
+        long jitter = thinkJitter.toMillis();
+        if (jitter > 0) {
+            millis += random.nextLong(jitter + 1);
+        }
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    /** Times the step in progress; a step is recorded once, as passed or failed. */
+    private final class Steps {
+        private String current;
+        private long startNanos;
+
+        void begin(String step) {
+            current = step;
+            startNanos = System.nanoTime();
+        }
+
+        void end(boolean reachedPage) {
+            String step = current;
+            current = null;
+            report.recordStep(step, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), reachedPage);
+            if (!reachedPage) {
+                throw new IllegalStateException("Step '" + step + "' did not reach its page");
+            }
+        }
+
+        void failCurrent() {
+            if (current != null) {
+                report.recordStep(current, 0, false);
+                current = null;
+            }
+        }
+    }
+}
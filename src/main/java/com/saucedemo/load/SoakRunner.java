@@ -0,0 +1,229 @@
+package com.saucedemo.load;
+
+import com.saucedemo.execution.ProcStats;
+import com.saucedemo.metrics.LinearTrend;
+import com.saucedemo.standin.SwagLabsServer;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.DriverManager;
+import com.saucedemo.utils.TestData;
+import com.saucedemo.utils.TestDataReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Soak mode: one thread repeats the purchase journey against {@code base.url} for
+ * {@code soak.duration}, getting its browser from {@link DriverManager} like the tests do and
+ * starting a new one every {@code soak.session.journeys} journeys (0 keeps one session for the
+ * whole soak). Every {@code soak.interval} it forces a GC and records the heap left in use, the
+ * JVM's live threads and the resident memory of the browsers and drivers it started.
+ * <p>
+ * After {@code soak.warmup}, which is left out of the analysis, a line is fitted through each
+ * series; growth is flagged as a leak when the slope is positive at {@code soak.alpha} and the
+ * fitted growth over the run exceeds {@code soak.min.growth}. Class histograms of the heap are
+ * taken at {@code soak.checkpoints} evenly spaced points from the end of the warm-up to the end,
+ * and the classes that grew most between the first and the last are listed. Samples, histograms
+ * and the summary go to {@code soak.report.dir}; the exit status is 1 when a leak is flagged or
+ * no journey completed.
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.saucedemo.load.SoakRunner -Dexec.classpathScope=test \
+ *     -Dconfig.profile=offline -Dsoak.duration=4h
+ * </pre>
+ */
+public final class SoakRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SoakRunner.class);
+    private static final String[] METRICS = {"heap-after-gc", "threads", "browser-rss"};
+    private static final int MIN_SAMPLES = 8;
+
+    private final Duration duration;
+    private final Duration interval;
+    private final Duration warmup;
+    private final int checkpoints;
+    private final int sessionJourneys;
+    private final double alpha;
+    private final double minGrowth;
+    private final Path reportDir;
+    private final List<long[]> samples = new ArrayList<>();
+    private final List<HeapHistogram> histograms = new ArrayList<>();
+    private final AtomicLong journeys = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private long start;
+    private BufferedWriter csv;
+    private boolean leaked;
+
+    private SoakRunner() {
+        this.duration = ConfigReader.getDuration("soak.duration");
+        this.interval = ConfigReader.getDuration("soak.interval");
+        this.warmup = ConfigReader.getDuration("soak.warmup");
+        this.checkpoints = Math.max(2, ConfigReader.getInt("soak.checkpoints"));
+        this.sessionJourneys = ConfigReader.getInt("soak.session.journeys");
+        this.alpha = ConfigReader.getDouble("soak.alpha");
+        this.minGrowth = ConfigReader.getDouble("soak.min.growth");
+        this.reportDir = Paths.get(ConfigReader.getProperty("soak.report.dir"));
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("soak.interval must be positive: " + interval);
+        }
+        if (warmup.compareTo(duration) >= 0) {
+            throw new IllegalArgumentException("soak.warmup (" + warmup + ") must be shorter than soak.duration ("
+                    + duration + ")");
+        }
+    }
+
+    public static void main(String[] args) {
+        SoakRunner soak = new SoakRunner();
+        String summary = soak.run(SwagLabsServer.resolveBaseUrl());
+        logger.info("Soak summary (also in {}):{}{}", soak.reportDir, System.lineSeparator(), summary);
+        System.exit(soak.leaked || soak.journeys.get() == soak.failures.get() ? 1 : 0);
+    }
+
+    private String run(String baseUrl) {
+        logger.info("Soaking {} for {} (warm-up {}, sample every {})", baseUrl, duration, warmup, interval);
+        TestData.Credentials credentials = TestDataReader.getData().getCredentials();
+        PurchaseJourney journey = new PurchaseJourney(baseUrl, credentials.getUsername(), credentials.getPassword(),
+                Duration.ZERO, Duration.ZERO, JourneyRecorder.NONE);
+        SplittableRandom random = new SplittableRandom(ConfigReader.getLong("load.seed"));
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soak-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(reportDir);
+            csv = Files.newBufferedWriter(reportDir.resolve("samples.csv"), StandardCharsets.UTF_8);
+            csv.write("elapsed_s,journeys,failures," + String.join(",", METRICS));
+            csv.newLine();
+            start = System.nanoTime();
+            sampler.scheduleAtFixedRate(this::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+
+            long deadline = start + duration.toNanos();
+            int sessionCount = 0;
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                try {
+                    journey.run(DriverManager.getDriver(), random);
+                    journeys.incrementAndGet();
+                    if (sessionJourneys > 0 && ++sessionCount >= sessionJourneys) {
+                        DriverManager.closeDriver();
+                        sessionCount = 0;
+                    }
+                } catch (RuntimeException e) {
+                    journeys.incrementAndGet();
+                    failures.incrementAndGet();
+                    logger.warn("Soak journey {} failed, starting a new session: {}", journeys.get(), e.getMessage());
+                    DriverManager.closeDriver();
+                    sessionCount = 0;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            sampler.shutdown();
+            sampler.awaitTermination(1, TimeUnit.MINUTES);
+            sample();
+            synchronized (this) {
+                csv.close();
+            }
+            return summarize();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write soak report to " + reportDir, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping the soak sampler", e);
+        } finally {
+            sampler.shutdownNow();
+            DriverManager.closeDriver();
+        }
+    }
+
+    private synchronized void sample() {
+        try {
+            System.gc();
+            long elapsedNanos = System.nanoTime() - start;
+            long[] sample = {TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                    ManagementFactory.getThreadMXBean().getThreadCount(),
+                    Math.max(0, ProcStats.descendantRss())};
+            samples.add(sample);
+            csv.write(String.format(Locale.ROOT, "%.1f,%d,%d,%d,%d,%d", sample[0] / 1000.0, journeys.get(),
+                    failures.get(), sample[1], sample[2], sample[3]));
+            csv.newLine();
+            csv.flush();
+
+            long afterWarmup = duration.toNanos() - warmup.toNanos();
+            long due = warmup.toNanos() + afterWarmup * histograms.size() / (checkpoints - 1);
+            if (histograms.size() < checkpoints && elapsedNanos >= due) {
+                HeapHistogram histogram = HeapHistogram.capture();
+                histograms.add(histogram);
+                Files.write(reportDir.resolve("histogram-" + histograms.size() + ".txt"),
+                        histogram.getText().getBytes(StandardCharsets.UTF_8));
+                logger.info("Soak checkpoint {} of {}: heap histogram taken after {} journeys", histograms.size(),
+                        checkpoints, journeys.get());
+            }
+        } catch (IOException | RuntimeException e) {
+            // A lost sample leaves a gap in the series; the soak itself goes on
+            logger.warn("Soak sample failed: {}", e.getMessage());
+        }
+    }
+
+    private String summarize() throws IOException {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Journeys: %d (%d failed) in %s%n", journeys.get(), failures.get(),
+                duration));
+        List<long[]> steady = new ArrayList<>();
+        for (long[] sample : samples) {
+            if (sample[0] >= warmup.toMillis()) {
+                steady.add(sample);
+            }
+        }
+        for (int metric = 0; metric < METRICS.length; metric++) {
+            text.append(String.format(Locale.ROOT, "%-14s ", METRICS[metric])).append(analyze(steady, metric + 1))
+                    .append(System.lineSeparator());
+        }
+        if (histograms.size() >= 2) {
+            text.append("Largest live-byte growth between the first and last checkpoint:")
+                    .append(System.lineSeparator());
+            for (String line : histograms.get(histograms.size() - 1).topGrowth(histograms.get(0), 20)) {
+                text.append("  ").append(line).append(System.lineSeparator());
+            }
+        }
+        Files.write(reportDir.resolve("summary.txt"), text.toString().getBytes(StandardCharsets.UTF_8));
+        return text.toString();
+    }
+
+    private String analyze(List<long[]> steady, int column) {
+        if (steady.size() < MIN_SAMPLES) {
+            return "not enough samples after the warm-up (" + steady.size() + " of " + MIN_SAMPLES + ")";
+        }
+        double[] hours = new double[steady.size()];
+        double[] values = new double[steady.size()];
+        for (int i = 0; i < steady.size(); i++) {
+            hours[i] = steady.get(i)[0] / 3_600_000.0;
+            values[i] = steady.get(i)[column];
+        }
+        if (values[0] == 0 && values[values.length - 1] == 0) {
+            return "not measured";
+        }
+        LinearTrend trend = LinearTrend.fit(hours, values);
+        boolean leak = trend.isRising(alpha) && trend.relativeGrowth() > minGrowth;
+        leaked |= leak;
+        return String.format(Locale.ROOT, "%,.0f -> %,.0f, slope %+,.0f/h, growth %+.1f%%, t %.1f: %s",
+                values[0], values[values.length - 1], trend.getSlope(), trend.relativeGrowth() * 100,
+                trend.tStatistic(), leak ? "LEAK" : "stable");
+    }
+}
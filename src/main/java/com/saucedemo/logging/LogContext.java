@@ -0,0 +1,44 @@
+package com.saucedemo.logging;
+
+import org.slf4j.MDC;
+
+/**
+ * MDC keys shared by the listeners and the logback configuration, so that every line
+ * written while a test runs carries the test identity even when tests run in parallel.
+ */
+public final class LogContext {
+    public static final String TEST_ID = "testId";
+    public static final String THREAD = "thread";
+    public static final String BROWSER = "browser";
+    public static final String STEP = "step";
+
+    private LogContext() {
+    }
+
+    public static void begin(String testId, String browser) {
+        MDC.put(TEST_ID, testId);
+        MDC.put(THREAD, Thread.currentThread().getName());
+        MDC.put(BROWSER, browser);
+        MDC.remove(STEP);
+    }
+
+    public static void end() {
+        MDC.remove(TEST_ID);
+        MDC.remove(THREAD);
+        MDC.remove(BROWSER);
+        MDC.remove(STEP);
+    }
+
+    public static String currentTestId() {
+        return MDC.get(TEST_ID);
+    }
+
+    /**
+     * Key under which {@link TestLogBufferAppender} buffers lines for the current test.
+     * The thread name is part of the key so that the same test running for two browsers
+     * at once does not share a buffer.
+     */
+    public static String bufferKey(String testId, String thread) {
+        return testId + "|" + thread;
+    }
+}
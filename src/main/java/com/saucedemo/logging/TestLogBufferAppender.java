@@ -0,0 +1,81 @@
+package com.saucedemo.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.Layout;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the formatted log lines of every running test in memory so that they can be
+ * attached to the Allure report when, and only when, the test fails.
+ * Events without an open buffer (no test running on that thread) are dropped immediately.
+ */
+public class TestLogBufferAppender extends AppenderBase<ILoggingEvent> {
+    private static final ConcurrentMap<String, Deque<String>> BUFFERS = new ConcurrentHashMap<>();
+    private static volatile int maxLines = 2000;
+
+    private Layout<ILoggingEvent> layout;
+
+    public static void open(String key) {
+        BUFFERS.put(key, new ArrayDeque<>());
+    }
+
+    public static String drain(String key) {
+        Deque<String> buffer = BUFFERS.remove(key);
+        if (buffer == null) {
+            return "";
+        }
+        synchronized (buffer) {
+            return String.join("", buffer);
+        }
+    }
+
+    public static void discard(String key) {
+        BUFFERS.remove(key);
+    }
+
+    public void setLayout(Layout<ILoggingEvent> layout) {
+        this.layout = layout;
+    }
+
+    public void setMaxLines(int lines) {
+        maxLines = lines;
+    }
+
+    @Override
+    public void start() {
+        if (layout == null) {
+            addError("No layout set for the appender named [" + name + "].");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (BUFFERS.isEmpty()) {
+            return;
+        }
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        String testId = mdc.get(LogContext.TEST_ID);
+        if (testId == null) {
+            return;
+        }
+        Deque<String> buffer = BUFFERS.get(LogContext.bufferKey(testId, mdc.get(LogContext.THREAD)));
+        if (buffer == null) {
+            return;
+        }
+        String line = layout.doLayout(event);
+        synchronized (buffer) {
+            if (buffer.size() >= maxLines) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(line);
+        }
+    }
+}
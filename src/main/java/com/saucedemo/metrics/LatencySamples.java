@@ -0,0 +1,149 @@
+package com.saucedemo.metrics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Every recorded duration, kept so that exact percentiles and their confidence intervals can be
+ * computed. Meant for comparisons over hundreds or thousands of samples; use
+ * {@link LatencyHistogram} when only approximate percentiles of an unbounded stream are needed.
+ * All methods are synchronized so one instance can be shared between worker threads.
+ */
+public class LatencySamples {
+    private long[] values = new long[64];
+    private int count;
+
+    public synchronized void record(long value) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = Math.max(0, value);
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    public synchronized long[] sorted() {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    public long median() {
+        return percentile(50);
+    }
+
+    /**
+     * @param percentile value in [0, 100]
+     * @return the nearest-rank percentile, or 0 when nothing was recorded
+     */
+    public long percentile(double percentile) {
+        return percentileOf(sorted(), percentile);
+    }
+
+    /**
+     * Distribution-free confidence interval for a percentile: the order statistics whose ranks
+     * bracket {@code n * p} by the normal approximation to the binomial distribution.
+     *
+     * @param confidence e.g. 0.95
+     */
+    public Interval percentileInterval(double percentile, double confidence) {
+        long[] sorted = sorted();
+        int n = sorted.length;
+        if (n == 0) {
+            return new Interval(0, 0);
+        }
+        double p = percentile / 100.0;
+        double halfWidth = zScore(confidence) * Math.sqrt(n * p * (1 - p));
+        int low = (int) Math.max(1, Math.floor(n * p - halfWidth));
+        int high = (int) Math.min(n, Math.ceil(n * p + halfWidth) + 1);
+        return new Interval(sorted[low - 1], sorted[high - 1]);
+    }
+
+    /**
+     * Percentile bootstrap confidence interval for {@code median(other) - median(this)}: positive
+     * bounds on both ends mean {@code other} is slower at the given confidence.
+     *
+     * @param resamples bootstrap iterations, e.g. 2000
+     * @param seed      fixes the resampling so reports are reproducible
+     */
+    public Interval medianDifferenceInterval(LatencySamples other, double confidence, int resamples, long seed) {
+        long[] mine = sorted();
+        long[] theirs = other.sorted();
+        if (mine.length == 0 || theirs.length == 0) {
+            return new Interval(0, 0);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] differences = new long[resamples];
+        long[] mineResample = new long[mine.length];
+        long[] theirsResample = new long[theirs.length];
+        for (int i = 0; i < resamples; i++) {
+            differences[i] = resampledMedian(theirs, theirsResample, random)
+                    - resampledMedian(mine, mineResample, random);
+        }
+        Arrays.sort(differences);
+        double tail = (1 - confidence) / 2 * 100;
+        return new Interval(percentileOf(differences, tail), percentileOf(differences, 100 - tail));
+    }
+
+    private static long resampledMedian(long[] source, long[] buffer, SplittableRandom random) {
+        for (int i = 0; i < source.length; i++) {
+            buffer[i] = source[random.nextInt(source.length)];
+        }
+        Arrays.sort(buffer);
+        return percentileOf(buffer, 50);
+    }
+
+    private static long percentileOf(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.max(1, Math.ceil(percentile / 100.0 * sorted.length));
+        return sorted[Math.min(rank, sorted.length) - 1];
+    }
+
+    /** Two-sided standard normal quantile for {@code confidence} (Acklam's approximation). */
+    static double zScore(double confidence) {
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence must be between 0 and 1: " + confidence);
+        }
+        double p = 1 - (1 - confidence) / 2;
+        double q = Math.sqrt(-2 * Math.log(1 - p));
+        if (p <= 0.97575) {
+            double r = (p - 0.5) * (p - 0.5);
+            return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                    + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * (p - 0.5)
+                    / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                    + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+        }
+        return -(((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                + 3.754408661907416e+00) * q + 1);
+    }
+
+    /** Closed interval {@code [low, high]} in the unit of the samples. */
+    public static final class Interval {
+        private final long low;
+        private final long high;
+
+        Interval(long low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        public long getLow() {
+            return low;
+        }
+
+        public long getHigh() {
+            return high;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + low + ", " + high + "]";
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.saucedemo.metrics;
+
+/**
+ * Least-squares line through a series of readings, with the one-sided t-test of "the slope is
+ * positive". Consecutive readings of a running process are not independent, so the test is
+ * optimistic; pair it with a minimum growth before calling a trend a leak.
+ */
+public final class LinearTrend {
+    private final int count;
+    private final double slope;
+    private final double intercept;
+    private final double slopeError;
+    private final double firstX;
+    private final double lastX;
+
+    private LinearTrend(int count, double slope, double intercept, double slopeError, double firstX, double lastX) {
+        this.count = count;
+        this.slope = slope;
+        this.intercept = intercept;
+        this.slopeError = slopeError;
+        this.firstX = firstX;
+        this.lastX = lastX;
+    }
+
+    /** Fits {@code y = intercept + slope * x}; needs at least three points with distinct x. */
+    public static LinearTrend fit(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y differ in length: " + x.length + " vs " + y.length);
+        }
+        int n = x.length;
+        if (n < 3) {
+            throw new IllegalArgumentException("A trend needs at least 3 points, got " + n);
+        }
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+        double sxx = 0;
+        double sxy = 0;
+        for (int i = 0; i < n; i++) {
+            sxx += (x[i] - meanX) * (x[i] - meanX);
+            sxy += (x[i] - meanX) * (y[i] - meanY);
+        }
+        if (sxx == 0) {
+            throw new IllegalArgumentException("All points share x = " + meanX);
+        }
+        double slope = sxy / sxx;
+        double intercept = meanY - slope * meanX;
+        double residuals = 0;
+        for (int i = 0; i < n; i++) {
+            double residual = y[i] - (intercept + slope * x[i]);
+            residuals += residual * residual;
+        }
+        double slopeError = Math.sqrt(residuals / (n - 2) / sxx);
+        return new LinearTrend(n, slope, intercept, slopeError, x[0], x[n - 1]);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /** Change of y per unit of x. */
+    public double getSlope() {
+        return slope;
+    }
+
+    /** The fitted value at {@code x}. */
+    public double at(double x) {
+        return intercept + slope * x;
+    }
+
+    /** Fitted growth from the first to the last point, relative to the fitted first value. */
+    public double relativeGrowth() {
+        double start = at(firstX);
+        return start <= 0 ? 0 : (at(lastX) - start) / start;
+    }
+
+    /** Slope over its standard error; infinite for a perfect rising line. */
+    public double tStatistic() {
+        if (slopeError == 0) {
+            return slope > 0 ? Double.POSITIVE_INFINITY : slope < 0 ? Double.NEGATIVE_INFINITY : 0;
+        }
+        return slope / slopeError;
+    }
+
+    /** Whether the slope is positive at significance level {@code alpha}, e.g. 0.01. */
+    public boolean isRising(double alpha) {
+        return tStatistic() > tQuantile(1 - alpha, count - 2);
+    }
+
+    /**
+     * Student's t quantile by the Cornish-Fisher expansion around the normal quantile; within a
+     * few percent from 5 degrees of freedom up, which is all a threshold needs.
+     */
+    static double tQuantile(double p, int degreesOfFreedom) {
+        double z = normalQuantile(p);
+        double df = degreesOfFreedom;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4 * df) + (5 * z5 + 16 * z3 + 3 * z) / (96 * df * df);
+    }
+
+    /** Abramowitz and Stegun 26.2.23, absolute error below 4.5e-4. */
+    static double normalQuantile(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("Probability must be in (0, 1): " + p);
+        }
+        double q = p < 0.5 ? p : 1 - p;
+        double t = Math.sqrt(-2 * Math.log(q));
+        double z = t - (2.515517 + 0.802853 * t + 0.010328 * t * t)
+                / (1 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+        return p < 0.5 ? -z : z;
+    }
+}
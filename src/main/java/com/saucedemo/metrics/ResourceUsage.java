@@ -0,0 +1,126 @@
+package com.saucedemo.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CPU time, resident memory and thread counts of a browser session's process tree while one test
+ * ran, in total and per top-level step. CPU is added up between samples; memory and threads keep
+ * their peak and mean. All methods are synchronized: the sampler records while the test reads.
+ */
+public class ResourceUsage {
+    private final String testId;
+    private final String browser;
+    private final Usage total = new Usage();
+    private final Map<String, Usage> steps = new LinkedHashMap<>();
+    private Usage step = new Usage();
+
+    public ResourceUsage(String testId, String browser) {
+        this.testId = testId;
+        this.browser = browser;
+    }
+
+    /**
+     * @param inStep    whether a top-level step was running when the sample was taken
+     * @param cpuMillis CPU time the tree used since the previous sample
+     */
+    public synchronized void record(boolean inStep, long cpuMillis, long rssBytes, int threads) {
+        total.add(cpuMillis, rssBytes, threads);
+        if (inStep) {
+            step.add(cpuMillis, rssBytes, threads);
+        }
+    }
+
+    /**
+     * Charges the samples taken since the previous step ended to {@code name}, which is only
+     * final once the step has stopped; repeated steps add up.
+     */
+    public synchronized void endStep(String name, long millis) {
+        step.millis = Math.max(0, millis);
+        steps.computeIfAbsent(name, key -> new Usage()).merge(step);
+        step = new Usage();
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public synchronized Usage getTotal() {
+        return total.copy();
+    }
+
+    /** Step names in the order they were first sampled. */
+    public synchronized Map<String, Usage> getSteps() {
+        Map<String, Usage> copy = new LinkedHashMap<>();
+        steps.forEach((name, usage) -> copy.put(name, usage.copy()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /** Readings of one test or step. */
+    public static final class Usage {
+        private int samples;
+        private long millis;
+        private long cpuMillis;
+        private long peakRss;
+        private long rssSum;
+        private int peakThreads;
+
+        private void add(long cpu, long rss, int threads) {
+            samples++;
+            cpuMillis += Math.max(0, cpu);
+            peakRss = Math.max(peakRss, rss);
+            rssSum += rss;
+            peakThreads = Math.max(peakThreads, threads);
+        }
+
+        private void merge(Usage other) {
+            samples += other.samples;
+            millis += other.millis;
+            cpuMillis += other.cpuMillis;
+            peakRss = Math.max(peakRss, other.peakRss);
+            rssSum += other.rssSum;
+            peakThreads = Math.max(peakThreads, other.peakThreads);
+        }
+
+        private Usage copy() {
+            Usage copy = new Usage();
+            copy.samples = samples;
+            copy.millis = millis;
+            copy.cpuMillis = cpuMillis;
+            copy.peakRss = peakRss;
+            copy.rssSum = rssSum;
+            copy.peakThreads = peakThreads;
+            return copy;
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        /** Wall-clock time of a step; 0 for the total, whose duration is the test's. */
+        public long getMillis() {
+            return millis;
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        public long getPeakRss() {
+            return peakRss;
+        }
+
+        public long getMeanRss() {
+            return samples == 0 ? 0 : rssSum / samples;
+        }
+
+        public int getPeakThreads() {
+            return peakThreads;
+        }
+    }
+}
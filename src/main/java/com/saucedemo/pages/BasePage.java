@@ -1,12 +1,21 @@
 package com.saucedemo.pages;
 
+import com.saucedemo.profiling.PageActionEvent;
+import com.saucedemo.profiling.PageTransitionEvent;
+import com.saucedemo.profiling.PageWaitEvent;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Element helpers shared by the page objects. Each action, wait and page creation is also a
+ * Java Flight Recorder event (see {@code com.saucedemo.profiling}), which costs next to nothing
+ * unless a recording is running.
+ */
 public class BasePage {
     private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
     protected WebDriver driver;
@@ -15,46 +24,65 @@ public class BasePage {
     public BasePage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
+        PageTransitionEvent.emit(getClass());
     }
 
     protected void clickElement(WebElement element) {
+        PageActionEvent event = new PageActionEvent();
+        event.begin();
+        boolean succeeded = false;
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            await(ExpectedConditions.elementToBeClickable(element));
             element.click();
+            succeeded = true;
             logger.debug("Clicked element: {}", element);
         } catch (Exception e) {
             logger.error("Failed to click element: {}", element, e);
             throw e;
+        } finally {
+            event.finish("click", succeeded);
         }
     }
 
     protected void clearAndType(WebElement element, String text) {
+        PageActionEvent event = new PageActionEvent();
+        event.begin();
+        boolean succeeded = false;
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            await(ExpectedConditions.visibilityOf(element));
             element.clear();
             element.sendKeys(text);
+            succeeded = true;
             logger.debug("Typed '{}' into element: {}", text, element);
         } catch (Exception e) {
             logger.error("Failed to type '{}' into element: {}", text, element, e);
             throw e;
+        } finally {
+            event.finish("type", succeeded);
         }
     }
 
     protected String getElementText(WebElement element) {
+        PageActionEvent event = new PageActionEvent();
+        event.begin();
+        boolean succeeded = false;
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            await(ExpectedConditions.visibilityOf(element));
             String text = element.getText();
+            succeeded = true;
             logger.debug("Got text '{}' from element: {}", text, element);
             return text;
         } catch (Exception e) {
             logger.error("Failed to get text from element: {}", element, e);
             throw e;
+        } finally {
+            event.finish("read", succeeded);
         }
     }
 
     protected boolean isElementDisplayed(WebElement element) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            await(ExpectedConditions.visibilityOf(element));
             boolean isDisplayed = element.isDisplayed();
             logger.debug("Element displayed: {} - {}", isDisplayed, element);
             return isDisplayed;
@@ -66,7 +94,7 @@ public class BasePage {
 
     protected void waitForElementToBeVisible(WebElement element) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            await(ExpectedConditions.visibilityOf(element));
             logger.debug("Element is now visible: {}", element);
         } catch (Exception e) {
             logger.error("Element did not become visible: {}", element, e);
@@ -76,7 +104,7 @@ public class BasePage {
 
     protected void waitForElementToBeClickable(WebElement element) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            await(ExpectedConditions.elementToBeClickable(element));
             logger.debug("Element is now clickable: {}", element);
         } catch (Exception e) {
             logger.error("Element did not become clickable: {}", element, e);
@@ -84,6 +112,22 @@ public class BasePage {
         }
     }
 
+    /**
+     * {@code wait.until(condition)}, recorded as a {@link PageWaitEvent} for {@code condition}.
+     * The condition is described by its {@code toString()}, as Selenium's own conditions are.
+     */
+    protected void await(ExpectedCondition<?> condition) {
+        PageWaitEvent event = new PageWaitEvent();
+        event.begin();
+        boolean satisfied = false;
+        try {
+            wait.until(condition);
+            satisfied = true;
+        } finally {
+            event.finish(condition, satisfied);
+        }
+    }
+
     public String getCurrentUrl() {
         String url = driver.getCurrentUrl();
         logger.debug("Current URL: {}", url);
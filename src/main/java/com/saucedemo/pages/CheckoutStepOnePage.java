@@ -1,11 +1,15 @@
 package com.saucedemo.pages;
 
+import com.saucedemo.utils.ConfigReader;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +44,9 @@ public class CheckoutStepOnePage extends BasePage {
     @FindBy(css = ".error-message-container .error")
     private WebElement errorBanner;
 
+    @FindBy(css = "[data-test='error-button']")
+    private WebElement errorCloseButton;
+
     public CheckoutStepOnePage(WebDriver driver, WebDriverWait wait) {
         super(driver, wait);
         PageFactory.initElements(driver, this);
@@ -91,16 +98,61 @@ public class CheckoutStepOnePage extends BasePage {
         logger.info("Clicking continue button");
         clickElement(continueButton);
 
-        // Wait a moment for potential error messages or navigation
+        // Wait for potential error messages or navigation
         try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            new WebDriverWait(driver, ConfigReader.getDuration("timeout.checkout.continue"),
+                    ConfigReader.getDuration("poll.interval")).until(submitOutcomeKnown());
+        } catch (TimeoutException e) {
+            logger.debug("Neither step two nor an error appeared after continue");
         }
 
         return new CheckoutStepTwoPage(driver, wait);
     }
 
+    /**
+     * Clicks continue and waits only until the outcome is known, either step two or an error,
+     * instead of the fixed pause in {@link #clickContinueButton()}. Any error still showing from
+     * a previous submit must be dismissed first. Meant for submitting many inputs on one page.
+     *
+     * @return the error text, or null if the form was accepted
+     */
+    public String submitCheckoutInformation() {
+        clickElement(continueButton);
+        await(submitOutcomeKnown());
+        if (driver.getCurrentUrl().contains("checkout-step-two.html")) {
+            return null;
+        }
+        return driver.findElement(By.cssSelector("[data-test='error']")).getText();
+    }
+
+    /**
+     * Step two or an error message showing. The error is checked by script rather than
+     * findElements so the implicit wait is not spent on an error element that never appears.
+     */
+    private ExpectedCondition<Boolean> submitOutcomeKnown() {
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                return driver.getCurrentUrl().contains("checkout-step-two.html")
+                        || Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(
+                                "return document.querySelector(\"[data-test='error']\") !== null;"));
+            }
+
+            @Override
+            public String toString() {
+                return "checkout step two or an error message";
+            }
+        };
+    }
+
+    /** Closes the error banner if one is showing. */
+    public CheckoutStepOnePage dismissErrorMessage() {
+        if (!driver.findElements(By.cssSelector("[data-test='error-button']")).isEmpty()) {
+            clickElement(errorCloseButton);
+        }
+        return this;
+    }
+
     @Step("Click cancel button")
     public CartPage clickCancelButton() {
         logger.info("Clicking cancel button");
@@ -0,0 +1,35 @@
+package com.saucedemo.profiling;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.Response;
+
+import java.io.IOException;
+
+/**
+ * Wraps a driver's {@link CommandExecutor} so that every command is a {@link DriverCommandEvent}.
+ * Drivers install it on themselves after the session started ({@code setCommandExecutor} is
+ * protected); when the event is not being recorded the cost is one allocation per command.
+ */
+public final class CommandEventExecutor implements CommandExecutor {
+    private final CommandExecutor delegate;
+
+    public CommandEventExecutor(CommandExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Command command) throws IOException {
+        DriverCommandEvent event = new DriverCommandEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            Response response = delegate.execute(command);
+            succeeded = response.getState() == null || ErrorCodes.SUCCESS_STRING.equals(response.getState());
+            return response;
+        } finally {
+            event.finish(command.getName(), succeeded);
+        }
+    }
+}
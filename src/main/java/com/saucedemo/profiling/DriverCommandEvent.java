@@ -0,0 +1,36 @@
+package com.saucedemo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One WebDriver command, from sending it until its response was decoded. */
+@Name("com.saucedemo.DriverCommand")
+@Label("Driver Command")
+@Category({"SauceDemo", "WebDriver"})
+@Description("A WebDriver command sent to the driver or grid")
+@StackTrace(false)
+public final class DriverCommandEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Page Method")
+    @Description("The page-object method that sent it, as Page#method; empty outside page objects")
+    String method;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    void finish(String command, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.command = command;
+            this.method = PageFrames.caller();
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.saucedemo.profiling;
+
+import com.saucedemo.utils.ConfigReader;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A Java Flight Recorder recording of one run: the JVM events of {@code jfr.settings} (a built-in
+ * configuration such as {@code profile}, or a {@code .jfc} file) plus the framework's own page,
+ * wait and driver command events, dumped to {@code jfr.dir} when closed. Open it in JDK Mission
+ * Control; the framework events are under "SauceDemo".
+ */
+public final class FlightRecording implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecording.class);
+
+    private final Recording recording;
+    private final Path file;
+
+    private FlightRecording(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    /** Starts recording; {@code name} prefixes the dump's file name. */
+    public static FlightRecording start(String name) {
+        Recording recording = new Recording(settings(ConfigReader.getProperty("jfr.settings")));
+        recording.setName(name);
+        recording.enable(PageActionEvent.class);
+        recording.enable(PageWaitEvent.class);
+        recording.enable(PageTransitionEvent.class);
+        recording.enable(DriverCommandEvent.class);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = Paths.get(ConfigReader.getProperty("jfr.dir")).resolve(name + "-" + stamp + ".jfr");
+        recording.start();
+        logger.info("Flight recording '{}' started", name);
+        return new FlightRecording(recording, file);
+    }
+
+    /** Stops the recording and writes it out. */
+    @Override
+    public void close() {
+        try {
+            recording.stop();
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            recording.dump(file);
+            logger.info("Flight recording written to {}", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write flight recording " + file, e);
+        } finally {
+            recording.close();
+        }
+    }
+
+    private static Configuration settings(String settings) {
+        try {
+            return settings.endsWith(".jfc") ? Configuration.create(Paths.get(settings))
+                    : Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown jfr.settings '" + settings + "': " + e.getMessage(), e);
+        }
+    }
+}
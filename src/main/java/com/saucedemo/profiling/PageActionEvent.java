@@ -0,0 +1,37 @@
+package com.saucedemo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A click, typing or read on a page element, including the wait before it. */
+@Name("com.saucedemo.PageAction")
+@Label("Page Action")
+@Category({"SauceDemo", "Page Objects"})
+@Description("A click, typing or read on a page element, including the wait before it")
+@StackTrace(false)
+public final class PageActionEvent extends Event {
+    @Label("Action")
+    String action;
+
+    @Label("Page Method")
+    @Description("The page-object method that acted, as Page#method")
+    String method;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /** Commits the event when it is being recorded; the page method is only looked up then. */
+    public void finish(String action, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.method = PageFrames.caller();
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.saucedemo.profiling;
+
+import com.saucedemo.listeners.PageObjectCallRecorder;
+
+/** Finds the page-object method on the calling thread's stack, for events that name it. */
+final class PageFrames {
+    private static final String PAGES = "com.saucedemo.pages.";
+    private static final String BASE_PAGE = PAGES + "BasePage";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private PageFrames() {
+    }
+
+    /** The innermost page-object method, as {@code Page#method}, or "" outside page objects. */
+    static String caller() {
+        return caller(null);
+    }
+
+    /** Like {@link #caller()}, passing over the frames of {@code skipped}, e.g. a page being created. */
+    static String caller(Class<?> skipped) {
+        String skippedName = skipped == null ? null : skipped.getName();
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PAGES) && !frame.getClassName().equals(BASE_PAGE)
+                        && !frame.getClassName().equals(skippedName))
+                .findFirst()
+                .map(frame -> PageObjectCallRecorder.member(frame.getClassName(), frame.getMethodName()))
+                .orElse(""));
+    }
+}
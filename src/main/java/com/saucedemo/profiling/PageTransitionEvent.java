@@ -0,0 +1,33 @@
+package com.saucedemo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A page object created, usually by an action on the page before it that navigated there. */
+@Name("com.saucedemo.PageTransition")
+@Label("Page Transition")
+@Category({"SauceDemo", "Page Objects"})
+@Description("A page object created, with the page-object method that led to it")
+@StackTrace(false)
+public final class PageTransitionEvent extends Event {
+    @Label("To Page")
+    String page;
+
+    @Label("Trigger")
+    @Description("The page-object method that created the page, as Page#method; empty when a test did")
+    String trigger;
+
+    /** Records the creation of {@code page} when such events are being recorded. */
+    public static void emit(Class<?> page) {
+        PageTransitionEvent event = new PageTransitionEvent();
+        if (event.shouldCommit()) {
+            event.page = page.getSimpleName();
+            event.trigger = PageFrames.caller(page);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.saucedemo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** An explicit wait of a page object, from its start until the condition held or it timed out. */
+@Name("com.saucedemo.PageWait")
+@Label("Page Wait")
+@Category({"SauceDemo", "Page Objects"})
+@Description("An explicit wait of a page object for an element condition")
+@StackTrace(false)
+public final class PageWaitEvent extends Event {
+    @Label("Condition")
+    String condition;
+
+    @Label("Page Method")
+    @Description("The page-object method that waited, as Page#method")
+    String method;
+
+    @Label("Satisfied")
+    @Description("False when the wait timed out or failed")
+    boolean satisfied;
+
+    /**
+     * Commits the event when it is being recorded; the page method and the condition's
+     * description are only looked up then.
+     */
+    public void finish(Object condition, boolean satisfied) {
+        end();
+        if (shouldCommit()) {
+            this.condition = String.valueOf(condition);
+            this.method = PageFrames.caller();
+            this.satisfied = satisfied;
+            commit();
+        }
+    }
+}
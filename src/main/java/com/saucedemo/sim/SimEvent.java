@@ -0,0 +1,29 @@
+package com.saucedemo.sim;
+
+/** A DOM event bubbling from its target through the ancestors' listeners. */
+final class SimEvent {
+    private final String type;
+    private final SimNode target;
+    private boolean defaultPrevented;
+
+    SimEvent(String type, SimNode target) {
+        this.type = type;
+        this.target = target;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    SimNode getTarget() {
+        return target;
+    }
+
+    void preventDefault() {
+        defaultPrevented = true;
+    }
+
+    boolean isDefaultPrevented() {
+        return defaultPrevented;
+    }
+}
@@ -0,0 +1,250 @@
+package com.saucedemo.sim;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parser and serializer for the well-formed markup of the stand-in pages and the fragments its
+ * scripts render. Not a general HTML parser: there is no implied-tag or error recovery beyond
+ * void elements and closing tags that match an open ancestor. Comments and the doctype are
+ * dropped, and script and style contents are kept as raw text.
+ */
+final class SimHtml {
+    private static final Set<String> VOID_ELEMENTS = Set.of("area", "base", "br", "col", "embed", "hr", "img",
+            "input", "link", "meta", "source", "track", "wbr");
+    private static final Set<String> RAW_TEXT_ELEMENTS = Set.of("script", "style");
+    private static final Map<String, String> ENTITIES = Map.of("amp", "&", "lt", "<", "gt", ">", "quot", "\"",
+            "apos", "'", "nbsp", " ");
+
+    private final String html;
+    private int pos;
+
+    private SimHtml(String html) {
+        this.html = html;
+    }
+
+    /** Parses a full document; the result is its {@code html} element. */
+    static SimNode parseDocument(String html) {
+        for (SimNode node : parseFragment(html)) {
+            if (node.isElement() && node.getTag().equals("html")) {
+                node.detach();
+                return node;
+            }
+        }
+        throw new IllegalArgumentException("Markup has no <html> element");
+    }
+
+    static List<SimNode> parseFragment(String html) {
+        return new SimHtml(html).parse();
+    }
+
+    private List<SimNode> parse() {
+        SimNode container = SimNode.element("#fragment");
+        Deque<SimNode> open = new ArrayDeque<>();
+        open.push(container);
+        while (pos < html.length()) {
+            if (html.startsWith("<!--", pos)) {
+                int end = html.indexOf("-->", pos + 4);
+                pos = end < 0 ? html.length() : end + 3;
+            } else if (html.startsWith("<!", pos) || html.startsWith("<?", pos)) {
+                int end = html.indexOf('>', pos);
+                pos = end < 0 ? html.length() : end + 1;
+            } else if (html.startsWith("</", pos)) {
+                int end = html.indexOf('>', pos);
+                String name = html.substring(pos + 2, end < 0 ? html.length() : end).trim().toLowerCase();
+                pos = end < 0 ? html.length() : end + 1;
+                closeElement(open, name);
+            } else if (html.charAt(pos) == '<' && pos + 1 < html.length() && Character.isLetter(html.charAt(pos + 1))) {
+                openElement(open);
+            } else {
+                int end = html.indexOf('<', pos + 1);
+                end = end < 0 ? html.length() : end;
+                open.peek().appendChild(SimNode.text(decode(html.substring(pos, end))));
+                pos = end;
+            }
+        }
+        return new ArrayList<>(container.getChildren());
+    }
+
+    private void openElement(Deque<SimNode> open) {
+        pos++;
+        SimNode element = SimNode.element(readName());
+        boolean selfClosing = false;
+        while (pos < html.length()) {
+            skipWhitespace();
+            char c = html.charAt(pos);
+            if (c == '>') {
+                pos++;
+                break;
+            }
+            if (c == '/') {
+                selfClosing = true;
+                pos++;
+                continue;
+            }
+            String name = readName().toLowerCase();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Malformed tag near offset " + pos);
+            }
+            skipWhitespace();
+            String value = "";
+            if (pos < html.length() && html.charAt(pos) == '=') {
+                pos++;
+                skipWhitespace();
+                value = decode(readAttributeValue());
+            }
+            element.setAttr(name, value);
+        }
+        open.peek().appendChild(element);
+        String tag = element.getTag();
+        if (RAW_TEXT_ELEMENTS.contains(tag)) {
+            String close = "</" + tag;
+            int end = html.toLowerCase().indexOf(close, pos);
+            end = end < 0 ? html.length() : end;
+            if (end > pos) {
+                element.appendChild(SimNode.text(html.substring(pos, end)));
+            }
+            pos = end;
+        } else if (!selfClosing && !VOID_ELEMENTS.contains(tag)) {
+            open.push(element);
+        }
+    }
+
+    private static void closeElement(Deque<SimNode> open, String name) {
+        for (SimNode node : open) {
+            if (name.equals(node.getTag())) {
+                SimNode popped;
+                do {
+                    popped = open.pop();
+                } while (popped != node);
+                return;
+            }
+        }
+    }
+
+    private String readName() {
+        int start = pos;
+        while (pos < html.length()) {
+            char c = html.charAt(pos);
+            if (Character.isWhitespace(c) || c == '>' || c == '/' || c == '=') {
+                break;
+            }
+            pos++;
+        }
+        return html.substring(start, pos);
+    }
+
+    private String readAttributeValue() {
+        char quote = html.charAt(pos);
+        if (quote == '"' || quote == '\'') {
+            int end = html.indexOf(quote, pos + 1);
+            String value = html.substring(pos + 1, end);
+            pos = end + 1;
+            return value;
+        }
+        int start = pos;
+        while (pos < html.length() && !Character.isWhitespace(html.charAt(pos)) && html.charAt(pos) != '>') {
+            pos++;
+        }
+        return html.substring(start, pos);
+    }
+
+    private void skipWhitespace() {
+        while (pos < html.length() && Character.isWhitespace(html.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    static String decode(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int semicolon = c == '&' ? text.indexOf(';', i) : -1;
+            if (semicolon > i && semicolon - i <= 10) {
+                String entity = text.substring(i + 1, semicolon);
+                String decoded = entity.startsWith("#x") ? codePoint(entity.substring(2), 16)
+                        : entity.startsWith("#") ? codePoint(entity.substring(1), 10) : ENTITIES.get(entity);
+                if (decoded != null) {
+                    builder.append(decoded);
+                    i = semicolon + 1;
+                    continue;
+                }
+            }
+            builder.append(c);
+            i++;
+        }
+        return builder.toString();
+    }
+
+    private static String codePoint(String digits, int radix) {
+        try {
+            return new String(Character.toChars(Integer.parseInt(digits, radix)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static String escape(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '&':
+                    builder.append("&amp;");
+                    break;
+                case '<':
+                    builder.append("&lt;");
+                    break;
+                case '>':
+                    builder.append("&gt;");
+                    break;
+                case '"':
+                    builder.append("&quot;");
+                    break;
+                case '\'':
+                    builder.append("&#39;");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /** Markup of {@code node} and its descendants, like {@code outerHTML}. */
+    static String serialize(SimNode node) {
+        StringBuilder builder = new StringBuilder();
+        serialize(node, builder);
+        return builder.toString();
+    }
+
+    private static void serialize(SimNode node, StringBuilder builder) {
+        if (!node.isElement()) {
+            builder.append(escape(node.getText()));
+            return;
+        }
+        builder.append('<').append(node.getTag());
+        for (Map.Entry<String, String> attribute : node.getAttributes().entrySet()) {
+            builder.append(' ').append(attribute.getKey()).append("=\"").append(escape(attribute.getValue())).append('"');
+        }
+        builder.append('>');
+        if (VOID_ELEMENTS.contains(node.getTag())) {
+            return;
+        }
+        if (RAW_TEXT_ELEMENTS.contains(node.getTag())) {
+            builder.append(node.textContent());
+        } else {
+            for (SimNode child : node.getChildren()) {
+                serialize(child, builder);
+            }
+        }
+        builder.append("</").append(node.getTag()).append('>');
+    }
+}
@@ -0,0 +1,199 @@
+package com.saucedemo.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Element or text node of a {@link SimWebDriver} document. Elements keep their attributes in
+ * source order and their listeners per event type; an input's current value is its
+ * {@code value} attribute.
+ */
+final class SimNode {
+    private final String tag;
+    private final String text;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final List<SimNode> children = new ArrayList<>();
+    private final Map<String, List<Consumer<SimEvent>>> listeners = new LinkedHashMap<>();
+    private SimNode parent;
+
+    private SimNode(String tag, String text) {
+        this.tag = tag;
+        this.text = text;
+    }
+
+    static SimNode element(String tag) {
+        return new SimNode(tag.toLowerCase(), null);
+    }
+
+    static SimNode text(String text) {
+        return new SimNode(null, text);
+    }
+
+    boolean isElement() {
+        return tag != null;
+    }
+
+    String getTag() {
+        return tag;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    SimNode getParent() {
+        return parent;
+    }
+
+    List<SimNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    String attr(String name) {
+        return attributes.get(name);
+    }
+
+    boolean hasAttr(String name) {
+        return attributes.containsKey(name);
+    }
+
+    SimNode setAttr(String name, String value) {
+        attributes.put(name, value);
+        return this;
+    }
+
+    void removeAttr(String name) {
+        attributes.remove(name);
+    }
+
+    Set<String> classes() {
+        String value = attributes.get("class");
+        if (value == null || value.isBlank()) {
+            return Collections.emptySet();
+        }
+        return new LinkedHashSet<>(Arrays.asList(value.trim().split("\\s+")));
+    }
+
+    boolean hasClass(String name) {
+        return classes().contains(name);
+    }
+
+    void addClass(String name) {
+        Set<String> classes = new LinkedHashSet<>(classes());
+        if (classes.add(name)) {
+            attributes.put("class", String.join(" ", classes));
+        }
+    }
+
+    void removeClass(String name) {
+        Set<String> classes = new LinkedHashSet<>(classes());
+        if (classes.remove(name)) {
+            attributes.put("class", String.join(" ", classes));
+        }
+    }
+
+    void appendChild(SimNode child) {
+        child.detach();
+        child.parent = this;
+        children.add(child);
+    }
+
+    /** Replaces the children, like assigning {@code innerHTML}. */
+    void setChildren(List<SimNode> nodes) {
+        new ArrayList<>(children).forEach(SimNode::detach);
+        nodes.forEach(this::appendChild);
+    }
+
+    void setTextContent(String value) {
+        setChildren(List.of(text(value)));
+    }
+
+    /** Replaces this node in its parent, like assigning {@code outerHTML}. */
+    void replaceWith(List<SimNode> nodes) {
+        SimNode oldParent = parent;
+        int index = oldParent.children.indexOf(this);
+        detach();
+        for (int i = 0; i < nodes.size(); i++) {
+            SimNode node = nodes.get(i);
+            node.detach();
+            node.parent = oldParent;
+            oldParent.children.add(index + i, node);
+        }
+    }
+
+    void detach() {
+        if (parent != null) {
+            parent.children.remove(this);
+            parent = null;
+        }
+    }
+
+    SimNode root() {
+        SimNode node = this;
+        while (node.parent != null) {
+            node = node.parent;
+        }
+        return node;
+    }
+
+    /** Concatenated text of all descendants, like {@code textContent}. */
+    String textContent() {
+        if (!isElement()) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (SimNode child : children) {
+            builder.append(child.textContent());
+        }
+        return builder.toString();
+    }
+
+    /** Descendant elements in document order. */
+    List<SimNode> descendants() {
+        List<SimNode> result = new ArrayList<>();
+        collect(result);
+        return result;
+    }
+
+    private void collect(List<SimNode> result) {
+        for (SimNode child : children) {
+            if (child.isElement()) {
+                result.add(child);
+                child.collect(result);
+            }
+        }
+    }
+
+    void addListener(String type, Consumer<SimEvent> listener) {
+        listeners.computeIfAbsent(type, key -> new ArrayList<>()).add(listener);
+    }
+
+    List<Consumer<SimEvent>> listeners(String type) {
+        return new ArrayList<>(listeners.getOrDefault(type, List.of()));
+    }
+
+    @Override
+    public String toString() {
+        if (!isElement()) {
+            return "#text " + text;
+        }
+        StringBuilder builder = new StringBuilder("<").append(tag);
+        for (String name : List.of("id", "data-test", "class")) {
+            if (attributes.containsKey(name)) {
+                builder.append(' ').append(name).append("=\"").append(attributes.get(name)).append('"');
+            }
+        }
+        return builder.append('>').toString();
+    }
+}
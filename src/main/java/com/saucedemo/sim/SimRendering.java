@@ -0,0 +1,132 @@
+package com.saucedemo.sim;
+
+import com.saucedemo.standin.SwagLabsServer;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Layout-free answers to "is it displayed" and "what text does it show", following WebDriver's
+ * rules closely enough for the stand-in pages. An element is hidden by the {@code hidden}
+ * attribute, by being in a non-rendered element, or by having no size: no visible text, no form
+ * control or image, and no fixed width and height from the stand-in stylesheet.
+ */
+final class SimRendering {
+    private static final Set<String> NOT_RENDERED = Set.of("head", "script", "style", "title", "meta", "link",
+            "template", "noscript");
+    private static final Set<String> REPLACED = Set.of("input", "button", "select", "textarea", "img", "svg",
+            "video", "canvas", "iframe", "option");
+    private static final Set<String> BLOCKS = Set.of("address", "article", "aside", "blockquote", "div", "dl",
+            "dt", "dd", "fieldset", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hr", "li",
+            "main", "nav", "ol", "p", "pre", "section", "table", "tr", "ul");
+    private static final Pattern RULE = Pattern.compile("([^{}]+)\\{([^}]*)}");
+    private static final Pattern FIXED_WIDTH = Pattern.compile("(^|;)\\s*width\\s*:\\s*\\d+px");
+    private static final Pattern FIXED_HEIGHT = Pattern.compile("(^|;)\\s*height\\s*:\\s*\\d+px");
+    private static final Set<String> SIZED_CLASSES = sizedClasses(SwagLabsServer.stylesheet());
+
+    private SimRendering() {
+    }
+
+    static boolean isDisplayed(SimNode element) {
+        for (SimNode node = element; node != null; node = node.getParent()) {
+            if (isHidden(node)) {
+                return false;
+            }
+        }
+        String tag = element.getTag();
+        return tag.equals("html") || tag.equals("body") || hasSize(element);
+    }
+
+    /** Rendered text, one line per block, with whitespace collapsed; empty when not displayed. */
+    static String visibleText(SimNode element) {
+        if (!isDisplayed(element)) {
+            return "";
+        }
+        StringBuilder raw = new StringBuilder();
+        appendText(element, raw);
+        StringBuilder text = new StringBuilder();
+        for (String line : raw.toString().split("\n")) {
+            String normalized = normalizeSpace(line);
+            if (!normalized.isEmpty()) {
+                if (text.length() > 0) {
+                    text.append('\n');
+                }
+                text.append(normalized);
+            }
+        }
+        return text.toString();
+    }
+
+    static String normalizeSpace(String text) {
+        return text.trim().replaceAll("\\s+", " ");
+    }
+
+    private static void appendText(SimNode node, StringBuilder text) {
+        if (!node.isElement()) {
+            text.append(node.getText().replace('\n', ' '));
+            return;
+        }
+        if (isHidden(node)) {
+            return;
+        }
+        String tag = node.getTag();
+        if (tag.equals("br")) {
+            text.append('\n');
+            return;
+        }
+        boolean block = BLOCKS.contains(tag);
+        if (block) {
+            text.append('\n');
+        }
+        for (SimNode child : node.getChildren()) {
+            appendText(child, text);
+        }
+        if (block) {
+            text.append('\n');
+        }
+    }
+
+    private static boolean isHidden(SimNode node) {
+        return node.hasAttr("hidden") || NOT_RENDERED.contains(node.getTag())
+                || (node.getTag().equals("input") && "hidden".equalsIgnoreCase(node.attr("type")));
+    }
+
+    private static boolean hasSize(SimNode element) {
+        if (REPLACED.contains(element.getTag())
+                || (element.hasAttr("width") && element.hasAttr("height"))) {
+            return true;
+        }
+        for (String name : element.classes()) {
+            if (SIZED_CLASSES.contains(name)) {
+                return true;
+            }
+        }
+        for (SimNode child : element.getChildren()) {
+            if (child.isElement() ? !isHidden(child) && hasSize(child) : !child.getText().isBlank()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Classes that a single-class rule of the stylesheet gives a fixed pixel width and height. */
+    static Set<String> sizedClasses(String css) {
+        Set<String> classes = new HashSet<>();
+        Matcher rule = RULE.matcher(css);
+        while (rule.find()) {
+            String declarations = rule.group(2);
+            if (!FIXED_WIDTH.matcher(declarations).find() || !FIXED_HEIGHT.matcher(declarations).find()) {
+                continue;
+            }
+            for (String selector : rule.group(1).split(",")) {
+                String trimmed = selector.trim();
+                if (trimmed.matches("\\.[\\w-]+")) {
+                    classes.add(trimmed.substring(1));
+                }
+            }
+        }
+        return classes;
+    }
+}
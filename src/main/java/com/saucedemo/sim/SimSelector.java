@@ -0,0 +1,414 @@
+package com.saucedemo.sim;
+
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * CSS selectors as used by the page objects: type, universal, {@code #id}, {@code .class} and
+ * attribute selectors ({@code = ~= |= ^= $= *=}), the {@code :first-child}, {@code :last-child},
+ * {@code :disabled}, {@code :enabled}, {@code :checked}, {@code :invalid} and {@code :not()}
+ * pseudo-classes, all four combinators and selector lists. Also the few XPath shapes the popup
+ * handlers and {@code Select} use: {@code //tag} or {@code .//tag} with {@code text()},
+ * {@code contains(text(), ...)} and {@code @attr} predicates. Anything else is an {@link InvalidSelectorException}, as in a browser.
+ */
+final class SimSelector {
+    private static final Pattern XPATH = Pattern.compile("^\\.?//(\\*|[a-zA-Z][\\w-]*)((?:\\[[^\\]]+\\])*)$");
+    private static final Pattern XPATH_PREDICATE = Pattern.compile("\\[([^\\]]+)\\]");
+    private static final Pattern XPATH_EQUALS = Pattern.compile(
+            "^\\s*(text\\(\\)|\\.|normalize-space\\(\\)|@[\\w-]+)\\s*=\\s*(['\"])(.*)\\2\\s*$");
+    private static final Pattern XPATH_CONTAINS = Pattern.compile(
+            "^\\s*contains\\(\\s*(text\\(\\)|\\.|@[\\w-]+)\\s*,\\s*(['\"])(.*)\\2\\s*\\)\\s*$");
+
+    /** One selector of a list: compounds left to right, each after the combinator joining it to the previous. */
+    private final List<List<Compound>> selectors;
+
+    private SimSelector(List<List<Compound>> selectors) {
+        this.selectors = selectors;
+    }
+
+    static SimSelector css(String selector) {
+        return new SimSelector(new CssParser(selector).parseList());
+    }
+
+    static SimSelector xpath(String xpath) {
+        Matcher matcher = XPATH.matcher(xpath.trim());
+        if (!matcher.matches()) {
+            throw new InvalidSelectorException("XPath not supported by the simulated driver: " + xpath);
+        }
+        Compound compound = new Compound(' ');
+        String tag = matcher.group(1);
+        if (!tag.equals("*")) {
+            compound.conditions.add(node -> node.getTag().equals(tag.toLowerCase()));
+        }
+        Matcher predicates = XPATH_PREDICATE.matcher(matcher.group(2));
+        while (predicates.find()) {
+            compound.conditions.add(xpathPredicate(predicates.group(1), xpath));
+        }
+        return new SimSelector(List.of(List.of(compound)));
+    }
+
+    private static Predicate<SimNode> xpathPredicate(String predicate, String xpath) {
+        Matcher equals = XPATH_EQUALS.matcher(predicate);
+        if (equals.matches()) {
+            String operand = equals.group(1);
+            String value = equals.group(3);
+            if (operand.startsWith("@")) {
+                return node -> value.equals(node.attr(operand.substring(1)));
+            }
+            if (operand.equals("text()")) {
+                return node -> directTexts(node).contains(value);
+            }
+            return node -> value.equals(SimRendering.normalizeSpace(node.textContent()));
+        }
+        Matcher contains = XPATH_CONTAINS.matcher(predicate);
+        if (contains.matches()) {
+            String operand = contains.group(1);
+            String value = contains.group(3);
+            if (operand.startsWith("@")) {
+                return node -> node.hasAttr(operand.substring(1)) && node.attr(operand.substring(1)).contains(value);
+            }
+            if (operand.equals("text()")) {
+                return node -> !directTexts(node).isEmpty() && directTexts(node).get(0).contains(value);
+            }
+            return node -> node.textContent().contains(value);
+        }
+        throw new InvalidSelectorException("XPath predicate not supported by the simulated driver: " + xpath);
+    }
+
+    private static List<String> directTexts(SimNode node) {
+        List<String> texts = new ArrayList<>();
+        for (SimNode child : node.getChildren()) {
+            if (!child.isElement()) {
+                texts.add(child.getText());
+            }
+        }
+        return texts;
+    }
+
+    /** Elements under {@code root} (not {@code root} itself) that match, in document order. */
+    List<SimNode> select(SimNode root) {
+        List<SimNode> result = new ArrayList<>();
+        for (SimNode node : root.descendants()) {
+            if (matches(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    SimNode first(SimNode root) {
+        for (SimNode node : root.descendants()) {
+            if (matches(node)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    boolean matches(SimNode node) {
+        for (List<Compound> selector : selectors) {
+            if (matches(node, selector, selector.size() - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(SimNode node, List<Compound> selector, int index) {
+        Compound compound = selector.get(index);
+        if (!compound.test(node)) {
+            return false;
+        }
+        if (index == 0) {
+            return true;
+        }
+        switch (compound.combinator) {
+            case '>':
+                return isElement(node.getParent()) && matches(node.getParent(), selector, index - 1);
+            case '+': {
+                SimNode previous = previousElementSibling(node);
+                return previous != null && matches(previous, selector, index - 1);
+            }
+            case '~':
+                for (SimNode previous = previousElementSibling(node); previous != null;
+                     previous = previousElementSibling(previous)) {
+                    if (matches(previous, selector, index - 1)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                for (SimNode ancestor = node.getParent(); isElement(ancestor); ancestor = ancestor.getParent()) {
+                    if (matches(ancestor, selector, index - 1)) {
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    private static boolean isElement(SimNode node) {
+        return node != null && node.isElement() && !node.getTag().startsWith("#");
+    }
+
+    private static SimNode previousElementSibling(SimNode node) {
+        if (node.getParent() == null) {
+            return null;
+        }
+        SimNode previous = null;
+        for (SimNode sibling : node.getParent().getChildren()) {
+            if (sibling == node) {
+                return previous;
+            }
+            if (sibling.isElement()) {
+                previous = sibling;
+            }
+        }
+        return null;
+    }
+
+    private static SimNode nextElementSibling(SimNode node) {
+        boolean seen = false;
+        for (SimNode sibling : node.getParent().getChildren()) {
+            if (seen && sibling.isElement()) {
+                return sibling;
+            }
+            seen |= sibling == node;
+        }
+        return null;
+    }
+
+    private static final class Compound {
+        private final char combinator;
+        private final List<Predicate<SimNode>> conditions = new ArrayList<>();
+
+        Compound(char combinator) {
+            this.combinator = combinator;
+        }
+
+        boolean test(SimNode node) {
+            for (Predicate<SimNode> condition : conditions) {
+                if (!condition.test(node)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class CssParser {
+        private final String selector;
+        private int pos;
+
+        CssParser(String selector) {
+            this.selector = selector;
+        }
+
+        List<List<Compound>> parseList() {
+            List<List<Compound>> list = new ArrayList<>();
+            do {
+                list.add(parseSelector());
+            } while (consume(','));
+            if (pos < selector.length()) {
+                throw invalid();
+            }
+            return list;
+        }
+
+        private List<Compound> parseSelector() {
+            List<Compound> compounds = new ArrayList<>();
+            char combinator = ' ';
+            while (true) {
+                skipWhitespace();
+                compounds.add(parseCompound(combinator));
+                boolean whitespace = skipWhitespace();
+                if (pos >= selector.length() || peek() == ',' || peek() == ')') {
+                    return compounds;
+                }
+                if (peek() == '>' || peek() == '+' || peek() == '~') {
+                    combinator = selector.charAt(pos++);
+                } else if (whitespace) {
+                    combinator = ' ';
+                } else {
+                    throw invalid();
+                }
+            }
+        }
+
+        private Compound parseCompound(char combinator) {
+            Compound compound = new Compound(combinator);
+            int start = pos;
+            if (!consume('*') && pos < selector.length() && isNameChar(peek())) {
+                String tag = readIdentifier().toLowerCase();
+                compound.conditions.add(node -> node.getTag().equals(tag));
+            }
+            while (pos < selector.length()) {
+                char c = peek();
+                if (c == '#') {
+                    pos++;
+                    String id = readIdentifier();
+                    compound.conditions.add(node -> id.equals(node.attr("id")));
+                } else if (c == '.') {
+                    pos++;
+                    String name = readIdentifier();
+                    compound.conditions.add(node -> node.hasClass(name));
+                } else if (c == '[') {
+                    pos++;
+                    compound.conditions.add(parseAttribute());
+                } else if (c == ':') {
+                    pos++;
+                    compound.conditions.add(parsePseudoClass());
+                } else {
+                    break;
+                }
+            }
+            if (pos == start) {
+                throw invalid();
+            }
+            return compound;
+        }
+
+        private Predicate<SimNode> parseAttribute() {
+            skipWhitespace();
+            String name = readIdentifier().toLowerCase();
+            skipWhitespace();
+            if (consume(']')) {
+                return node -> node.hasAttr(name);
+            }
+            String operator = consume('=') ? "=" : selector.substring(pos, Math.min(pos + 2, selector.length()));
+            if (!operator.equals("=")) {
+                if (operator.length() < 2 || operator.charAt(1) != '=' || "~|^$*".indexOf(operator.charAt(0)) < 0) {
+                    throw invalid();
+                }
+                pos += 2;
+            }
+            skipWhitespace();
+            String value;
+            char quote = peek();
+            if (quote == '"' || quote == '\'') {
+                int end = selector.indexOf(quote, pos + 1);
+                if (end < 0) {
+                    throw invalid();
+                }
+                value = selector.substring(pos + 1, end);
+                pos = end + 1;
+            } else {
+                value = readIdentifier();
+            }
+            skipWhitespace();
+            boolean ignoreCase = consume('i') || consume('I');
+            skipWhitespace();
+            if (!consume(']')) {
+                throw invalid();
+            }
+            return node -> {
+                String actual = node.attr(name);
+                if (actual == null) {
+                    return false;
+                }
+                String a = ignoreCase ? actual.toLowerCase() : actual;
+                String v = ignoreCase ? value.toLowerCase() : value;
+                switch (operator) {
+                    case "~=":
+                        return List.of(a.trim().split("\\s+")).contains(v);
+                    case "|=":
+                        return a.equals(v) || a.startsWith(v + "-");
+                    case "^=":
+                        return !v.isEmpty() && a.startsWith(v);
+                    case "$=":
+                        return !v.isEmpty() && a.endsWith(v);
+                    case "*=":
+                        return !v.isEmpty() && a.contains(v);
+                    default:
+                        return a.equals(v);
+                }
+            };
+        }
+
+        private Predicate<SimNode> parsePseudoClass() {
+            String name = readIdentifier().toLowerCase();
+            switch (name) {
+                case "first-child":
+                    return node -> node.getParent() != null && previousElementSibling(node) == null;
+                case "last-child":
+                    return node -> node.getParent() != null && nextElementSibling(node) == null;
+                case "disabled":
+                    return node -> node.hasAttr("disabled");
+                case "enabled":
+                    return node -> !node.hasAttr("disabled");
+                case "checked":
+                    return node -> node.hasAttr("checked") || node.hasAttr("selected");
+                case "invalid":
+                    // No stand-in control has a constraint (required, pattern, ...) to violate
+                    return node -> false;
+                case "not": {
+                    if (!consume('(')) {
+                        throw invalid();
+                    }
+                    List<Compound> inner = parseSelector();
+                    if (inner.size() != 1 || !consume(')')) {
+                        throw invalid();
+                    }
+                    Compound negated = inner.get(0);
+                    return node -> !negated.test(node);
+                }
+                default:
+                    throw new InvalidSelectorException("Pseudo-class :" + name
+                            + " not supported by the simulated driver: " + selector);
+            }
+        }
+
+        private String readIdentifier() {
+            StringBuilder builder = new StringBuilder();
+            while (pos < selector.length()) {
+                char c = peek();
+                if (c == '\\' && pos + 1 < selector.length()) {
+                    builder.append(selector.charAt(pos + 1));
+                    pos += 2;
+                } else if (isNameChar(c)) {
+                    builder.append(c);
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (builder.length() == 0) {
+                throw invalid();
+            }
+            return builder.toString();
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c > 0x7f;
+        }
+
+        private boolean skipWhitespace() {
+            int start = pos;
+            while (pos < selector.length() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private boolean consume(char c) {
+            if (pos < selector.length() && peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private char peek() {
+            return pos < selector.length() ? selector.charAt(pos) : '\0';
+        }
+
+        private InvalidSelectorException invalid() {
+            return new InvalidSelectorException("Invalid or unsupported CSS selector at offset " + pos + ": " + selector);
+        }
+    }
+}
@@ -0,0 +1,675 @@
+package com.saucedemo.sim;
+
+import com.saucedemo.standin.SwagLabsServer;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.Logs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory WebDriver for the Swag Labs pages: the stand-in's markup is parsed into a DOM, and
+ * its client script runs as {@link SwagLabsScripts}, so page objects, locators and waits work
+ * unchanged without a browser or a network. Every command is synchronous, so implicit and
+ * page-load timeouts are accepted and ignored. Any origin serves the stand-in, which lets the
+ * tests keep their {@code base.url}. Select it with {@code default.browser=sim}.
+ * <p>
+ * What it does not simulate: layout (sizes and positions are nominal), CSS beyond which classes
+ * give an element a size, frames, windows, alerts and arbitrary JavaScript; only the scripts the
+ * framework itself runs are understood.
+ */
+public class SimWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+    private static final Logger logger = LoggerFactory.getLogger(SimWebDriver.class);
+    private static final String BLANK = "about:blank";
+    /** Back/forward entries kept per tab, as in Chrome; a long-lived session does not grow without bound. */
+    private static final int MAX_HISTORY = 50;
+    private static final String NOT_FOUND = "<!DOCTYPE html><html><head><title>404 Not Found</title></head>"
+            + "<body><h1>Not Found</h1></body></html>";
+    private static final Pattern QUERY_SELECTOR_EXISTS = Pattern.compile(
+            "^\\s*return\\s+document\\.querySelector\\((['\"])(.*)\\1\\)\\s*!==?\\s*null\\s*;?\\s*$");
+    private static final Pattern STORAGE_CLEAR = Pattern.compile(
+            "^(\\s*window\\.(localStorage|sessionStorage)\\.clear\\(\\)\\s*;?)+\\s*$");
+    private static final byte[] SCREENSHOT = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+
+    private final String windowHandle = UUID.randomUUID().toString();
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final Map<String, String> localStorage = new HashMap<>();
+    private final Map<String, String> sessionStorage = new HashMap<>();
+    private final List<String> history = new ArrayList<>();
+    private int historyIndex = -1;
+    private String currentUrl = BLANK;
+    private SimNode document = SimHtml.parseDocument("<html><head></head><body></body></html>");
+    private SimNode activeElement;
+    private String pendingNavigation;
+    private int dispatchDepth;
+    private boolean quit;
+
+    // --- WebDriver ---
+
+    @Override
+    public void get(String url) {
+        checkSession();
+        navigateTo(url, true);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkSession();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkSession();
+        SimNode title = SimSelector.css("title").first(document);
+        return title != null ? SimRendering.normalizeSpace(title.textContent()) : "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkSession();
+        return find(document, by, this);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Unable to locate element: " + by);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkSession();
+        return "<!DOCTYPE html>" + SimHtml.serialize(document);
+    }
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+        cookies.clear();
+        localStorage.clear();
+        sessionStorage.clear();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        checkSession();
+        return Set.of(windowHandle);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkSession();
+        return windowHandle;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        checkSession();
+        return new SimTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        checkSession();
+        return new SimNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        checkSession();
+        return new SimOptions();
+    }
+
+    // --- JavascriptExecutor: only the scripts the framework runs ---
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkSession();
+        if (STORAGE_CLEAR.matcher(script).matches()) {
+            if (script.contains("localStorage")) {
+                localStorage.clear();
+            }
+            if (script.contains("sessionStorage")) {
+                sessionStorage.clear();
+            }
+            return null;
+        }
+        Matcher exists = QUERY_SELECTOR_EXISTS.matcher(script);
+        if (exists.matches()) {
+            return SimSelector.css(exists.group(2)).first(document) != null;
+        }
+        String trimmed = script.trim();
+        if (trimmed.matches("return\\s+document\\.readyState\\s*;?")) {
+            return "complete";
+        }
+        if (trimmed.matches("arguments\\[0\\]\\.click\\(\\)\\s*;?") && args.length > 0) {
+            element(args[0]).click();
+            return null;
+        }
+        if (trimmed.matches("arguments\\[0\\]\\.scrollIntoView\\(.*\\)\\s*;?") && args.length > 0) {
+            element(args[0]).node();
+            return null;
+        }
+        throw new UnsupportedCommandException("Script not supported by the simulated driver: " + script);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        throw new UnsupportedCommandException("Async scripts are not supported by the simulated driver");
+    }
+
+    // --- TakesScreenshot ---
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        checkSession();
+        return target.convertFromPngBytes(SCREENSHOT.clone());
+    }
+
+    // --- used by SwagLabsScripts and SimWebElement ---
+
+    Map<String, String> localStorage() {
+        return localStorage;
+    }
+
+    void setCookie(String name, String value) {
+        cookies.put(name, new Cookie(name, value, "/"));
+    }
+
+    void deleteCookie(String name) {
+        cookies.remove(name);
+    }
+
+    String queryParameter(String name) {
+        String query = URI.create(currentUrl).getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+                return equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /** {@code location.href = url}: takes effect once the current event has been dispatched. */
+    void assignLocation(String url) {
+        pendingNavigation = resolve(url);
+    }
+
+    void reloadLocation() {
+        pendingNavigation = currentUrl;
+    }
+
+    SimNode document() {
+        return document;
+    }
+
+    SimNode activeElement() {
+        return activeElement;
+    }
+
+    void focus(SimNode element) {
+        activeElement = element;
+    }
+
+    void checkSession() {
+        if (quit) {
+            throw new NoSuchSessionException("Session of the simulated driver has been quit");
+        }
+    }
+
+    /** The option a {@code select} shows: the last one marked selected, else the first. */
+    static SimNode selectedOption(SimNode select) {
+        List<SimNode> options = SimSelector.css("option").select(select);
+        SimNode chosen = null;
+        for (SimNode option : options) {
+            if (option.hasAttr("selected")) {
+                chosen = option;
+            }
+        }
+        return chosen != null || options.isEmpty() ? chosen : options.get(0);
+    }
+
+    static String selectValue(SimNode select) {
+        SimNode option = selectedOption(select);
+        if (option == null) {
+            return "";
+        }
+        return option.hasAttr("value") ? option.attr("value") : SimRendering.normalizeSpace(option.textContent());
+    }
+
+    /**
+     * Dispatches an event along the path from the document to {@code target}, fixed before any
+     * listener runs, then performs the default action unless a listener prevented it.
+     */
+    void dispatch(String type, SimNode target, Consumer<SimEvent> defaultAction) {
+        List<SimNode> path = new ArrayList<>();
+        for (SimNode node = target; node != null; node = node.getParent()) {
+            path.add(node);
+        }
+        SimEvent event = new SimEvent(type, target);
+        dispatchDepth++;
+        try {
+            for (SimNode node : path) {
+                for (Consumer<SimEvent> listener : node.listeners(type)) {
+                    listener.accept(event);
+                }
+            }
+            if (defaultAction != null && !event.isDefaultPrevented()) {
+                defaultAction.accept(event);
+            }
+        } finally {
+            dispatchDepth--;
+        }
+        if (dispatchDepth == 0 && pendingNavigation != null) {
+            String url = pendingNavigation;
+            pendingNavigation = null;
+            navigateTo(url, !url.equals(currentUrl));
+        }
+    }
+
+    String resolve(String href) {
+        try {
+            URI base = new URI(currentUrl.equals(BLANK) ? "http://localhost/" : currentUrl);
+            return base.resolve(href.trim()).toString();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new InvalidArgumentException("Invalid URL: " + href);
+        }
+    }
+
+    private void navigateTo(String url, boolean record) {
+        if (url.equals(BLANK)) {
+            load(BLANK, "<html><head></head><body></body></html>", false);
+        } else {
+            URI uri;
+            try {
+                uri = new URI(url);
+            } catch (URISyntaxException e) {
+                throw new InvalidArgumentException("Invalid URL: " + url);
+            }
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                throw new InvalidArgumentException("Invalid URL: " + url);
+            }
+            String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+            String origin = uri.getScheme() + "://" + uri.getRawAuthority();
+            if (SwagLabsServer.requiresLogin(path) && !cookies.containsKey(SwagLabsScripts.SESSION_COOKIE)) {
+                navigateTo(origin + "/?denied=" + path, record);
+                return;
+            }
+            String markup = SwagLabsServer.pageMarkup(path);
+            String normalized = origin + path + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+            load(normalized, markup != null ? markup : NOT_FOUND, markup != null);
+        }
+        if (record) {
+            while (history.size() > historyIndex + 1) {
+                history.remove(history.size() - 1);
+            }
+            history.add(currentUrl);
+            if (history.size() > MAX_HISTORY) {
+                history.remove(0);
+            }
+            historyIndex = history.size() - 1;
+        }
+    }
+
+    private void load(String url, String markup, boolean runScripts) {
+        logger.debug("Loading {}", url);
+        currentUrl = url;
+        document = SimHtml.parseDocument(markup);
+        activeElement = null;
+        pendingNavigation = null;
+        if (runScripts) {
+            dispatchDepth++;
+            try {
+                SwagLabsScripts.run(this, document);
+            } finally {
+                dispatchDepth--;
+            }
+            if (pendingNavigation != null) {
+                String next = pendingNavigation;
+                pendingNavigation = null;
+                navigateTo(next, false);
+            }
+        }
+    }
+
+    private void traverse(int delta) {
+        int target = historyIndex + delta;
+        if (target >= 0 && target < history.size()) {
+            historyIndex = target;
+            navigateTo(history.get(target), false);
+        }
+    }
+
+    private SimWebElement element(Object argument) {
+        if (!(argument instanceof SimWebElement)) {
+            throw new InvalidArgumentException("Not an element of the simulated driver: " + argument);
+        }
+        return (SimWebElement) argument;
+    }
+
+    /** Runs {@code by} under {@code root}, translating the standard locators to {@link SimSelector}s. */
+    List<WebElement> find(SimNode root, By by, SearchContext context) {
+        if (!(by instanceof By.Remotable)) {
+            return by.findElements(context);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        SimSelector selector;
+        switch (parameters.using()) {
+            case "css selector":
+                selector = SimSelector.css(value);
+                break;
+            case "xpath":
+                selector = SimSelector.xpath(value);
+                break;
+            case "tag name":
+                selector = SimSelector.css(value);
+                break;
+            case "id":
+                selector = SimSelector.css("[id=\"" + value + "\"]");
+                break;
+            case "name":
+                selector = SimSelector.css("[name=\"" + value + "\"]");
+                break;
+            case "class name":
+                selector = SimSelector.css("." + value);
+                break;
+            case "link text":
+            case "partial link text":
+                return findLinks(root, value, parameters.using().equals("partial link text"));
+            default:
+                throw new UnsupportedCommandException("Locator not supported by the simulated driver: " + by);
+        }
+        List<WebElement> elements = new ArrayList<>();
+        for (SimNode node : selector.select(root)) {
+            elements.add(new SimWebElement(this, node));
+        }
+        return elements;
+    }
+
+    private List<WebElement> findLinks(SimNode root, String text, boolean partial) {
+        List<WebElement> elements = new ArrayList<>();
+        for (SimNode link : SimSelector.css("a").select(root)) {
+            String shown = SimRendering.visibleText(link);
+            if (partial ? shown.contains(text) : shown.equals(text)) {
+                elements.add(new SimWebElement(this, link));
+            }
+        }
+        return elements;
+    }
+
+    private final class SimNavigation implements Navigation {
+        @Override
+        public void back() {
+            checkSession();
+            traverse(-1);
+        }
+
+        @Override
+        public void forward() {
+            checkSession();
+            traverse(1);
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            checkSession();
+            navigateTo(currentUrl, false);
+        }
+    }
+
+    private final class SimOptions implements Options {
+        @Override
+        public void addCookie(Cookie cookie) {
+            cookies.put(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            cookies.remove(name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            cookies.remove(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return new LinkedHashSet<>(cookies.values());
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return cookies.get(name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new SimTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            return new SimWindow();
+        }
+
+        @Override
+        public Logs logs() {
+            throw new UnsupportedCommandException("Logs are not supported by the simulated driver");
+        }
+    }
+
+    /** Accepted and ignored: nothing the simulated driver does ever waits. */
+    private static final class SimTimeouts implements Timeouts {
+        private Duration implicitWait = Duration.ZERO;
+        private Duration scriptTimeout = Duration.ofSeconds(30);
+        private Duration pageLoadTimeout = Duration.ofSeconds(300);
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            return implicitlyWait(Duration.ofNanos(unit.toNanos(time)));
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            implicitWait = duration;
+            return this;
+        }
+
+        @Override
+        public Duration getImplicitWaitTimeout() {
+            return implicitWait;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            return scriptTimeout(Duration.ofNanos(unit.toNanos(time)));
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration) {
+            scriptTimeout = duration;
+            return this;
+        }
+
+        @Override
+        public Duration getScriptTimeout() {
+            return scriptTimeout;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            return pageLoadTimeout(Duration.ofNanos(unit.toNanos(time)));
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration) {
+            pageLoadTimeout = duration;
+            return this;
+        }
+
+        @Override
+        public Duration getPageLoadTimeout() {
+            return pageLoadTimeout;
+        }
+    }
+
+    private static final class SimWindow implements Window {
+        private Dimension size = new Dimension(1920, 1080);
+        private Point position = new Point(0, 0);
+
+        @Override
+        public Dimension getSize() {
+            return size;
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+            size = targetSize;
+        }
+
+        @Override
+        public Point getPosition() {
+            return position;
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+            position = targetPosition;
+        }
+
+        @Override
+        public void maximize() {
+        }
+
+        @Override
+        public void minimize() {
+        }
+
+        @Override
+        public void fullscreen() {
+        }
+    }
+
+    private final class SimTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            throw new NoSuchFrameException("The simulated pages have no frames");
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            throw new NoSuchFrameException("The simulated pages have no frames");
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            throw new NoSuchFrameException("The simulated pages have no frames");
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return SimWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            if (!windowHandle.equals(nameOrHandle)) {
+                throw new NoSuchWindowException("No window " + nameOrHandle);
+            }
+            return SimWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            throw new UnsupportedCommandException("The simulated driver has a single window");
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return SimWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            SimNode body = SimSelector.css("body").first(document);
+            return new SimWebElement(SimWebDriver.this, activeElement != null ? activeElement : body);
+        }
+
+        @Override
+        public Alert alert() {
+            throw new NoAlertPresentException("The simulated pages open no alerts");
+        }
+    }
+}
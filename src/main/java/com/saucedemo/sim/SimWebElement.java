@@ -0,0 +1,337 @@
+package com.saucedemo.sim;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Element of a {@link SimWebDriver} page. It goes stale once its page is replaced, like a
+ * browser's; {@link #getAttribute} follows WebDriver's property-first rules for the properties
+ * the page objects read.
+ */
+final class SimWebElement implements WebElement, WrapsDriver {
+    private static final Set<String> BOOLEAN_ATTRIBUTES = Set.of("checked", "disabled", "hidden", "multiple",
+            "readonly", "required", "selected");
+    private static final Set<String> TEXT_INPUTS = Set.of("text", "password", "email", "number", "search", "tel",
+            "url");
+    private static final Dimension NOMINAL_SIZE = new Dimension(120, 24);
+
+    private final SimWebDriver driver;
+    private final SimNode node;
+
+    SimWebElement(SimWebDriver driver, SimNode node) {
+        this.driver = driver;
+        this.node = node;
+    }
+
+    /** The node, after checking that it is still in the current page. */
+    SimNode node() {
+        driver.checkSession();
+        if (node.root() != driver.document()) {
+            throw new StaleElementReferenceException("Element is no longer attached to the page: " + node);
+        }
+        return node;
+    }
+
+    @Override
+    public void click() {
+        requireInteractable();
+        if (isFocusable(node)) {
+            driver.focus(node);
+        }
+        driver.dispatch("click", node, event -> activate());
+    }
+
+    /** Default action of a click, unless a listener prevented it. */
+    private void activate() {
+        if (node.getTag().equals("option")) {
+            SimNode select = closest(node, "select");
+            if (select != null && SimWebDriver.selectedOption(select) != node) {
+                SimSelector.css("option").select(select).forEach(option -> option.removeAttr("selected"));
+                node.setAttr("selected", "");
+                driver.dispatch("change", select, null);
+            }
+            return;
+        }
+        if (node.getTag().equals("input") && "checkbox".equals(node.attr("type"))) {
+            if (node.hasAttr("checked")) {
+                node.removeAttr("checked");
+            } else {
+                node.setAttr("checked", "");
+            }
+            driver.dispatch("change", node, null);
+            return;
+        }
+        if (isSubmitButton(node)) {
+            SimNode form = closest(node, "form");
+            if (form != null) {
+                driver.dispatch("submit", form, null);
+            }
+            return;
+        }
+        SimNode link = closest(node, "a");
+        if (link != null && link.hasAttr("href") && !link.attr("href").startsWith("#")) {
+            driver.assignLocation(link.attr("href"));
+        }
+    }
+
+    @Override
+    public void submit() {
+        SimNode form = closest(node(), "form");
+        if (form == null) {
+            throw new UnsupportedOperationException("To submit an element, it must be nested inside a form element");
+        }
+        driver.dispatch("submit", form, null);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        if (keysToSend == null) {
+            throw new IllegalArgumentException("Keys to send should be a not null CharSequence");
+        }
+        requireInteractable();
+        if (!isEditable(node)) {
+            throw new ElementNotInteractableException("Element is not editable: " + node);
+        }
+        driver.focus(node);
+        StringBuilder value = new StringBuilder(valueOf(node));
+        for (CharSequence keys : keysToSend) {
+            for (int i = 0; i < keys.length(); i++) {
+                char key = keys.charAt(i);
+                if (key == Keys.ENTER.charAt(0) || key == Keys.RETURN.charAt(0)) {
+                    node.setAttr("value", value.toString());
+                    SimNode form = closest(node, "form");
+                    if (form != null) {
+                        driver.dispatch("submit", form, null);
+                    }
+                    return;
+                } else if (key == Keys.BACK_SPACE.charAt(0)) {
+                    if (value.length() > 0) {
+                        value.setLength(value.length() - 1);
+                    }
+                } else if (key < Keys.NULL.charAt(0) || key > '\uF8FF') {
+                    value.append(key);
+                }
+            }
+        }
+        node.setAttr("value", value.toString());
+    }
+
+    @Override
+    public void clear() {
+        requireInteractable();
+        if (!isEditable(node)) {
+            throw new ElementNotInteractableException("Element is not editable: " + node);
+        }
+        node.setAttr("value", "");
+    }
+
+    @Override
+    public String getTagName() {
+        return node().getTag();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        String property = getDomProperty(name);
+        if (property != null || BOOLEAN_ATTRIBUTES.contains(name)) {
+            return property;
+        }
+        return getDomAttribute(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return node().attr(name.toLowerCase());
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        SimNode element = node();
+        switch (name) {
+            case "value":
+                if (element.getTag().equals("select")) {
+                    return SimWebDriver.selectValue(element);
+                }
+                return element.getTag().equals("input") || element.getTag().equals("textarea")
+                        || element.getTag().equals("option") ? valueOf(element) : null;
+            case "class":
+            case "className":
+                return element.attr("class");
+            case "href":
+                return element.hasAttr("href") ? driver.resolve(element.attr("href")) : null;
+            case "textContent":
+                return element.textContent();
+            case "innerText":
+                return SimRendering.visibleText(element);
+            case "innerHTML":
+                return element.getChildren().stream().map(SimHtml::serialize).collect(Collectors.joining());
+            case "outerHTML":
+                return SimHtml.serialize(element);
+            case "selected":
+                return element.getTag().equals("option") ? String.valueOf(isSelected()) : null;
+            default:
+                if (BOOLEAN_ATTRIBUTES.contains(name)) {
+                    return element.hasAttr(name) ? "true" : null;
+                }
+                return null;
+        }
+    }
+
+    @Override
+    public boolean isSelected() {
+        SimNode element = node();
+        if (element.getTag().equals("option")) {
+            SimNode select = closest(element, "select");
+            return select != null ? SimWebDriver.selectedOption(select) == element : element.hasAttr("selected");
+        }
+        return element.hasAttr("checked");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        for (SimNode ancestor = node(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (ancestor.hasAttr("disabled") && (ancestor == node || ancestor.getTag().equals("fieldset"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return SimRendering.visibleText(node());
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return driver.find(node(), by, this);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Unable to locate element: " + by);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return SimRendering.isDisplayed(node());
+    }
+
+    @Override
+    public Point getLocation() {
+        node();
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return isDisplayed() ? NOMINAL_SIZE : new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        if (propertyName.equals("display")) {
+            return isDisplayed() ? "block" : "none";
+        }
+        if (propertyName.equals("visibility")) {
+            return isDisplayed() ? "visible" : "hidden";
+        }
+        node();
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        node();
+        return driver.getScreenshotAs(target);
+    }
+
+    @Override
+    public WebDriver getWrappedDriver() {
+        return driver;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SimWebElement && ((SimWebElement) other).node == node;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(node);
+    }
+
+    @Override
+    public String toString() {
+        return "[SimWebDriver] -> " + node;
+    }
+
+    private void requireInteractable() {
+        if (!SimRendering.isDisplayed(node())) {
+            throw new ElementNotInteractableException("Element is not displayed: " + node);
+        }
+    }
+
+    private static SimNode closest(SimNode node, String tag) {
+        for (SimNode candidate = node; candidate != null; candidate = candidate.getParent()) {
+            if (candidate.isElement() && candidate.getTag().equals(tag)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static String valueOf(SimNode element) {
+        if (element.hasAttr("value")) {
+            return element.attr("value");
+        }
+        return element.getTag().equals("option") ? SimRendering.normalizeSpace(element.textContent()) : "";
+    }
+
+    private static boolean isSubmitButton(SimNode element) {
+        String type = element.attr("type");
+        if (element.getTag().equals("button")) {
+            return type == null || type.equalsIgnoreCase("submit");
+        }
+        return element.getTag().equals("input") && type != null
+                && (type.equalsIgnoreCase("submit") || type.equalsIgnoreCase("image"));
+    }
+
+    private static boolean isEditable(SimNode element) {
+        if (element.hasAttr("readonly") || element.hasAttr("disabled")) {
+            return false;
+        }
+        if (element.getTag().equals("textarea")) {
+            return true;
+        }
+        String type = element.attr("type");
+        return element.getTag().equals("input") && (type == null || TEXT_INPUTS.contains(type.toLowerCase()));
+    }
+
+    private static boolean isFocusable(SimNode element) {
+        return Set.of("input", "button", "select", "textarea", "a").contains(element.getTag());
+    }
+}
@@ -0,0 +1,379 @@
+package com.saucedemo.sim;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Java port of the stand-in's {@code standin/app.js}: renders the inventory, cart and totals and
+ * wires up the same listeners, with the same markup, messages and storage ({@code cart-contents}
+ * in localStorage, the {@code session-username} cookie). Keep the two in step when either changes.
+ */
+final class SwagLabsScripts {
+    static final String SESSION_COOKIE = "session-username";
+    static final String CART_KEY = "cart-contents";
+
+    private static final List<Product> PRODUCTS = List.of(
+            new Product(4, "Sauce Labs Backpack", "sauce-labs-backpack", 2999,
+                    "carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection."),
+            new Product(0, "Sauce Labs Bike Light", "sauce-labs-bike-light", 999,
+                    "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included."),
+            new Product(1, "Sauce Labs Bolt T-Shirt", "sauce-labs-bolt-t-shirt", 1599,
+                    "Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt."),
+            new Product(5, "Sauce Labs Fleece Jacket", "sauce-labs-fleece-jacket", 4999,
+                    "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office."),
+            new Product(2, "Sauce Labs Onesie", "sauce-labs-onesie", 799,
+                    "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel."),
+            new Product(3, "Test.allTheThings() T-Shirt (Red)", "test.allthethings()-t-shirt-(red)", 1599,
+                    "This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton."));
+    private static final List<String> USERS = List.of("standard_user", "locked_out_user", "problem_user",
+            "performance_glitch_user", "error_user", "visual_user");
+    private static final String PASSWORD = "secret_sauce";
+    private static final String CLOSE_ICON = "<svg width=\"16\" height=\"16\" viewBox=\"0 0 16 16\" aria-hidden=\"true\">"
+            + "<path d=\"M3 3 L13 13 M13 3 L3 13\" stroke=\"currentColor\" stroke-width=\"2\"/></svg>";
+    private static final Map<String, Comparator<Product>> ORDERS = Map.of(
+            "az", Comparator.comparing(p -> p.name),
+            "za", Comparator.<Product, String>comparing(p -> p.name).reversed(),
+            "lohi", Comparator.<Product>comparingInt(p -> p.cents).thenComparing(p -> p.name),
+            "hilo", Comparator.<Product>comparingInt(p -> -p.cents).thenComparing(p -> p.name));
+
+    private final SimWebDriver browser;
+    private final SimNode document;
+
+    private SwagLabsScripts(SimWebDriver browser, SimNode document) {
+        this.browser = browser;
+        this.document = document;
+    }
+
+    /** Runs the page script of a freshly loaded document, as the {@code <script>} tag at its end would. */
+    static void run(SimWebDriver browser, SimNode document) {
+        SwagLabsScripts scripts = new SwagLabsScripts(browser, document);
+        SimNode body = SimSelector.css("body").first(document);
+        String page = body != null ? body.attr("data-page") : null;
+        if (page == null) {
+            return;
+        }
+        scripts.setUpHeader();
+        switch (page) {
+            case "login":
+                scripts.login();
+                break;
+            case "inventory":
+                scripts.inventory();
+                break;
+            case "cart":
+                scripts.cartPage();
+                break;
+            case "checkout-step-one":
+                scripts.checkoutStepOne();
+                break;
+            case "checkout-step-two":
+                scripts.checkoutStepTwo();
+                break;
+            case "checkout-complete":
+                scripts.checkoutComplete();
+                break;
+            default:
+                throw new IllegalStateException("No simulated script for page " + page);
+        }
+    }
+
+    private SimNode byTest(String dataTest) {
+        return query("[data-test=\"" + dataTest + "\"]");
+    }
+
+    private SimNode query(String selector) {
+        return SimSelector.css(selector).first(document);
+    }
+
+    private static SimNode closest(SimNode node, String selector) {
+        SimSelector compiled = SimSelector.css(selector);
+        for (SimNode candidate = node; candidate != null && candidate.isElement(); candidate = candidate.getParent()) {
+            if (compiled.matches(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static void on(SimNode node, String type, Consumer<SimEvent> listener) {
+        node.addListener(type, listener);
+    }
+
+    private static Product product(int id) {
+        for (Product product : PRODUCTS) {
+            if (product.id == id) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    private static String money(int cents) {
+        return String.format("$%d.%02d", cents / 100, cents % 100);
+    }
+
+    private List<Integer> cart() {
+        String json = browser.localStorage().get(CART_KEY);
+        List<Integer> ids = new ArrayList<>();
+        if (json == null || !json.startsWith("[") || !json.endsWith("]")) {
+            return ids;
+        }
+        try {
+            for (String id : json.substring(1, json.length() - 1).split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(Integer.parseInt(id.trim()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            return new ArrayList<>();
+        }
+        return ids;
+    }
+
+    private void saveCart(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            browser.localStorage().remove(CART_KEY);
+        } else {
+            browser.localStorage().put(CART_KEY,
+                    ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]")));
+        }
+        renderBadge();
+    }
+
+    private boolean toggleInCart(int id) {
+        List<Integer> ids = cart();
+        int at = ids.indexOf(id);
+        if (at >= 0) {
+            ids.remove(at);
+        } else {
+            ids.add(id);
+        }
+        saveCart(ids);
+        return at < 0;
+    }
+
+    private static String cartButton(Product item, boolean inCart) {
+        String action = inCart ? "remove" : "add-to-cart";
+        return "<button class=\"btn btn_small btn_inventory " + (inCart ? "btn_secondary" : "btn_primary") + "\""
+                + " data-test=\"" + action + "-" + item.slug + "\" id=\"" + action + "-" + item.slug + "\""
+                + " name=\"" + action + "-" + item.slug + "\" data-item=\"" + item.id + "\">"
+                + (inCart ? "Remove" : "Add to cart") + "</button>";
+    }
+
+    private static String itemLabel(Product item) {
+        return "<a href=\"#\" id=\"item_" + item.id + "_title_link\" data-test=\"item-" + item.id + "-title-link\">"
+                + "<div class=\"inventory_item_name\" data-test=\"inventory-item-name\">" + SimHtml.escape(item.name)
+                + "</div></a>"
+                + "<div class=\"inventory_item_desc\" data-test=\"inventory-item-desc\">" + SimHtml.escape(item.desc)
+                + "</div>";
+    }
+
+    private void renderBadge() {
+        SimNode link = byTest("shopping-cart-link");
+        if (link == null) {
+            return;
+        }
+        int count = cart().size();
+        link.setChildren(count > 0 ? SimHtml.parseFragment("<span class=\"shopping_cart_badge\" "
+                + "data-test=\"shopping-cart-badge\">" + count + "</span>") : List.of());
+    }
+
+    private void showError(SimNode container, String message, List<SimNode> inputs) {
+        container.setAttr("class", "error-message-container error");
+        container.setChildren(SimHtml.parseFragment("<h3 data-test=\"error\"><button class=\"error-button\" "
+                + "data-test=\"error-button\">" + CLOSE_ICON + "</button>" + SimHtml.escape(message) + "</h3>"));
+        inputs.forEach(input -> input.addClass("error"));
+        on(SimSelector.css(".error-button").first(container), "click", event -> {
+            event.preventDefault();
+            clearError(container, inputs);
+        });
+    }
+
+    private static void clearError(SimNode container, List<SimNode> inputs) {
+        container.setAttr("class", "error-message-container");
+        container.setChildren(List.of());
+        inputs.forEach(input -> input.removeClass("error"));
+    }
+
+    private void setUpHeader() {
+        SimNode menu = query("#menu");
+        if (menu == null) {
+            return;
+        }
+        on(query("#react-burger-menu-btn"), "click", event -> menu.removeAttr("hidden"));
+        on(query("#react-burger-cross-btn"), "click", event -> menu.setAttr("hidden", ""));
+        on(byTest("logout-sidebar-link"), "click", event -> {
+            event.preventDefault();
+            browser.deleteCookie(SESSION_COOKIE);
+            browser.assignLocation("/");
+        });
+        on(byTest("reset-sidebar-link"), "click", event -> {
+            event.preventDefault();
+            saveCart(new ArrayList<>());
+            browser.reloadLocation();
+        });
+        renderBadge();
+    }
+
+    private void login() {
+        SimNode username = byTest("username");
+        SimNode password = byTest("password");
+        SimNode container = query(".error-message-container");
+        List<SimNode> inputs = List.of(username, password);
+        String denied = browser.queryParameter("denied");
+        if (denied != null && !denied.isEmpty()) {
+            showError(container, "Epic sadface: You can only access '" + denied + "' when you are logged in.", inputs);
+        }
+        on(query("#login_form"), "submit", event -> {
+            event.preventDefault();
+            String user = value(username);
+            String message = null;
+            if (user.isEmpty()) {
+                message = "Epic sadface: Username is required";
+            } else if (value(password).isEmpty()) {
+                message = "Epic sadface: Password is required";
+            } else if (!USERS.contains(user) || !value(password).equals(PASSWORD)) {
+                message = "Epic sadface: Username and password do not match any user in this service";
+            } else if (user.equals("locked_out_user")) {
+                message = "Epic sadface: Sorry, this user has been locked out.";
+            }
+            if (message != null) {
+                showError(container, message, inputs);
+                return;
+            }
+            browser.setCookie(SESSION_COOKIE, user);
+            browser.assignLocation("/inventory.html");
+        });
+    }
+
+    private void inventory() {
+        SimNode list = query(".inventory_list");
+        SimNode sort = byTest("product-sort-container");
+        Runnable render = () -> {
+            List<Integer> ids = cart();
+            List<Product> products = new ArrayList<>(PRODUCTS);
+            products.sort(ORDERS.getOrDefault(SimWebDriver.selectValue(sort), ORDERS.get("az")));
+            StringBuilder html = new StringBuilder();
+            for (Product item : products) {
+                html.append("<div class=\"inventory_item\" data-test=\"inventory-item\">")
+                        .append("<div class=\"inventory_item_description\" data-test=\"inventory-item-description\">")
+                        .append("<div class=\"inventory_item_label\">").append(itemLabel(item)).append("</div>")
+                        .append("<div class=\"pricebar\"><div class=\"inventory_item_price\" data-test=\"inventory-item-price\">")
+                        .append(money(item.cents)).append("</div>").append(cartButton(item, ids.contains(item.id)))
+                        .append("</div></div></div>");
+            }
+            list.setChildren(SimHtml.parseFragment(html.toString()));
+        };
+        on(list, "click", event -> {
+            SimNode button = closest(event.getTarget(), "button[data-item]");
+            if (button != null) {
+                int id = Integer.parseInt(button.attr("data-item"));
+                button.replaceWith(SimHtml.parseFragment(cartButton(product(id), toggleInCart(id))));
+            }
+        });
+        on(sort, "change", event -> render.run());
+        render.run();
+    }
+
+    private void renderCartItems(boolean withRemove) {
+        SimNode items = query(".cart_items");
+        StringBuilder html = new StringBuilder();
+        for (int id : cart()) {
+            Product item = product(id);
+            if (item == null) {
+                continue;
+            }
+            html.append("<div class=\"cart_item\" data-test=\"inventory-item\">")
+                    .append("<div class=\"cart_quantity\" data-test=\"item-quantity\">1</div>")
+                    .append("<div class=\"cart_item_label\">").append(itemLabel(item))
+                    .append("<div class=\"item_pricebar\"><div class=\"inventory_item_price\" data-test=\"inventory-item-price\">")
+                    .append(money(item.cents)).append("</div>").append(withRemove ? cartButton(item, true) : "")
+                    .append("</div></div></div>");
+        }
+        items.setChildren(SimHtml.parseFragment(html.toString()));
+        if (withRemove) {
+            on(items, "click", event -> {
+                SimNode button = closest(event.getTarget(), "button[data-item]");
+                if (button != null) {
+                    toggleInCart(Integer.parseInt(button.attr("data-item")));
+                    closest(button, ".cart_item").detach();
+                }
+            });
+        }
+    }
+
+    private void cartPage() {
+        renderCartItems(true);
+        on(byTest("continue-shopping"), "click", event -> browser.assignLocation("/inventory.html"));
+        on(byTest("checkout"), "click", event -> browser.assignLocation("/checkout-step-one.html"));
+    }
+
+    private void checkoutStepOne() {
+        SimNode firstName = byTest("firstName");
+        SimNode lastName = byTest("lastName");
+        SimNode postalCode = byTest("postalCode");
+        SimNode container = query(".error-message-container");
+        List<SimNode> inputs = List.of(firstName, lastName, postalCode);
+        on(query("#checkout_form"), "submit", event -> {
+            event.preventDefault();
+            String message = value(firstName).isEmpty() ? "Error: First Name is required"
+                    : value(lastName).isEmpty() ? "Error: Last Name is required"
+                    : value(postalCode).isEmpty() ? "Error: Postal Code is required" : null;
+            if (message != null) {
+                showError(container, message, inputs);
+                return;
+            }
+            browser.assignLocation("/checkout-step-two.html");
+        });
+        on(byTest("cancel"), "click", event -> browser.assignLocation("/cart.html"));
+    }
+
+    private void checkoutStepTwo() {
+        renderCartItems(false);
+        int subtotal = 0;
+        for (int id : cart()) {
+            Product item = product(id);
+            if (item != null) {
+                subtotal += item.cents;
+            }
+        }
+        int tax = (int) Math.round(subtotal * 8 / 100.0);
+        byTest("subtotal-label").setTextContent("Item total: " + money(subtotal));
+        byTest("tax-label").setTextContent("Tax: " + money(tax));
+        byTest("total-label").setTextContent("Total: " + money(subtotal + tax));
+        on(byTest("cancel"), "click", event -> browser.assignLocation("/inventory.html"));
+        on(byTest("finish"), "click", event -> {
+            saveCart(new ArrayList<>());
+            browser.assignLocation("/checkout-complete.html");
+        });
+    }
+
+    private void checkoutComplete() {
+        on(byTest("back-to-products"), "click", event -> browser.assignLocation("/inventory.html"));
+    }
+
+    private static String value(SimNode input) {
+        String value = input.attr("value");
+        return value != null ? value : "";
+    }
+
+    private static final class Product {
+        private final int id;
+        private final String name;
+        private final String slug;
+        private final int cents;
+        private final String desc;
+
+        Product(int id, String name, String slug, int cents, String desc) {
+            this.id = id;
+            this.name = name;
+            this.slug = slug;
+            this.cents = cents;
+            this.desc = desc;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.saucedemo.standin;
+
+import com.saucedemo.utils.ConfigReader;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Artificial delay the stand-in adds before answering: a fixed part, a uniformly distributed
+ * jitter drawn from a seeded generator, and the extra delay {@code performance_glitch_user}
+ * suffers when the inventory loads (the real site's glitch is on landing after login).
+ */
+public final class ResponseLatency {
+    public static final ResponseLatency NONE = new ResponseLatency(Duration.ZERO, Duration.ZERO, Duration.ZERO, 0);
+    static final String GLITCH_USER = "performance_glitch_user";
+
+    private final long fixedMillis;
+    private final long jitterMillis;
+    private final long glitchMillis;
+    private final SplittableRandom random;
+
+    public ResponseLatency(Duration fixed, Duration jitter, Duration glitch, long seed) {
+        this.fixedMillis = fixed.toMillis();
+        this.jitterMillis = jitter.toMillis();
+        this.glitchMillis = glitch.toMillis();
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * {@code standin.latency}, {@code standin.latency.jitter}, {@code standin.glitch.delay} and
+     * {@code standin.seed}.
+     */
+    public static ResponseLatency fromConfig() {
+        return new ResponseLatency(ConfigReader.getDuration("standin.latency"),
+                ConfigReader.getDuration("standin.latency.jitter"), ConfigReader.getDuration("standin.glitch.delay"),
+                ConfigReader.getLong("standin.seed"));
+    }
+
+    /** Milliseconds to hold a response for {@code path} requested by {@code user} (may be null). */
+    public long millisFor(String path, String user) {
+        long millis = fixedMillis;
+        if (jitterMillis > 0) {
+            synchronized (random) {
+                millis += random.nextLong(jitterMillis + 1);
+            }
+        }
+        if (GLITCH_USER.equals(user) && path.equals("/inventory.html")) {
+            millis += glitchMillis;
+        }
+        return millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ms + up to %d ms jitter, glitch user +%d ms", fixedMillis, jitterMillis, glitchMillis);
+    }
+}
@@ -0,0 +1,277 @@
+package com.saucedemo.standin;
+
+import com.saucedemo.utils.ConfigReader;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for https://www.saucedemo.com: serves the login, inventory, cart, checkout
+ * step one/two and complete pages with the markup, {@code data-test} attributes, messages and
+ * prices the page objects rely on, so suites and benchmarks can run offline against a server
+ * with known, injectable latency ({@link ResponseLatency}).
+ * <p>
+ * Pages are static (from {@code standin/} on the classpath) and, like the real app, keep state
+ * in the browser: the {@code session-username} cookie and the {@code cart-contents} entry in
+ * localStorage. Protected pages requested without the cookie redirect to the login page, which
+ * then shows the real app's "You can only access ... when you are logged in" error.
+ * <p>
+ * Use {@code base.url=standin} to have the tests start one on {@code standin.port} (0 picks a
+ * free port), or run {@link #main} to serve it on its own.
+ */
+public final class SwagLabsServer implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(SwagLabsServer.class);
+    private static final String RESOURCE_ROOT = "standin/";
+    private static final String HEADER_MARKER = "<!--header-->";
+    private static final Set<String> PROTECTED_PAGES = Set.of("/inventory.html", "/cart.html",
+            "/checkout-step-one.html", "/checkout-step-two.html", "/checkout-complete.html");
+    private static SwagLabsServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Resource> routes;
+    private final ResponseLatency latency;
+    private final String baseUrl;
+    private final LongAdder requests = new LongAdder();
+
+    private SwagLabsServer(HttpServer server, ExecutorService executor, Map<String, Resource> routes,
+                           ResponseLatency latency, String host) {
+        this.server = server;
+        this.executor = executor;
+        this.routes = routes;
+        this.latency = latency;
+        this.baseUrl = "http://" + host + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Starts a server listening on all interfaces.
+     *
+     * @param port    port to listen on; 0 picks a free one
+     * @param host    host name browsers use to reach it, e.g. localhost
+     * @param threads request handler threads
+     */
+    public static SwagLabsServer start(int port, String host, int threads, ResponseLatency latency) {
+        // Without TCP_NODELAY the body write waits on the client's delayed ACK, ~40 ms per response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        Map<String, Resource> routes = loadRoutes();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "standin-http-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpServer httpServer;
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(port), 128);
+        } catch (IOException e) {
+            executor.shutdown();
+            throw new UncheckedIOException("Could not listen on port " + port, e);
+        }
+        SwagLabsServer standIn = new SwagLabsServer(httpServer, executor, routes, latency, host);
+        httpServer.createContext("/", standIn::handle);
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        logger.info("Swag Labs stand-in serving {} (latency: {})", standIn.baseUrl, latency);
+        return standIn;
+    }
+
+    /** The server configured by {@code standin.*}, started on first use and stopped on exit. */
+    public static synchronized SwagLabsServer shared() {
+        if (shared == null) {
+            shared = start(ConfigReader.getInt("standin.port"), ConfigReader.getProperty("standin.host"),
+                    ConfigReader.getInt("standin.threads"), ResponseLatency.fromConfig());
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "standin-shutdown"));
+        }
+        return shared;
+    }
+
+    /**
+     * {@code base.url}, or the address of the {@link #shared()} stand-in when it is {@code standin}.
+     */
+    public static String resolveBaseUrl() {
+        String baseUrl = ConfigReader.getProperty("base.url");
+        return "standin".equalsIgnoreCase(baseUrl.trim()) ? shared().getBaseUrl() : baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Swag Labs stand-in on {} stopped after {} requests", baseUrl, requests.sum());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                send(exchange, 405, null);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String user = sessionUser(exchange.getRequestHeaders());
+            sleep(latency.millisFor(path, user));
+
+            Resource resource = routes.get(path);
+            if (resource == null) {
+                send(exchange, 404, null);
+            } else if (PROTECTED_PAGES.contains(path) && user == null) {
+                exchange.getResponseHeaders().set("Location", "/?denied=" + path);
+                send(exchange, 302, null);
+            } else {
+                send(exchange, 200, resource);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, Resource resource) throws IOException {
+        boolean head = exchange.getRequestMethod().equals("HEAD");
+        if (resource == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", resource.contentType);
+        headers.set("Cache-Control", resource.contentType.startsWith("text/html") ? "no-store" : "max-age=3600");
+        exchange.sendResponseHeaders(status, head ? -1 : resource.body.length);
+        if (!head) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(resource.body);
+            }
+        }
+    }
+
+    private static String sessionUser(Headers headers) {
+        for (String cookieHeader : headers.getOrDefault("Cookie", List.of())) {
+            for (String cookie : cookieHeader.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals("session-username") && !pair[1].isEmpty()) {
+                    return pair[1];
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void sleep(long millis) {
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Markup of a page exactly as served, header included, or null when {@code path} is not a
+     * page. Lets other renderers of the stand-in share its pages.
+     */
+    public static String pageMarkup(String path) {
+        Resource resource = Routes.ALL.get(path);
+        return resource != null && resource.contentType.startsWith("text/html")
+                ? new String(resource.body, StandardCharsets.UTF_8) : null;
+    }
+
+    /** Whether {@code path} redirects to the login page when there is no session cookie. */
+    public static boolean requiresLogin(String path) {
+        return PROTECTED_PAGES.contains(path);
+    }
+
+    public static String stylesheet() {
+        return new String(Routes.ALL.get("/static/style.css").body, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Resource> loadRoutes() {
+        String header = new String(read("header.html"), StandardCharsets.UTF_8);
+        Map<String, Resource> routes = new HashMap<>();
+        Resource login = page("login.html", header);
+        routes.put("/", login);
+        routes.put("/index.html", login);
+        for (String page : PROTECTED_PAGES) {
+            routes.put(page, page(page.substring(1), header));
+        }
+        routes.put("/static/app.js", new Resource("application/javascript; charset=utf-8", read("app.js")));
+        routes.put("/static/style.css", new Resource("text/css; charset=utf-8", read("style.css")));
+        routes.put("/static/pony-express.svg", new Resource("image/svg+xml", read("pony-express.svg")));
+        return routes;
+    }
+
+    private static Resource page(String name, String header) {
+        String html = new String(read(name), StandardCharsets.UTF_8).replace(HEADER_MARKER, header);
+        return new Resource("text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] read(String name) {
+        try (InputStream in = SwagLabsServer.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Stand-in resource missing from classpath: " + RESOURCE_ROOT + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read stand-in resource " + name, e);
+        }
+    }
+
+    /** Routes read once for {@link #pageMarkup}, independently of any running server. */
+    private static final class Routes {
+        static final Map<String, Resource> ALL = loadRoutes();
+    }
+
+    private static final class Resource {
+        private final String contentType;
+        private final byte[] body;
+
+        Resource(String contentType, byte[] body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Serves the stand-in until the process is stopped; the optional argument is the port.
+     * Latency and the other settings come from {@code standin.*}, e.g. {@code -Dstandin.latency=50ms}.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : ConfigReader.getInt("standin.port");
+        SwagLabsServer standIn = start(port, ConfigReader.getProperty("standin.host"),
+                ConfigReader.getInt("standin.threads"), ResponseLatency.fromConfig());
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::close, "standin-shutdown"));
+        System.out.println("Swag Labs stand-in running at " + standIn.getBaseUrl() + " (Ctrl+C to stop)");
+        new CountDownLatch(1).await();
+    }
+}
@@ -0,0 +1,383 @@
+package com.saucedemo.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saucedemo.metrics.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams {@code selenium-tests*.log} / {@code *.jsonl} files (plain or gzip-compressed rolled files)
+ * and rebuilds per-test timelines from the timestamps of consecutive lines on the same thread.
+ * Memory use is bounded by the number of distinct actions and threads, not by the size of the logs.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.saucedemo.tools.LogTimelineAnalyzer \
+ *     -Dexec.args="logs --top 20"
+ * </pre>
+ */
+public class LogTimelineAnalyzer {
+    private static final Pattern TEXT_LINE = Pattern.compile(
+            "^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}) \\[([^\\]]*)\\] (\\w+)\\s+(\\S+) - (.*)$");
+    private static final Pattern ROLLED_FILE = Pattern.compile(".*\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)\\..*");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    public static final String SETUP_TOTAL = "setup.total";
+    public static final String SETUP_DRIVER_INIT = "setup.driver-init";
+    public static final String SETUP_NAVIGATION = "setup.navigation";
+    public static final String TEST_BODY = "test.body";
+    public static final String TEST_TOTAL = "test.total";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, ThreadTimeline> timelines = new HashMap<>();
+    private final Map<String, LatencyHistogram> phases = new LinkedHashMap<>();
+    private final Map<String, LatencyHistogram> actions = new HashMap<>();
+    private final Map<String, LatencyHistogram> tests = new HashMap<>();
+    private final PriorityQueue<SlowAction> slowest = new PriorityQueue<>(Comparator.comparingLong(a -> a.durationMs));
+    private final int topN;
+    private final long maxGapMs;
+    private long files;
+    private long lines;
+    private long events;
+
+    public LogTimelineAnalyzer(int topN, long maxGapMs) {
+        this.topN = topN;
+        this.maxGapMs = maxGapMs;
+        for (String phase : new String[]{SETUP_TOTAL, SETUP_DRIVER_INIT, SETUP_NAVIGATION, TEST_BODY, TEST_TOTAL}) {
+            phases.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> inputs = new ArrayList<>();
+        int top = 20;
+        long maxGap = 10 * 60 * 1000L;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--top":
+                    top = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-gap-ms":
+                    maxGap = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    inputs.add(Paths.get(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            inputs.add(Paths.get("logs"));
+        }
+
+        LogTimelineAnalyzer analyzer = new LogTimelineAnalyzer(top, maxGap);
+        for (Path file : collectLogFiles(inputs)) {
+            analyzer.analyze(file);
+        }
+        analyzer.finish();
+        analyzer.printReport(System.out);
+    }
+
+    /**
+     * Expands directories and orders files oldest first: rolled files by date and index,
+     * then the active {@code selenium-tests.log}/{@code .jsonl}.
+     */
+    static List<Path> collectLogFiles(List<Path> inputs) throws IOException {
+        List<Path> result = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> stream = Files.list(input)) {
+                    result.addAll(stream
+                            .filter(p -> p.getFileName().toString().startsWith("selenium-tests"))
+                            .collect(Collectors.toList()));
+                }
+            } else {
+                result.add(input);
+            }
+        }
+        result.sort(Comparator.comparing(LogTimelineAnalyzer::rollOrder));
+        return result;
+    }
+
+    private static String rollOrder(Path file) {
+        Matcher matcher = ROLLED_FILE.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+            return matcher.group(1) + String.format("%06d", Integer.parseInt(matcher.group(2)));
+        }
+        return "9999-99-99" + file.getFileName();
+    }
+
+    public void analyze(Path file) throws IOException {
+        files++;
+        boolean json = file.getFileName().toString().contains(".jsonl");
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(raw, 65536) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 65536)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                LogEvent event = json ? parseJson(line) : parseText(line);
+                if (event != null) {
+                    events++;
+                    accept(event);
+                }
+            }
+        }
+    }
+
+    private LogEvent parseText(String line) {
+        Matcher matcher = TEXT_LINE.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new LogEvent(parseTimestamp(matcher.group(1)), matcher.group(2), matcher.group(4), matcher.group(5));
+    }
+
+    private LogEvent parseJson(String line) {
+        if (line.isEmpty() || line.charAt(0) != '{') {
+            return null;
+        }
+        try {
+            JsonNode node = mapper.readTree(line);
+            String message = node.has("formattedMessage")
+                    ? node.get("formattedMessage").asText() : node.path("message").asText();
+            return new LogEvent(node.path("timestamp").asLong(), node.path("threadName").asText(),
+                    node.path("loggerName").asText(), message);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long parseTimestamp(String text) {
+        LocalDateTime time = LocalDateTime.of(
+                Integer.parseInt(text.substring(0, 4)), Integer.parseInt(text.substring(5, 7)),
+                Integer.parseInt(text.substring(8, 10)), Integer.parseInt(text.substring(11, 13)),
+                Integer.parseInt(text.substring(14, 16)), Integer.parseInt(text.substring(17, 19)),
+                Integer.parseInt(text.substring(20, 23)) * 1_000_000);
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private void accept(LogEvent event) {
+        ThreadTimeline timeline = timelines.computeIfAbsent(event.thread, t -> new ThreadTimeline());
+        String logger = simpleName(event.logger);
+        boolean setupStart = logger.equals("BaseTest") && event.message.startsWith("Setting up test environment");
+        boolean runStart = event.message.startsWith("[TestNG] Running");
+
+        // The gap between the last line of one test and the first line of the next is idle time, not an action
+        if (timeline.pending != null && !setupStart && !runStart) {
+            long duration = event.timestamp - timeline.pending.timestamp;
+            if (duration >= 0 && duration <= maxGapMs) {
+                recordAction(timeline, timeline.pending, duration);
+            }
+        }
+        timeline.pending = event;
+        timeline.lastTimestamp = event.timestamp;
+
+        if (setupStart || runStart) {
+            finishTest(timeline);
+        }
+        if (setupStart) {
+            timeline.active = true;
+            timeline.setupStart = event.timestamp;
+            return;
+        }
+        if (!timeline.active) {
+            return;
+        }
+        if (logger.equals("BaseTest") && event.message.startsWith("Driver initialized")) {
+            record(SETUP_DRIVER_INIT, event.timestamp - timeline.setupStart);
+        } else if (logger.equals("BaseTest") && event.message.startsWith("Navigating to")) {
+            timeline.navigationStart = event.timestamp;
+        } else if (logger.equals("BaseTest") && event.message.startsWith("Closing browser")) {
+            timeline.teardownStart = event.timestamp;
+            if (timeline.bodyStart > 0) {
+                record(TEST_BODY, event.timestamp - timeline.bodyStart);
+            }
+        } else if (timeline.navigationStart > 0 && timeline.bodyStart == 0) {
+            record(SETUP_NAVIGATION, event.timestamp - timeline.navigationStart);
+            record(SETUP_TOTAL, event.timestamp - timeline.setupStart);
+            timeline.bodyStart = event.timestamp;
+        }
+
+        if (logger.equals("TestListener") && event.message.startsWith("Starting test: ")) {
+            timeline.testName = event.message.substring("Starting test: ".length());
+        } else if (timeline.testName == null && event.logger.contains("tests.")) {
+            // Normalised like an action so that runs of the same unnamed test share one entry
+            timeline.testName = actionKey(event);
+        }
+    }
+
+    private void recordAction(ThreadTimeline timeline, LogEvent event, long duration) {
+        String key = actionKey(event);
+        actions.computeIfAbsent(key, k -> new LatencyHistogram()).record(duration);
+        if (slowest.size() < topN || slowest.peek().durationMs < duration) {
+            slowest.add(new SlowAction(duration, key, timeline.testName, event.timestamp));
+            if (slowest.size() > topN) {
+                slowest.poll();
+            }
+        }
+    }
+
+    private void finishTest(ThreadTimeline timeline) {
+        if (!timeline.active) {
+            return;
+        }
+        long end = timeline.teardownStart > 0 ? timeline.teardownStart : timeline.lastTimestamp;
+        if (end >= timeline.setupStart) {
+            long total = end - timeline.setupStart;
+            record(TEST_TOTAL, total);
+            String name = timeline.testName != null ? timeline.testName : "(unnamed)";
+            tests.computeIfAbsent(name, k -> new LatencyHistogram()).record(total);
+        }
+        timeline.reset();
+    }
+
+    /** Closes the timelines still open at the end of the last file. */
+    public void finish() {
+        for (ThreadTimeline timeline : timelines.values()) {
+            finishTest(timeline);
+        }
+    }
+
+    private void record(String phase, long duration) {
+        if (duration >= 0) {
+            phases.get(phase).record(duration);
+        }
+    }
+
+    static String actionKey(LogEvent event) {
+        String message = event.message;
+        int colon = message.indexOf(": ");
+        if (colon > 0) {
+            message = message.substring(0, colon);
+        }
+        int dash = message.indexOf(" - ");
+        if (dash > 0) {
+            message = message.substring(0, dash);
+        }
+        message = DIGITS.matcher(message).replaceAll("#").trim();
+        if (message.length() > 80) {
+            message = message.substring(0, 80);
+        }
+        return simpleName(event.logger) + "." + message;
+    }
+
+    private static String simpleName(String logger) {
+        int dot = logger.lastIndexOf('.');
+        return dot >= 0 ? logger.substring(dot + 1) : logger;
+    }
+
+    public Map<String, LatencyHistogram> phases() {
+        return phases;
+    }
+
+    public Map<String, LatencyHistogram> actions() {
+        return actions;
+    }
+
+    public Map<String, LatencyHistogram> tests() {
+        return tests;
+    }
+
+    public void printReport(PrintStream out) {
+        out.printf("Log timeline analysis: %d files, %d lines, %d events%n%n", files, lines, events);
+
+        out.println("Phase durations (ms)");
+        for (Map.Entry<String, LatencyHistogram> entry : phases.entrySet()) {
+            out.printf("  %-20s %s%n", entry.getKey(), entry.getValue().summary());
+        }
+
+        out.printf("%nTests by total duration (ms)%n");
+        tests.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(e -> out.printf("  %-60s %s%n", truncate(e.getKey(), 60), e.getValue().summary()));
+
+        out.printf("%nTop %d actions by cumulative time (ms)%n", topN);
+        actions.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(topN)
+                .forEach(e -> out.printf("  %-60s total=%d %s%n", truncate(e.getKey(), 60),
+                        e.getValue().sum(), e.getValue().summary()));
+
+        out.printf("%nSlowest individual actions (ms)%n");
+        List<SlowAction> sorted = new ArrayList<>(slowest);
+        sorted.sort((a, b) -> Long.compare(b.durationMs, a.durationMs));
+        for (SlowAction action : sorted) {
+            out.printf("  %8d  %-60s %s @ %s%n", action.durationMs, truncate(action.key, 60),
+                    action.testName != null ? action.testName : "-", LocalDateTime.ofInstant(Instant.ofEpochMilli(action.timestamp), ZoneOffset.UTC));
+        }
+    }
+
+    private static String truncate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max - 1) + "~";
+    }
+
+    static final class LogEvent {
+        final long timestamp;
+        final String thread;
+        final String logger;
+        final String message;
+
+        LogEvent(long timestamp, String thread, String logger, String message) {
+            this.timestamp = timestamp;
+            this.thread = thread;
+            this.logger = logger;
+            this.message = message;
+        }
+    }
+
+    private static final class ThreadTimeline {
+        LogEvent pending;
+        boolean active;
+        String testName;
+        long setupStart;
+        long navigationStart;
+        long bodyStart;
+        long teardownStart;
+        long lastTimestamp;
+
+        void reset() {
+            active = false;
+            testName = null;
+            setupStart = 0;
+            navigationStart = 0;
+            bodyStart = 0;
+            teardownStart = 0;
+        }
+    }
+
+    private static final class SlowAction {
+        final long durationMs;
+        final String key;
+        final String testName;
+        final long timestamp;
+
+        SlowAction(long durationMs, String key, String testName, long timestamp) {
+            this.durationMs = durationMs;
+            this.key = key;
+            this.testName = testName;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.saucedemo.tools;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the JUnit XML ({@code TEST-*.xml}) and Allure ({@code *-result.json}) output of any number
+ * of shards and browsers into one {@code surefire-reports} and one {@code allure-results} directory,
+ * with a summary of counts, durations and the slowest tests. Every file is parsed with a streaming
+ * reader (StAX, Jackson's {@link JsonParser}), so memory grows with the number of distinct tests,
+ * not with the size of the files or their captured output.
+ * <p>
+ * Each input directory is one source, typically one downloaded CI artifact. Within a source,
+ * repeated attempts at the same test are retries: a pass outranks a failure, which outranks a
+ * skip; the kept attempt decides the outcome, and a test that passed after another attempt counts
+ * as flaky. Allure results of superseded attempts are left out of the merged directory unless
+ * {@code --keep-retries} is given. JUnit XML files are copied whole, suffixed with their source.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.saucedemo.tools.ResultMerger \
+ *     -Dexec.args="--out target/merged-results artifacts/test-results-chrome-12 artifacts/test-results-firefox-12"
+ * </pre>
+ */
+public class ResultMerger {
+    public static final String SUREFIRE_DIR = "surefire-reports";
+    public static final String ALLURE_DIR = "allure-results";
+    private static final String TESTNG_JUNIT_DIR = "junitreports";
+
+    private final XMLInputFactory xmlFactory = XMLInputFactory.newInstance();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Map<Format, Map<String, TestOutcome>> outcomes = new LinkedHashMap<>();
+    private final Map<Format, Integer> files = new HashMap<>();
+    private final Map<Path, String> junitFiles = new LinkedHashMap<>();
+    private final List<Path> allureFiles = new ArrayList<>();
+    private final List<String> problems = new ArrayList<>();
+    private final Path out;
+    private final int topN;
+    private final boolean keepRetries;
+
+    public enum Format {
+        JUNIT("JUnit XML"), ALLURE("Allure");
+
+        private final String title;
+
+        Format(String title) {
+            this.title = title;
+        }
+    }
+
+    /** Outcome of an attempt, in increasing order of precedence when attempts are merged. */
+    public enum Status {
+        SKIPPED, BROKEN, FAILED, PASSED;
+
+        static Status fromAllure(String status) {
+            if (status == null) {
+                return BROKEN;
+            }
+            switch (status) {
+                case "passed":
+                    return PASSED;
+                case "failed":
+                    return FAILED;
+                case "skipped":
+                    return SKIPPED;
+                default:
+                    return BROKEN;
+            }
+        }
+    }
+
+    public ResultMerger(Path out, int topN, boolean keepRetries) {
+        this.out = out.toAbsolutePath().normalize();
+        this.topN = topN;
+        this.keepRetries = keepRetries;
+        xmlFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        for (Format format : Format.values()) {
+            outcomes.put(format, new LinkedHashMap<>());
+            files.put(format, 0);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> inputs = new ArrayList<>();
+        Path out = Paths.get("target", "merged-results");
+        int top = 10;
+        boolean keepRetries = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out":
+                    out = Paths.get(args[++i]);
+                    break;
+                case "--top":
+                    top = Integer.parseInt(args[++i]);
+                    break;
+                case "--keep-retries":
+                    keepRetries = true;
+                    break;
+                default:
+                    inputs.add(Paths.get(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            inputs.add(Paths.get("target"));
+        }
+
+        long start = System.nanoTime();
+        ResultMerger merger = new ResultMerger(out, top, keepRetries);
+        for (Path input : inputs) {
+            merger.add(input);
+        }
+        merger.write();
+        merger.printSummary(System.out);
+        System.out.printf("Merged into %s in %d ms%n", out, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reads every result file under {@code input}, which is treated as one source. TestNG's own
+     * {@code junitreports} copies are read only when the source has no other JUnit XML, since
+     * they repeat what surefire reports.
+     */
+    public void add(Path input) throws IOException {
+        if (!Files.isDirectory(input)) {
+            throw new IllegalArgumentException("Not a directory: " + input);
+        }
+        String source = input.toAbsolutePath().normalize().getFileName().toString();
+        List<Path> found;
+        try (Stream<Path> walk = Files.walk(input)) {
+            found = walk.filter(file -> !file.toAbsolutePath().normalize().startsWith(out))
+                    .filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        List<Path> junit = new ArrayList<>();
+        List<Path> testngJunit = new ArrayList<>();
+        for (Path file : found) {
+            String name = file.getFileName().toString();
+            String parent = file.getParent() != null ? file.getParent().getFileName().toString() : "";
+            if (name.startsWith("TEST-") && name.endsWith(".xml")) {
+                (parent.equals(TESTNG_JUNIT_DIR) ? testngJunit : junit).add(file);
+            } else if (parent.equals(ALLURE_DIR) && name.endsWith("-result.json")) {
+                readAllure(file, source);
+            } else if (parent.equals(ALLURE_DIR)) {
+                allureFiles.add(file);
+            }
+        }
+        for (Path file : junit.isEmpty() ? testngJunit : junit) {
+            junitFiles.put(file, source);
+            readJUnit(file, source);
+        }
+    }
+
+    private void readJUnit(Path file, String source) {
+        files.merge(Format.JUNIT, 1, Integer::sum);
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = xmlFactory.createXMLStreamReader(in);
+            try {
+                Attempt attempt = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String element = reader.getLocalName();
+                        if (element.equals("testcase")) {
+                            String className = reader.getAttributeValue(null, "classname");
+                            String name = reader.getAttributeValue(null, "name");
+                            String id = className != null && !className.isEmpty() ? className + "." + name : name;
+                            attempt = new Attempt(id, Status.PASSED, seconds(reader.getAttributeValue(null, "time")),
+                                    0, file);
+                        } else if (attempt != null) {
+                            switch (element) {
+                                case "failure":
+                                    attempt.status = Status.FAILED;
+                                    break;
+                                case "error":
+                                    attempt.status = Status.BROKEN;
+                                    break;
+                                case "skipped":
+                                    attempt.status = Status.SKIPPED;
+                                    break;
+                                case "flakyFailure":
+                                case "flakyError":
+                                case "rerunFailure":
+                                case "rerunError":
+                                    attempt.reruns++;
+                                    break;
+                                default:
+                                    break;
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && attempt != null
+                            && reader.getLocalName().equals("testcase")) {
+                        record(Format.JUNIT, source, attempt);
+                        attempt = null;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            problems.add(file + ": " + e.getMessage());
+        }
+    }
+
+    private void readAllure(Path file, String source) {
+        files.merge(Format.ALLURE, 1, Integer::sum);
+        try (JsonParser parser = jsonFactory.createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("not a JSON object");
+            }
+            String historyId = null;
+            String fullName = null;
+            String name = null;
+            String status = null;
+            long start = 0;
+            long stop = 0;
+            StringBuilder parameters = new StringBuilder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "historyId":
+                        historyId = parser.getValueAsString();
+                        break;
+                    case "fullName":
+                        fullName = parser.getValueAsString();
+                        break;
+                    case "name":
+                        name = parser.getValueAsString();
+                        break;
+                    case "status":
+                        status = parser.getValueAsString();
+                        break;
+                    case "start":
+                        start = parser.getValueAsLong();
+                        break;
+                    case "stop":
+                        stop = parser.getValueAsLong();
+                        break;
+                    case "parameters":
+                        readParameters(parser, parameters);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            String label = fullName != null ? fullName : name;
+            String id = historyId != null ? historyId : label + parameters;
+            Attempt attempt = new Attempt(id, Status.fromAllure(status), Math.max(0, stop - start), stop, file);
+            attempt.label = label + parameters;
+            record(Format.ALLURE, source, attempt);
+        } catch (IOException e) {
+            problems.add(file + ": " + e.getMessage());
+        }
+    }
+
+    private static void readParameters(JsonParser parser, StringBuilder parameters) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String value = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (field.equals("value")) {
+                    value = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            values.add(value);
+        }
+        if (!values.isEmpty()) {
+            parameters.append(values.stream().map(String::valueOf).collect(Collectors.joining(", ", "[", "]")));
+        }
+    }
+
+    private void record(Format format, String source, Attempt attempt) {
+        outcomes.get(format).computeIfAbsent(source + '\u0000' + attempt.id,
+                key -> new TestOutcome(source, attempt.label != null ? attempt.label : attempt.id)).add(attempt);
+    }
+
+    private static long seconds(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.round(Double.parseDouble(value.replace(",", "")) * 1000);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Writes {@code surefire-reports/}, {@code allure-results/}, {@code summary.txt} and
+     * {@code summary.properties} under the output directory.
+     */
+    public void write() {
+        try {
+            Path junitOut = Files.createDirectories(out.resolve(SUREFIRE_DIR));
+            Path allureOut = Files.createDirectories(out.resolve(ALLURE_DIR));
+            for (Map.Entry<Path, String> file : junitFiles.entrySet()) {
+                String name = withSuffix(file.getKey().getFileName().toString(), "-" + file.getValue());
+                Path target = junitOut.resolve(name);
+                for (int copy = 2; Files.exists(target); copy++) {
+                    target = junitOut.resolve(withSuffix(name, "-" + copy));
+                }
+                Files.copy(file.getKey(), target);
+            }
+            for (TestOutcome outcome : outcomes.get(Format.ALLURE).values()) {
+                for (Path file : keepRetries ? outcome.files : List.of(outcome.kept.file)) {
+                    Files.copy(file, allureOut.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            for (Path file : allureFiles) {
+                Files.copy(file, allureOut.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (Writer writer = Files.newBufferedWriter(out.resolve("summary.properties"), StandardCharsets.UTF_8)) {
+                for (Format format : Format.values()) {
+                    Totals totals = totals(format);
+                    String prefix = format.name().toLowerCase(Locale.ROOT) + ".";
+                    writer.write(prefix + "files=" + files.get(format) + "\n");
+                    writer.write(prefix + "tests=" + totals.tests + "\n");
+                    writer.write(prefix + "passed=" + totals.count(Status.PASSED) + "\n");
+                    writer.write(prefix + "failed=" + totals.count(Status.FAILED) + "\n");
+                    writer.write(prefix + "broken=" + totals.count(Status.BROKEN) + "\n");
+                    writer.write(prefix + "skipped=" + totals.count(Status.SKIPPED) + "\n");
+                    writer.write(prefix + "flaky=" + totals.flaky + "\n");
+                    writer.write(prefix + "retries=" + totals.retries + "\n");
+                    writer.write(prefix + "duration.ms=" + totals.durationMs + "\n");
+                }
+                writer.write("problems=" + problems.size() + "\n");
+            }
+            try (PrintStream summary = new PrintStream(Files.newOutputStream(out.resolve("summary.txt")), false,
+                    StandardCharsets.UTF_8.name())) {
+                printSummary(summary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write merged results to " + out, e);
+        }
+    }
+
+    public void printSummary(PrintStream out) {
+        for (Format format : Format.values()) {
+            Totals totals = totals(format);
+            out.printf("%-9s %5d files  %5d tests  %5d passed  %4d failed  %4d broken  %4d skipped  %4d flaky"
+                            + "  %4d retries dropped  %s%n",
+                    format.title, files.get(format), totals.tests, totals.count(Status.PASSED),
+                    totals.count(Status.FAILED), totals.count(Status.BROKEN), totals.count(Status.SKIPPED),
+                    totals.flaky, totals.retries, formatDuration(totals.durationMs));
+        }
+        for (Format format : Format.values()) {
+            List<TestOutcome> slowest = slowest(format);
+            if (!slowest.isEmpty()) {
+                out.printf("%nSlowest tests (%s):%n", format.title);
+                for (TestOutcome outcome : slowest) {
+                    out.printf("  %10s  %-7s  %-20s  %s%n", formatDuration(outcome.kept.durationMs),
+                            outcome.kept.status.name().toLowerCase(Locale.ROOT), outcome.source, outcome.label);
+                }
+            }
+        }
+        List<String> unsuccessful = new ArrayList<>();
+        for (Format format : Format.values()) {
+            for (TestOutcome outcome : outcomes.get(format).values()) {
+                if (outcome.kept.status == Status.FAILED || outcome.kept.status == Status.BROKEN) {
+                    unsuccessful.add(String.format("  %-9s %-7s %-20s %s", format.title,
+                            outcome.kept.status.name().toLowerCase(Locale.ROOT), outcome.source, outcome.label));
+                }
+            }
+        }
+        if (!unsuccessful.isEmpty()) {
+            out.printf("%nFailed and broken tests:%n");
+            unsuccessful.forEach(out::println);
+        }
+        if (!problems.isEmpty()) {
+            out.printf("%nUnreadable files (%d):%n", problems.size());
+            problems.forEach(problem -> out.println("  " + problem));
+        }
+    }
+
+    public Totals totals(Format format) {
+        Totals totals = new Totals();
+        for (TestOutcome outcome : outcomes.get(format).values()) {
+            totals.tests++;
+            totals.byStatus.merge(outcome.kept.status, 1, Integer::sum);
+            totals.flaky += outcome.isFlaky() ? 1 : 0;
+            totals.retries += outcome.attempts - 1;
+            totals.durationMs += outcome.totalDurationMs;
+        }
+        return totals;
+    }
+
+    public List<String> getProblems() {
+        return new ArrayList<>(problems);
+    }
+
+    private List<TestOutcome> slowest(Format format) {
+        PriorityQueue<TestOutcome> top = new PriorityQueue<>(Comparator.comparingLong(o -> o.kept.durationMs));
+        for (TestOutcome outcome : outcomes.get(format).values()) {
+            top.add(outcome);
+            if (top.size() > topN) {
+                top.poll();
+            }
+        }
+        List<TestOutcome> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingLong((TestOutcome o) -> o.kept.durationMs).reversed());
+        return result;
+    }
+
+    private static String withSuffix(String name, String suffix) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name + suffix : name.substring(0, dot) + suffix + name.substring(dot);
+    }
+
+    static String formatDuration(long millis) {
+        if (millis < 1000) {
+            return millis + " ms";
+        }
+        if (millis < 60_000) {
+            return String.format(Locale.ROOT, "%.1f s", millis / 1000.0);
+        }
+        return String.format(Locale.ROOT, "%dm %02ds", millis / 60_000, millis / 1000 % 60);
+    }
+
+    /** Counts over the deduplicated tests of one format. */
+    public static final class Totals {
+        private final Map<Status, Integer> byStatus = new HashMap<>();
+        private int tests;
+        private int flaky;
+        private int retries;
+        private long durationMs;
+
+        public int getTests() {
+            return tests;
+        }
+
+        public int count(Status status) {
+            return byStatus.getOrDefault(status, 0);
+        }
+
+        public int getFlaky() {
+            return flaky;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+
+        /** Time spent on all attempts, retries included. */
+        public long getDurationMs() {
+            return durationMs;
+        }
+    }
+
+    private static final class Attempt {
+        private final String id;
+        private final long durationMs;
+        private final long stop;
+        private final Path file;
+        private Status status;
+        private String label;
+        private int reruns;
+
+        Attempt(String id, Status status, long durationMs, long stop, Path file) {
+            this.id = id;
+            this.status = status;
+            this.durationMs = durationMs;
+            this.stop = stop;
+            this.file = file;
+        }
+    }
+
+    private static final class TestOutcome {
+        private final String source;
+        private final String label;
+        private final List<Path> files = new ArrayList<>(1);
+        private Attempt kept;
+        private int attempts;
+        private int reruns;
+        private long totalDurationMs;
+
+        TestOutcome(String source, String label) {
+            this.source = source;
+            this.label = label;
+        }
+
+        void add(Attempt attempt) {
+            attempts++;
+            reruns += attempt.reruns;
+            totalDurationMs += attempt.durationMs;
+            if (!files.contains(attempt.file)) {
+                files.add(attempt.file);
+            }
+            if (kept == null || attempt.status.compareTo(kept.status) > 0
+                    || (attempt.status == kept.status && attempt.stop >= kept.stop)) {
+                kept = attempt;
+            }
+        }
+
+        boolean isFlaky() {
+            return kept.status == Status.PASSED && (attempts > 1 || reruns > 0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.saucedemo.tools;
+
+import com.saucedemo.history.DurationTrend;
+import com.saucedemo.history.RunHistory;
+import com.saucedemo.history.TestExecution;
+import com.saucedemo.metrics.LatencySamples;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Duration trends from the {@link RunHistory}: for one test (its full id or just the method
+ * name), the percentiles over its last runs and per step; with no test, one line per test.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.saucedemo.tools.RunHistoryQuery \
+ *     -Dexec.args="--runs 200 --percentile 95 testCompleteShoppingFlow"
+ * </pre>
+ */
+public class RunHistoryQuery {
+
+    public static void main(String[] args) {
+        Path dir = Paths.get(System.getProperty("history.dir", "test-history/runs"));
+        int runs = 200;
+        double percentile = 95;
+        String browser = null;
+        String test = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--dir":
+                    dir = Paths.get(args[++i]);
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(args[++i]);
+                    break;
+                case "--percentile":
+                    percentile = Double.parseDouble(args[++i]);
+                    break;
+                case "--browser":
+                    browser = args[++i];
+                    break;
+                default:
+                    test = args[i];
+            }
+        }
+
+        long start = System.nanoTime();
+        RunHistory history = RunHistory.open(dir);
+        if (test == null) {
+            for (String id : history.testIds()) {
+                print(new DurationTrend(id, history.lastRuns(id, browser, runs)), percentile, false, System.out);
+            }
+        } else {
+            List<String> ids = history.resolve(test);
+            if (ids.isEmpty()) {
+                throw new IllegalArgumentException("No executions of " + test + " in " + dir);
+            }
+            if (ids.size() > 1) {
+                throw new IllegalArgumentException(test + " is ambiguous, use one of " + ids);
+            }
+            print(new DurationTrend(ids.get(0), history.lastRuns(ids.get(0), browser, runs)), percentile, true,
+                    System.out);
+        }
+        System.out.printf("Queried %d executions in %s in %.2f ms%n", history.size(), dir,
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void print(DurationTrend trend, double percentile, boolean steps, PrintStream out) {
+        out.printf("%s: %d runs, %d timed (%d failed, %d skipped), p50 %d ms, p%s %d ms, max %d ms%n",
+                trend.getTestId(), trend.getRuns(), trend.getExecutions(), trend.count(TestExecution.Outcome.FAILED),
+                trend.count(TestExecution.Outcome.SKIPPED), trend.percentile(50), format(percentile),
+                trend.percentile(percentile), trend.percentile(100));
+        if (steps) {
+            for (Map.Entry<String, LatencySamples> step : trend.getSteps().entrySet()) {
+                out.printf("  %-60s %5d samples, p50 %d ms, p%s %d ms%n", step.getKey(), step.getValue().count(),
+                        step.getValue().median(), format(percentile), step.getValue().percentile(percentile));
+            }
+        }
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -12,17 +12,20 @@ import java.time.Duration;
 
 public class AlertHandler {
     private static final Logger logger = LoggerFactory.getLogger(AlertHandler.class);
-    private static final int DEFAULT_TIMEOUT = 10;
 
     public static boolean handlePasswordChangeAlert(WebDriver driver) {
-        return handlePasswordChangeAlert(driver, DEFAULT_TIMEOUT);
+        return handlePasswordChangeAlert(driver, ConfigReader.getDuration("timeout.alert"));
     }
 
     public static boolean handlePasswordChangeAlert(WebDriver driver, int timeoutSeconds) {
+        return handlePasswordChangeAlert(driver, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    private static boolean handlePasswordChangeAlert(WebDriver driver, Duration timeout) {
         logger.info("Checking for password change alert/notification");
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = new WebDriverWait(driver, timeout, ConfigReader.getDuration("poll.interval"));
 
             // First, try to handle browser alert if present
             if (handleBrowserAlert(driver, wait)) {
@@ -83,7 +86,7 @@ public class AlertHandler {
                         logger.info("Password change modal dismissed using selector: {}", selector);
 
                         // Wait a moment for the modal to disappear
-                        Thread.sleep(1000);
+                        ConfigReader.pause("delay.alert.dismiss");
                         return true;
                     }
                 } catch (Exception e) {
@@ -111,7 +114,7 @@ public class AlertHandler {
                         logger.info("Password change modal dismissed using xpath: {}", xpath);
 
                         // Wait a moment for the modal to disappear
-                        Thread.sleep(1000);
+                        ConfigReader.pause("delay.alert.dismiss");
                         return true;
                     }
                 } catch (Exception e) {
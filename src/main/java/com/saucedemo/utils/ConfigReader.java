@@ -5,35 +5,211 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
+/**
+ * Layered configuration, resolved once into an immutable snapshot. Later layers win:
+ * <ol>
+ *     <li>built-in defaults (below)</li>
+ *     <li>{@code config.properties} on the classpath, or the file named by {@code -Dconfig.file}</li>
+ *     <li>{@code config-<profile>.properties} when {@code config.profile} / {@code CONFIG_PROFILE} is set</li>
+ *     <li>environment variables named after a known key, e.g. {@code TIMEOUT_EXPLICIT} for
+ *     {@code timeout.explicit}</li>
+ *     <li>system properties, including the legacy {@code -Dbrowser} and {@code -Dheadless}</li>
+ * </ol>
+ * Durations accept {@code ms}, {@code s}, {@code m} and {@code h} suffixes; a bare number means seconds.
+ */
 public class ConfigReader {
     private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
-    private static Properties properties;
+    private static final Map<String, String> ALIASES = Map.of(
+            "browser", "default.browser",
+            "headless", "headless.mode");
+    private static final Map<String, String> properties;
 
     static {
-        loadProperties();
+        properties = loadProperties();
     }
 
-    private static void loadProperties() {
-        properties = new Properties();
-        try (InputStream inputStream = ConfigReader.class.getClassLoader()
-                .getResourceAsStream("config.properties")) {
+    static Map<String, String> defaults() {
+        Map<String, String> defaults = new HashMap<>();
+        defaults.put("default.browser", "chrome");
+        defaults.put("headless.mode", "false");
+        defaults.put("timeout.implicit", "10");
+        defaults.put("timeout.explicit", "10");
+        defaults.put("timeout.page.load", "300");
+        defaults.put("timeout.alert", "10");
+        defaults.put("timeout.popup", "2");
+        defaults.put("timeout.checkout.continue", "5");
+        defaults.put("poll.interval", "500ms");
+        defaults.put("delay.popup.settle", "500ms");
+        defaults.put("delay.popup.click", "300ms");
+        defaults.put("delay.alert.dismiss", "1s");
+        defaults.put("parallel.threads", "5");
+        defaults.put("parallel.dataprovider.threads", "4");
+        defaults.put("autoscale.enabled", "false");
+        defaults.put("autoscale.min.sessions", "1");
+        defaults.put("autoscale.max.sessions", "8");
+        defaults.put("autoscale.interval", "2s");
+        defaults.put("autoscale.cpu.high", "0.85");
+        defaults.put("autoscale.cpu.low", "0.60");
+        defaults.put("autoscale.load.high", "1.5");
+        defaults.put("autoscale.memory.reserve.mb", "512");
+        defaults.put("autoscale.session.estimate.mb", "400");
+        defaults.put("grid.url", "");
+        defaults.put("grid.port", "0");
+        defaults.put("grid.slots", "4");
+        defaults.put("standin.port", "0");
+        defaults.put("standin.host", "localhost");
+        defaults.put("standin.threads", "16");
+        defaults.put("standin.latency", "0ms");
+        defaults.put("standin.latency.jitter", "0ms");
+        defaults.put("standin.glitch.delay", "5s");
+        defaults.put("standin.seed", "42");
+        defaults.put("load.users", "4");
+        defaults.put("load.duration", "60s");
+        defaults.put("load.iterations", "0");
+        defaults.put("load.rampup", "10s");
+        defaults.put("load.think.time", "1s");
+        defaults.put("load.think.jitter", "500ms");
+        defaults.put("load.browsers", "0");
+        defaults.put("load.headless", "true");
+        defaults.put("load.username", "");
+        defaults.put("load.password", "");
+        defaults.put("load.seed", "42");
+        defaults.put("load.max.error.rate", "0.05");
+        defaults.put("load.report.dir", "target/load-report");
+        defaults.put("soak.duration", "1h");
+        defaults.put("soak.interval", "30s");
+        defaults.put("soak.warmup", "5m");
+        defaults.put("soak.checkpoints", "4");
+        defaults.put("soak.session.journeys", "0");
+        defaults.put("soak.alpha", "0.01");
+        defaults.put("soak.min.growth", "0.05");
+        defaults.put("soak.report.dir", "target/soak-report");
+        defaults.put("persona.iterations", "30");
+        defaults.put("persona.warmup", "2");
+        defaults.put("persona.confidence", "0.95");
+        defaults.put("persona.bootstrap.resamples", "2000");
+        defaults.put("persona.seed", "42");
+        defaults.put("persona.report.dir", "target/persona-latency");
+        defaults.put("shard.count", "1");
+        defaults.put("shard.history.file", "test-history/durations.properties");
+        defaults.put("shard.output.root", "target/shards");
+        defaults.put("shard.reports.dir", "target/surefire-reports");
+        defaults.put("history.enabled", "true");
+        defaults.put("history.dir", "test-history/runs");
+        defaults.put("history.run.id", "");
+        defaults.put("retry.enabled", "true");
+        defaults.put("retry.max.attempts", "1");
+        defaults.put("retry.max.total", "5");
+        defaults.put("watchdog.timeout", "15m");
+        defaults.put("resources.enabled", "true");
+        defaults.put("resources.interval", "500ms");
+        defaults.put("resources.report.file", "target/resources/usage.csv");
+        defaults.put("reaper.dir", Paths.get(System.getProperty("java.io.tmpdir"), "saucedemo-browsers").toString());
+        defaults.put("jfr.enabled", "false");
+        defaults.put("jfr.settings", "profile");
+        defaults.put("jfr.dir", "target");
+        defaults.put("impact.base", "");
+        defaults.put("impact.map.file", "test-history/impact-map.properties");
+        defaults.put("impact.record", "true");
+        defaults.put("impact.ignore", "**.md,docs/**,logs/**,.gitignore,LICENSE");
+        defaults.put("scheduler.enabled", "true");
+        defaults.put("scheduler.smoke.tests", "testLoginPageElements,testInventoryPageAfterLogin");
+        defaults.put("scheduler.fail.fast", "off");
+        defaults.put("quarantine.mode", "defer");
+        defaults.put("quarantine.runs", "50");
+        defaults.put("quarantine.flip.threshold", "0.2");
+        defaults.put("quarantine.min.executions", "5");
+        defaults.put("quarantine.tests", "");
+        defaults.put("quarantine.report.file", "target/quarantine/decisions.txt");
+        defaults.put("runner.classes", "com.saucedemo.tests.SauceDemoTest");
+        defaults.put("runner.browsers", "");
+        defaults.put("fuzz.count", "500");
+        defaults.put("fuzz.batch.size", "256");
+        defaults.put("fuzz.shrink.attempts", "200");
+        defaults.put("fuzz.supplementary", "false");
+        defaults.put("screenshot.on.failure", "true");
+        return defaults;
+    }
+
+    private static Map<String, String> loadProperties() {
+        Map<String, String> values = defaults();
+
+        String configFile = System.getProperty("config.file");
+        if (configFile != null) {
+            putAll(values, load(configFile));
+        } else {
+            putAll(values, load("config.properties"));
+        }
+
+        String profile = firstNonNull(System.getProperty("config.profile"), System.getenv("CONFIG_PROFILE"),
+                values.get("config.profile"));
+        if (profile != null && !profile.isEmpty()) {
+            putAll(values, load("config-" + profile + ".properties"));
+            values.put("config.profile", profile);
+        }
+
+        for (String key : values.keySet().toArray(new String[0])) {
+            String env = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_'));
+            if (env != null) {
+                values.put(key, env);
+            }
+        }
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            values.put(ALIASES.getOrDefault(name, name), System.getProperty(name));
+        }
+
+        logger.info("Configuration loaded (profile: {}, browser: {}, headless: {})",
+                profile != null ? profile : "none", values.get("default.browser"), values.get("headless.mode"));
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static Properties load(String location) {
+        Properties layer = new Properties();
+        Path path = Paths.get(location);
+        try (InputStream inputStream = Files.isRegularFile(path) ? Files.newInputStream(path)
+                : ConfigReader.class.getClassLoader().getResourceAsStream(location)) {
             if (inputStream != null) {
-                properties.load(inputStream);
-                logger.info("Configuration properties loaded successfully");
+                layer.load(inputStream);
+                logger.debug("Loaded configuration layer {}", location);
             } else {
-                logger.error("config.properties file not found in classpath");
-                throw new RuntimeException("config.properties file not found");
+                logger.error("{} file not found", location);
+                throw new RuntimeException(location + " file not found");
             }
         } catch (IOException e) {
-            logger.error("Error loading configuration properties", e);
+            logger.error("Error loading configuration properties from {}", location, e);
             throw new RuntimeException("Failed to load configuration properties", e);
         }
+        return layer;
+    }
+
+    private static void putAll(Map<String, String> values, Properties layer) {
+        for (String name : layer.stringPropertyNames()) {
+            values.put(name, layer.getProperty(name).trim());
+        }
+    }
+
+    private static String firstNonNull(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+        return null;
     }
 
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = properties.get(key);
         if (value == null) {
             logger.warn("Property '{}' not found in configuration", key);
         }
@@ -41,6 +217,95 @@ public class ConfigReader {
     }
 
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return properties.getOrDefault(key, defaultValue);
+    }
+
+    public static int getInt(String key) {
+        String value = require(key);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Config '" + key + "' is not an integer: " + value, e);
+        }
+    }
+
+    public static long getLong(String key) {
+        String value = require(key);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Config '" + key + "' is not an integer: " + value, e);
+        }
+    }
+
+    public static double getDouble(String key) {
+        String value = require(key);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Config '" + key + "' is not a number: " + value, e);
+        }
+    }
+
+    public static boolean getBoolean(String key) {
+        String value = require(key);
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Config '" + key + "' is not true/false: " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    public static Duration getDuration(String key) {
+        String value = require(key);
+        try {
+            return parseDuration(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Config '" + key + "' is not a duration: " + value, e);
+        }
+    }
+
+    /** @throws NumberFormatException when {@code value} is not a number with an optional suffix */
+    static Duration parseDuration(String value) {
+        String duration = value.trim().toLowerCase(Locale.ROOT);
+        if (duration.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(duration.substring(0, duration.length() - 2).trim()));
+        }
+        if (duration.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(duration.substring(0, duration.length() - 1).trim()));
+        }
+        if (duration.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(duration.substring(0, duration.length() - 1).trim()));
+        }
+        if (duration.endsWith("h")) {
+            return Duration.ofHours(Long.parseLong(duration.substring(0, duration.length() - 1).trim()));
+        }
+        return Duration.ofSeconds(Long.parseLong(duration));
+    }
+
+    public static String getBrowser() {
+        return require("default.browser").toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean isHeadless() {
+        return getBoolean("headless.mode");
+    }
+
+    /**
+     * Sleeps for the configured delay; used for the few settle pauses that have no condition to wait on.
+     */
+    public static void pause(String key) {
+        try {
+            Thread.sleep(getDuration(key).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String require(String key) {
+        String value = properties.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing configuration property: " + key);
+        }
+        return value.trim();
     }
-}
\ No newline at end of file
+}
@@ -1,46 +1,84 @@
 package com.saucedemo.utils;
 
+import com.saucedemo.execution.AdaptiveConcurrencyController;
+import com.saucedemo.execution.BrowserProcesses;
+import com.saucedemo.execution.RemoteSessionPool;
+import com.saucedemo.execution.SessionWatchdog;
+import com.saucedemo.sim.SimWebDriver;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
-    private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
-    private static final String BROWSER_PROPERTY = "browser";
-    private static final String HEADLESS_PROPERTY = "headless";
+    private static final ThreadLocal<Session> sessionThreadLocal = ThreadLocal.withInitial(Session::new);
+    /** The per-thread holders that currently have a driver, so another thread can quit and clear them. */
+    private static final Set<Session> activeSessions = ConcurrentHashMap.newKeySet();
 
+    /** This thread's driver, started on first use; owned by {@code DriverManager} itself. */
     public static WebDriver getDriver() {
-        if (driverThreadLocal.get() == null) {
-            String browser = System.getProperty(BROWSER_PROPERTY, "chrome").toLowerCase();
-            boolean headless = Boolean.parseBoolean(System.getProperty(HEADLESS_PROPERTY, "false"));
-
-            logger.info("Initializing {} driver (headless: {})", browser, headless);
-
-            switch (browser) {
-                case "firefox":
-                    setupSimpleFirefoxDriver(headless);
-                    break;
-                case "chrome":
-                default:
-                    setupSimpleChromeDriver(headless);
-                    break;
+        return getDriver(DriverManager.class);
+    }
+
+    /**
+     * This thread's driver, started on first use. A driver started here belongs to {@code owner}
+     * until it is closed, and only {@link #closeAllDrivers(Object)} with that owner quits it.
+     */
+    public static WebDriver getDriver(Object owner) {
+        Session session = sessionThreadLocal.get();
+        synchronized (session) {
+            if (session.driver == null) {
+                String browser = ConfigReader.getBrowser();
+                boolean headless = ConfigReader.isHeadless();
+
+                logger.info("Initializing {} driver (headless: {})", browser, headless);
+
+                AdaptiveConcurrencyController.Lease lease = AdaptiveConcurrencyController.forBrowser(browser).acquire();
+                try {
+                    session.driver = createDriver(browser, headless);
+                } catch (RuntimeException e) {
+                    lease.close();
+                    throw e;
+                }
+                session.lease = lease;
+                session.owner = owner;
+                activeSessions.add(session);
+                SessionWatchdog.register(session.driver, lease);
             }
+            return session.driver;
         }
-        return driverThreadLocal.get();
     }
 
-    private static void setupSimpleChromeDriver(boolean headless) {
+    /**
+     * Starts a new session that is not bound to the calling thread; the caller owns it and must
+     * quit it. Used where sessions are pooled rather than kept per thread.
+     */
+    public static WebDriver createDriver(String browser, boolean headless) {
+        switch (browser) {
+            case "firefox":
+                return setupSimpleFirefoxDriver(headless);
+            case "sim":
+                return new SimWebDriver();
+            case "chrome":
+            default:
+                return setupSimpleChromeDriver(headless);
+        }
+    }
+
+    private static WebDriver setupSimpleChromeDriver(boolean headless) {
         try {
-            // Use automatic WebDriverManager setup
-            WebDriverManager.chromedriver().setup();
+            // Use automatic WebDriverManager setup (the grid node resolves its own drivers)
+            if (!RemoteSessionPool.isEnabled()) {
+                WebDriverManager.chromedriver().setup();
+            }
 
             ChromeOptions options = new ChromeOptions();
 
@@ -55,27 +93,33 @@ public class DriverManager {
                 options.addArguments("--window-size=1920,1080");
             }
 
-            driverThreadLocal.set(new ChromeDriver(options));
+            WebDriver driver = RemoteSessionPool.isEnabled() ? RemoteSessionPool.shared().create(options)
+                    : BrowserProcesses.chrome(options);
             logger.info("Simple Chrome driver initialized successfully");
+            return driver;
         } catch (Exception e) {
             logger.error("Failed to initialize simple Chrome driver: {}", e.getMessage());
             // Try Firefox as fallback
             logger.info("Attempting Firefox fallback...");
-            setupSimpleFirefoxDriver(headless);
+            return setupSimpleFirefoxDriver(headless);
         }
     }
 
-    private static void setupSimpleFirefoxDriver(boolean headless) {
+    private static WebDriver setupSimpleFirefoxDriver(boolean headless) {
         try {
-            WebDriverManager.firefoxdriver().setup();
+            if (!RemoteSessionPool.isEnabled()) {
+                WebDriverManager.firefoxdriver().setup();
+            }
             FirefoxOptions options = new FirefoxOptions();
 
             if (headless) {
                 options.addArguments("--headless");
             }
 
-            driverThreadLocal.set(new FirefoxDriver(options));
+            WebDriver driver = RemoteSessionPool.isEnabled() ? RemoteSessionPool.shared().create(options)
+                    : BrowserProcesses.firefox(options);
             logger.info("Simple Firefox driver initialized successfully");
+            return driver;
         } catch (Exception e) {
             logger.error("Failed to initialize Firefox driver: {}", e.getMessage());
             throw new RuntimeException("Both Chrome and Firefox driver initialization failed", e);
@@ -83,22 +127,54 @@ public class DriverManager {
     }
 
     public static void closeDriver() {
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
-            try {
-                driver.quit();
-                logger.info("WebDriver closed successfully");
-            } catch (Exception e) {
-                logger.error("Error closing WebDriver: {}", e.getMessage());
-            } finally {
-                driverThreadLocal.remove();
+        close(sessionThreadLocal.get());
+    }
+
+    /**
+     * Quits the drivers {@code owner} started on any thread, e.g. after a parallel data provider
+     * whose worker threads each kept their own browser open across cases. Each of those threads
+     * starts a new driver on its next {@link #getDriver}.
+     */
+    public static void closeAllDrivers(Object owner) {
+        int closed = 0;
+        for (Session session : activeSessions) {
+            if (session.owner == owner && close(session)) {
+                closed++;
             }
         }
+        logger.info("Closed {} WebDriver session(s)", closed);
+    }
+
+    /** Quits the session's driver, if it still has one, and clears it; false when it had none. */
+    private static boolean close(Session session) {
+        WebDriver driver;
+        AdaptiveConcurrencyController.Lease lease;
+        synchronized (session) {
+            driver = session.driver;
+            lease = session.lease;
+            session.driver = null;
+            session.lease = null;
+            session.owner = null;
+            activeSessions.remove(session);
+        }
+        if (driver == null) {
+            return false;
+        }
+        SessionWatchdog.unregister(driver);
+        try {
+            driver.quit();
+            logger.info("WebDriver closed successfully");
+        } catch (Exception e) {
+            logger.error("Error closing WebDriver: {}", e.getMessage());
+        } finally {
+            lease.close();
+        }
+        return true;
     }
 
     public static byte[] takeScreenshot() {
         try {
-            WebDriver driver = driverThreadLocal.get();
+            WebDriver driver = sessionThreadLocal.get().driver;
             if (driver != null) {
                 return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
             }
@@ -107,4 +183,11 @@ public class DriverManager {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /** One thread's driver and the concurrency slot it holds. */
+    private static final class Session {
+        private volatile WebDriver driver;
+        private AdaptiveConcurrencyController.Lease lease;
+        private Object owner;
+    }
+}
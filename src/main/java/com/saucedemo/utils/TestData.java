@@ -0,0 +1,224 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, typed view of {@code testdata.json}, bound once by {@link TestDataReader}.
+ * Prefer these getters in tests; they are plain field reads instead of a dotted-path lookup.
+ */
+public final class TestData {
+    private final Credentials credentials;
+    private final List<String> personas;
+    private final Checkout checkout;
+    private final Pricing pricing;
+    private final Map<String, Product> products;
+    private final Payment payment;
+    private final String shippingMethod;
+    private final Messages messages;
+
+    private TestData(JsonNode root) {
+        this.credentials = new Credentials(root.path("credentials"));
+        List<String> personaList = new ArrayList<>();
+        root.path("personas").forEach(persona -> personaList.add(persona.asText()));
+        if (personaList.isEmpty()) {
+            personaList.add(credentials.getUsername());
+        }
+        this.personas = Collections.unmodifiableList(personaList);
+        this.checkout = new Checkout(root.path("checkout"));
+        this.pricing = new Pricing(root.path("pricing"));
+        Map<String, Product> productMap = new LinkedHashMap<>();
+        root.path("products").fields().forEachRemaining(e -> productMap.put(e.getKey(), new Product(e.getValue())));
+        this.products = Collections.unmodifiableMap(productMap);
+        this.payment = new Payment(root.path("payment"));
+        this.shippingMethod = text(root.path("shipping"), "method");
+        this.messages = new Messages(root.path("messages"));
+    }
+
+    static TestData bind(JsonNode root) {
+        return new TestData(root);
+    }
+
+    public Credentials getCredentials() {
+        return credentials;
+    }
+
+    /** Usernames that share the credentials' password; defaults to just the credentials' username. */
+    public List<String> getPersonas() {
+        return personas;
+    }
+
+    public Checkout getCheckout() {
+        return checkout;
+    }
+
+    public Pricing getPricing() {
+        return pricing;
+    }
+
+    public Map<String, Product> getProducts() {
+        return products;
+    }
+
+    public Product getProduct(String key) {
+        Product product = products.get(key);
+        if (product == null) {
+            throw new IllegalArgumentException("No product '" + key + "' in test data");
+        }
+        return product;
+    }
+
+    public Payment getPayment() {
+        return payment;
+    }
+
+    public String getShippingMethod() {
+        return shippingMethod;
+    }
+
+    public Messages getMessages() {
+        return messages;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null ? value.asText() : null;
+    }
+
+    private static BigDecimal amount(JsonNode node, String field) {
+        String value = text(node, field);
+        return value != null ? new BigDecimal(value.replace("$", "").trim()) : null;
+    }
+
+    public static final class Credentials {
+        private final String username;
+        private final String password;
+
+        private Credentials(JsonNode node) {
+            this.username = text(node, "username");
+            this.password = text(node, "password");
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+    }
+
+    public static final class Checkout {
+        private final String firstName;
+        private final String lastName;
+        private final String postalCode;
+        private final String postalCodeNumeric;
+
+        private Checkout(JsonNode node) {
+            this.firstName = text(node, "firstName");
+            this.lastName = text(node, "lastName");
+            this.postalCode = text(node, "postalCode");
+            this.postalCodeNumeric = text(node, "postalCodeNumeric");
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getPostalCode() {
+            return postalCode;
+        }
+
+        public String getPostalCodeNumeric() {
+            return postalCodeNumeric;
+        }
+    }
+
+    public static final class Pricing {
+        private final BigDecimal subtotal;
+        private final BigDecimal tax;
+        private final BigDecimal total;
+
+        private Pricing(JsonNode node) {
+            this.subtotal = amount(node, "subtotal");
+            this.tax = amount(node, "tax");
+            this.total = amount(node, "total");
+        }
+
+        public BigDecimal getSubtotal() {
+            return subtotal;
+        }
+
+        public BigDecimal getTax() {
+            return tax;
+        }
+
+        public BigDecimal getTotal() {
+            return total;
+        }
+    }
+
+    public static final class Product {
+        private final String name;
+        private final BigDecimal price;
+
+        private Product(JsonNode node) {
+            this.name = text(node, "name");
+            this.price = amount(node, "price");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+    }
+
+    public static final class Payment {
+        private final String method;
+        private final String cardNumber;
+
+        private Payment(JsonNode node) {
+            this.method = text(node, "method");
+            this.cardNumber = text(node, "cardNumber");
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getCardNumber() {
+            return cardNumber;
+        }
+    }
+
+    public static final class Messages {
+        private final String orderCompleteHeader;
+        private final String orderCompleteText;
+
+        private Messages(JsonNode node) {
+            this.orderCompleteHeader = text(node.path("orderComplete"), "header");
+            this.orderCompleteText = text(node.path("orderComplete"), "text");
+        }
+
+        public String getOrderCompleteHeader() {
+            return orderCompleteHeader;
+        }
+
+        public String getOrderCompleteText() {
+            return orderCompleteText;
+        }
+    }
+}
@@ -2,15 +2,20 @@ package com.saucedemo.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class TestDataReader {
     private static final Logger logger = LoggerFactory.getLogger(TestDataReader.class);
+    private static final ConcurrentMap<String, JsonNode> pathCache = new ConcurrentHashMap<>();
     private static JsonNode testData;
+    private static TestData typedData;
 
     static {
         loadTestData();
@@ -22,6 +27,7 @@ public class TestDataReader {
                 .getResourceAsStream("testdata.json")) {
             if (inputStream != null) {
                 testData = mapper.readTree(inputStream);
+                typedData = TestData.bind(testData);
                 logger.info("Test data loaded successfully");
             } else {
                 logger.error("testdata.json file not found in classpath");
@@ -33,16 +39,22 @@ public class TestDataReader {
         }
     }
 
-    public static JsonNode getTestData(String path) {
-        String[] keys = path.split("\\.");
-        JsonNode node = testData;
+    /**
+     * Typed test data, bound once when the class is loaded.
+     */
+    public static TestData getData() {
+        return typedData;
+    }
 
-        for (String key : keys) {
-            node = node.get(key);
-            if (node == null) {
-                logger.warn("Test data not found for path: {}", path);
-                return null;
-            }
+    /**
+     * Dotted-path lookup, e.g. {@code credentials.username}. Each distinct path is resolved once
+     * and then served from a cache; unknown paths are cached as missing and still return null.
+     */
+    public static JsonNode getTestData(String path) {
+        JsonNode node = pathCache.computeIfAbsent(path, TestDataReader::resolve);
+        if (node.isMissingNode()) {
+            logger.warn("Test data not found for path: {}", path);
+            return null;
         }
         return node;
     }
@@ -51,4 +63,18 @@ public class TestDataReader {
         JsonNode node = getTestData(path);
         return node != null ? node.asText() : null;
     }
-}
\ No newline at end of file
+
+    private static JsonNode resolve(String path) {
+        JsonNode node = testData;
+        int start = 0;
+        while (node != null && start <= path.length()) {
+            int end = path.indexOf('.', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            node = node.get(path.substring(start, end));
+            start = end + 1;
+        }
+        return node != null ? node : MissingNode.getInstance();
+    }
+}
@@ -8,7 +8,6 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
 import java.util.List;
 
 public class handleAnyPopups {
@@ -34,7 +33,7 @@ public class handleAnyPopups {
             handleGenericOKPopup();
 
             // Small wait to ensure popups are processed
-            Thread.sleep(500);
+            ConfigReader.pause("delay.popup.settle");
 
         } catch (Exception e) {
             logger.debug("No popups detected or error handling popups: {}", e.getMessage());
@@ -73,7 +72,7 @@ public class handleAnyPopups {
                             buttonText.contains("dismiss") || buttonText.contains("close")) {
                         button.click();
                         logger.info("Clicked popup button with text: {}", button.getText());
-                        Thread.sleep(500);
+                        ConfigReader.pause("delay.popup.settle");
                         return;
                     }
                 }
@@ -108,7 +107,7 @@ public class handleAnyPopups {
                                 text.contains("dismiss") || text.contains("continue")) {
                             element.click();
                             logger.info("Clicked generic popup button: {}", text);
-                            Thread.sleep(300);
+                            ConfigReader.pause("delay.popup.click");
                             return;
                         }
                     }
@@ -125,7 +124,7 @@ public class handleAnyPopups {
      */
     private boolean tryClickPopupButton(String selector) {
         try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(2));
+            WebDriverWait shortWait = new WebDriverWait(driver, ConfigReader.getDuration("timeout.popup"));
 
             WebElement element;
             if (selector.startsWith("//")) {
@@ -141,7 +140,7 @@ public class handleAnyPopups {
 
             if (element.isDisplayed() && element.isEnabled()) {
                 element.click();
-                Thread.sleep(300);
+                ConfigReader.pause("delay.popup.click");
                 return true;
             }
         } catch (Exception e) {
@@ -196,7 +195,7 @@ public class handleAnyPopups {
      */
     public void waitForPopupsToDisappear() {
         try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(3));
+            WebDriverWait shortWait = new WebDriverWait(driver, ConfigReader.getDuration("timeout.popup"));
 
             // Wait for common popup elements to become invisible
             shortWait.until(ExpectedConditions.invisibilityOfElementLocated(By.cssSelector(".modal")));
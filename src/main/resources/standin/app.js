@@ -0,0 +1,295 @@
+// Client side of the Swag Labs stand-in. Like the real app, the session is the
+// "session-username" cookie and the cart lives in localStorage under "cart-contents".
+(function () {
+    'use strict';
+
+    var PRODUCTS = [
+        {id: 4, name: 'Sauce Labs Backpack', slug: 'sauce-labs-backpack', cents: 2999,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.'},
+        {id: 0, name: 'Sauce Labs Bike Light', slug: 'sauce-labs-bike-light', cents: 999,
+            desc: "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included."},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', slug: 'sauce-labs-bolt-t-shirt', cents: 1599,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', slug: 'sauce-labs-fleece-jacket', cents: 4999,
+            desc: "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office."},
+        {id: 2, name: 'Sauce Labs Onesie', slug: 'sauce-labs-onesie', cents: 799,
+            desc: "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel."},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', slug: 'test.allthethings()-t-shirt-(red)', cents: 1599,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.'}
+    ];
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user', 'error_user', 'visual_user'];
+    var PASSWORD = 'secret_sauce';
+    var CLOSE_ICON = '<svg width="16" height="16" viewBox="0 0 16 16" aria-hidden="true">'
+        + '<path d="M3 3 L13 13 M13 3 L3 13" stroke="currentColor" stroke-width="2"/></svg>';
+
+    function $(dataTest) {
+        return document.querySelector('[data-test="' + dataTest + '"]');
+    }
+
+    function go(path) {
+        window.location.href = path;
+    }
+
+    function product(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    function money(cents) {
+        return '$' + (cents / 100).toFixed(2);
+    }
+
+    function escapeHtml(text) {
+        return String(text).replace(/[&<>"']/g, function (c) {
+            return {'&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;'}[c];
+        });
+    }
+
+    function cart() {
+        try {
+            var ids = JSON.parse(window.localStorage.getItem('cart-contents'));
+            return Array.isArray(ids) ? ids : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function saveCart(ids) {
+        if (ids.length) {
+            window.localStorage.setItem('cart-contents', JSON.stringify(ids));
+        } else {
+            window.localStorage.removeItem('cart-contents');
+        }
+        renderBadge();
+    }
+
+    function toggleInCart(id) {
+        var ids = cart();
+        var at = ids.indexOf(id);
+        if (at >= 0) {
+            ids.splice(at, 1);
+        } else {
+            ids.push(id);
+        }
+        saveCart(ids);
+        return at < 0;
+    }
+
+    function cartButton(item, inCart) {
+        var action = inCart ? 'remove' : 'add-to-cart';
+        return '<button class="btn btn_small btn_inventory ' + (inCart ? 'btn_secondary' : 'btn_primary') + '"'
+            + ' data-test="' + action + '-' + item.slug + '" id="' + action + '-' + item.slug + '"'
+            + ' name="' + action + '-' + item.slug + '" data-item="' + item.id + '">'
+            + (inCart ? 'Remove' : 'Add to cart') + '</button>';
+    }
+
+    function itemLabel(item) {
+        return '<a href="#" id="item_' + item.id + '_title_link" data-test="item-' + item.id + '-title-link">'
+            + '<div class="inventory_item_name" data-test="inventory-item-name">' + escapeHtml(item.name) + '</div></a>'
+            + '<div class="inventory_item_desc" data-test="inventory-item-desc">' + escapeHtml(item.desc) + '</div>';
+    }
+
+    function renderBadge() {
+        var link = $('shopping-cart-link');
+        if (!link) {
+            return;
+        }
+        var count = cart().length;
+        link.innerHTML = count ? '<span class="shopping_cart_badge" data-test="shopping-cart-badge">' + count + '</span>' : '';
+    }
+
+    function showError(container, message, inputs) {
+        container.className = 'error-message-container error';
+        container.innerHTML = '<h3 data-test="error"><button class="error-button" data-test="error-button">'
+            + CLOSE_ICON + '</button>' + escapeHtml(message) + '</h3>';
+        inputs.forEach(function (input) {
+            input.classList.add('error');
+        });
+        container.querySelector('.error-button').addEventListener('click', function (event) {
+            event.preventDefault();
+            clearError(container, inputs);
+        });
+    }
+
+    function clearError(container, inputs) {
+        container.className = 'error-message-container';
+        container.innerHTML = '';
+        inputs.forEach(function (input) {
+            input.classList.remove('error');
+        });
+    }
+
+    function setUpHeader() {
+        var menu = document.getElementById('menu');
+        if (!menu) {
+            return;
+        }
+        document.getElementById('react-burger-menu-btn').addEventListener('click', function () {
+            menu.hidden = false;
+        });
+        document.getElementById('react-burger-cross-btn').addEventListener('click', function () {
+            menu.hidden = true;
+        });
+        $('logout-sidebar-link').addEventListener('click', function (event) {
+            event.preventDefault();
+            document.cookie = 'session-username=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+            go('/');
+        });
+        $('reset-sidebar-link').addEventListener('click', function (event) {
+            event.preventDefault();
+            saveCart([]);
+            window.location.reload();
+        });
+        renderBadge();
+    }
+
+    var pages = {};
+
+    pages.login = function () {
+        var username = $('username');
+        var password = $('password');
+        var container = document.querySelector('.error-message-container');
+        var inputs = [username, password];
+        var denied = new URLSearchParams(window.location.search).get('denied');
+        if (denied) {
+            showError(container, "Epic sadface: You can only access '" + denied + "' when you are logged in.", inputs);
+        }
+        document.getElementById('login_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var user = username.value;
+            var message = null;
+            if (!user) {
+                message = 'Epic sadface: Username is required';
+            } else if (!password.value) {
+                message = 'Epic sadface: Password is required';
+            } else if (USERS.indexOf(user) < 0 || password.value !== PASSWORD) {
+                message = 'Epic sadface: Username and password do not match any user in this service';
+            } else if (user === 'locked_out_user') {
+                message = 'Epic sadface: Sorry, this user has been locked out.';
+            }
+            if (message) {
+                showError(container, message, inputs);
+                return;
+            }
+            document.cookie = 'session-username=' + user + '; path=/';
+            go('/inventory.html');
+        });
+    };
+
+    pages.inventory = function () {
+        var list = document.querySelector('.inventory_list');
+        var sort = $('product-sort-container');
+        var orders = {
+            az: function (a, b) { return a.name < b.name ? -1 : 1; },
+            za: function (a, b) { return a.name < b.name ? 1 : -1; },
+            lohi: function (a, b) { return a.cents - b.cents || (a.name < b.name ? -1 : 1); },
+            hilo: function (a, b) { return b.cents - a.cents || (a.name < b.name ? -1 : 1); }
+        };
+
+        function render() {
+            var ids = cart();
+            list.innerHTML = PRODUCTS.slice().sort(orders[sort.value]).map(function (item) {
+                return '<div class="inventory_item" data-test="inventory-item">'
+                    + '<div class="inventory_item_description" data-test="inventory-item-description">'
+                    + '<div class="inventory_item_label">' + itemLabel(item) + '</div>'
+                    + '<div class="pricebar"><div class="inventory_item_price" data-test="inventory-item-price">'
+                    + money(item.cents) + '</div>' + cartButton(item, ids.indexOf(item.id) >= 0) + '</div>'
+                    + '</div></div>';
+            }).join('');
+        }
+
+        list.addEventListener('click', function (event) {
+            var button = event.target.closest('button[data-item]');
+            if (button) {
+                var id = Number(button.getAttribute('data-item'));
+                button.outerHTML = cartButton(product(id), toggleInCart(id));
+            }
+        });
+        sort.addEventListener('change', render);
+        render();
+    };
+
+    function renderCartItems(withRemove) {
+        var items = document.querySelector('.cart_items');
+        items.innerHTML = cart().map(product).filter(Boolean).map(function (item) {
+            return '<div class="cart_item" data-test="inventory-item">'
+                + '<div class="cart_quantity" data-test="item-quantity">1</div>'
+                + '<div class="cart_item_label">' + itemLabel(item)
+                + '<div class="item_pricebar"><div class="inventory_item_price" data-test="inventory-item-price">'
+                + money(item.cents) + '</div>' + (withRemove ? cartButton(item, true) : '') + '</div>'
+                + '</div></div>';
+        }).join('');
+        if (withRemove) {
+            items.addEventListener('click', function (event) {
+                var button = event.target.closest('button[data-item]');
+                if (button) {
+                    toggleInCart(Number(button.getAttribute('data-item')));
+                    button.closest('.cart_item').remove();
+                }
+            });
+        }
+    }
+
+    pages.cart = function () {
+        renderCartItems(true);
+        $('continue-shopping').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+        $('checkout').addEventListener('click', function () {
+            go('/checkout-step-one.html');
+        });
+    };
+
+    pages['checkout-step-one'] = function () {
+        var firstName = $('firstName');
+        var lastName = $('lastName');
+        var postalCode = $('postalCode');
+        var container = document.querySelector('.error-message-container');
+        var inputs = [firstName, lastName, postalCode];
+        document.getElementById('checkout_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var message = !firstName.value ? 'Error: First Name is required'
+                : !lastName.value ? 'Error: Last Name is required'
+                    : !postalCode.value ? 'Error: Postal Code is required' : null;
+            if (message) {
+                showError(container, message, inputs);
+                return;
+            }
+            go('/checkout-step-two.html');
+        });
+        $('cancel').addEventListener('click', function () {
+            go('/cart.html');
+        });
+    };
+
+    pages['checkout-step-two'] = function () {
+        renderCartItems(false);
+        var subtotal = cart().map(product).filter(Boolean).reduce(function (sum, item) {
+            return sum + item.cents;
+        }, 0);
+        var tax = Math.round(subtotal * 8 / 100);
+        $('subtotal-label').textContent = 'Item total: ' + money(subtotal);
+        $('tax-label').textContent = 'Tax: ' + money(tax);
+        $('total-label').textContent = 'Total: ' + money(subtotal + tax);
+        $('cancel').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+        $('finish').addEventListener('click', function () {
+            saveCart([]);
+            go('/checkout-complete.html');
+        });
+    };
+
+    pages['checkout-complete'] = function () {
+        $('back-to-products').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+    };
+
+    setUpHeader();
+    pages[document.body.getAttribute('data-page')]();
+})();
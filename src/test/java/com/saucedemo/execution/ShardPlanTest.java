@@ -0,0 +1,102 @@
+package com.saucedemo.execution;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardPlanTest {
+    private static final List<String> IDS = List.of("A.one", "A.two", "B.one", "B.two", "C.one");
+
+    @Test
+    public void everyMethodLandsOnExactlyOneShard() {
+        ShardPlan plan = ShardPlan.create(IDS, Map.of(), 3);
+        List<String> planned = new ArrayList<>();
+        for (int shard = 0; shard < plan.getCount(); shard++) {
+            planned.addAll(plan.getMethods(shard));
+        }
+        Collections.sort(planned);
+        Assert.assertEquals(planned, IDS);
+        for (String id : IDS) {
+            int owners = 0;
+            for (int shard = 0; shard < plan.getCount(); shard++) {
+                owners += plan.includes(id, shard) ? 1 : 0;
+            }
+            Assert.assertEquals(owners, 1, id);
+        }
+    }
+
+    @Test
+    public void withoutHistoryTheHashDecides() {
+        ShardPlan plan = ShardPlan.create(IDS, Map.of(), 4);
+        Assert.assertFalse(plan.isHistoryBased());
+        for (String id : IDS) {
+            Assert.assertTrue(plan.includes(id, Math.floorMod(id.hashCode(), 4)), id);
+        }
+    }
+
+    @Test
+    public void planDoesNotDependOnInputOrder() {
+        Map<String, Long> history = Map.of("A.one", 500L, "B.two", 300L);
+        List<String> reversed = new ArrayList<>(IDS);
+        Collections.reverse(reversed);
+        ShardPlan plan = ShardPlan.create(IDS, history, 2);
+        ShardPlan other = ShardPlan.create(reversed, history, 2);
+        for (int shard = 0; shard < 2; shard++) {
+            Assert.assertEquals(other.getMethods(shard), plan.getMethods(shard));
+        }
+    }
+
+    @Test
+    public void longestFirstBalancesTheShards() {
+        Map<String, Long> history = new HashMap<>();
+        history.put("A.one", 7000L);
+        history.put("A.two", 5000L);
+        history.put("B.one", 4000L);
+        history.put("B.two", 3000L);
+        history.put("C.one", 1000L);
+        ShardPlan plan = ShardPlan.create(IDS, history, 2);
+        Assert.assertTrue(plan.isHistoryBased());
+        // LPT: 7000 -> 0, 5000 -> 1, 4000 -> 1, 3000 -> 0, 1000 -> 1
+        Assert.assertEquals(plan.getEstimatedMillis(0), 10_000);
+        Assert.assertEquals(plan.getEstimatedMillis(1), 10_000);
+        Assert.assertEquals(plan.getMethods(0), List.of("A.one", "B.two"));
+        Assert.assertEquals(plan.getMethods(1), List.of("A.two", "B.one", "C.one"));
+    }
+
+    @Test
+    public void methodsWithoutHistoryAreEstimatedAtTheMedian() {
+        Map<String, Long> history = Map.of("A.one", 100L, "A.two", 200L, "B.one", 900L);
+        ShardPlan plan = ShardPlan.create(IDS, history, 1);
+        Assert.assertEquals(plan.getEstimatedMillis(0), 100 + 200 + 900 + 2 * 200);
+    }
+
+    @Test
+    public void moreShardsThanTestsLeavesShardsEmpty() {
+        List<String> ids = List.of("A.one", "A.two");
+        ShardPlan plan = ShardPlan.create(ids, Map.of("A.one", 1000L, "A.two", 2000L), 5);
+        int empty = 0;
+        for (int shard = 0; shard < plan.getCount(); shard++) {
+            Assert.assertTrue(plan.getMethods(shard).size() <= 1, "shard " + shard);
+            empty += plan.getMethods(shard).isEmpty() ? 1 : 0;
+        }
+        Assert.assertEquals(empty, 3);
+        Assert.assertTrue(ShardPlan.create(ids, Map.of(), 5).toString().startsWith("hash plan"));
+    }
+
+    @Test
+    public void noMethodsGivesEmptyShards() {
+        ShardPlan plan = ShardPlan.create(List.of(), Map.of(), 2);
+        Assert.assertTrue(plan.getMethods(0).isEmpty());
+        Assert.assertTrue(plan.getMethods(1).isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsZeroShards() {
+        ShardPlan.create(IDS, Map.of(), 0);
+    }
+}
@@ -0,0 +1,70 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.utils.TempDirs;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ShardResultMergerTest {
+    private Path root;
+
+    @BeforeMethod
+    public void createRoot() throws IOException {
+        root = Files.createTempDirectory("shard-merge");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteRoot() throws IOException {
+        TempDirs.deleteRecursively(root);
+    }
+
+    @Test
+    public void copiesAllureFilesAndSuffixesReportsPerShard() throws IOException {
+        ShardLauncher.ShardResult first = shard(0, "a-result.json", "TEST-Suite.xml");
+        ShardLauncher.ShardResult second = shard(1, "b-result.json", "TEST-Suite.xml");
+        Path allure = root.resolve("allure");
+        Path reports = root.resolve("reports");
+
+        ShardResultMerger.merge(List.of(first, second), allure, reports);
+
+        Assert.assertEquals(names(allure), List.of("a-result.json", "b-result.json"));
+        Assert.assertEquals(names(reports), List.of("TEST-Suite-shard0.xml", "TEST-Suite-shard1.xml"));
+        Assert.assertEquals(Files.readString(reports.resolve("TEST-Suite-shard1.xml")), "shard 1");
+    }
+
+    @Test
+    public void shardWithoutOutputContributesNothing() throws IOException {
+        Path empty = Files.createDirectories(root.resolve("shard-0"));
+        Path allure = root.resolve("allure");
+        Path reports = root.resolve("reports");
+
+        ShardResultMerger.merge(List.of(new ShardLauncher.ShardResult(0, empty, 1)), allure, reports);
+
+        Assert.assertTrue(names(allure).isEmpty());
+        Assert.assertTrue(names(reports).isEmpty());
+    }
+
+    private ShardLauncher.ShardResult shard(int index, String allureFile, String report) throws IOException {
+        Path directory = root.resolve("shard-" + index);
+        Path allure = Files.createDirectories(directory.resolve("allure-results"));
+        Path junit = Files.createDirectories(directory.resolve("testng").resolve("junitreports"));
+        Files.write(allure.resolve(allureFile), "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(junit.resolve(report), ("shard " + index).getBytes(StandardCharsets.UTF_8));
+        return new ShardLauncher.ShardResult(index, directory, 0);
+    }
+
+    private static List<String> names(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.saucedemo.history;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.saucedemo.history.RunHistoryTest.execution;
+
+public class FlakinessScoreTest {
+    private static final String TEST = "LoginTest.testLogin";
+    private static final TestExecution.Outcome PASSED = TestExecution.Outcome.PASSED;
+    private static final TestExecution.Outcome FAILED = TestExecution.Outcome.FAILED;
+    private static final TestExecution.Outcome SKIPPED = TestExecution.Outcome.SKIPPED;
+
+    @Test
+    public void noHistoryScoresZero() {
+        FlakinessScore score = FlakinessScore.of(TEST, List.of());
+        Assert.assertEquals(score.getExecutions(), 0);
+        Assert.assertEquals(score.flipRate(), 0.0);
+    }
+
+    @Test
+    public void singleExecutionHasNoTransition() {
+        FlakinessScore score = FlakinessScore.of(TEST, List.of(execution(1, TEST, "chrome", FAILED)));
+        Assert.assertEquals(score.getExecutions(), 1);
+        Assert.assertEquals(score.getFailures(), 1);
+        Assert.assertEquals(score.flipRate(), 0.0);
+    }
+
+    @Test
+    public void allSkippedCountsNothing() {
+        FlakinessScore score = FlakinessScore.of(TEST, List.of(execution(1, TEST, "chrome", SKIPPED),
+                execution(2, TEST, "chrome", SKIPPED)));
+        Assert.assertEquals(score.getExecutions(), 0);
+        Assert.assertEquals(score.flipRate(), 0.0);
+    }
+
+    @Test
+    public void alwaysFailingIsNotFlaky() {
+        FlakinessScore score = FlakinessScore.of(TEST, List.of(execution(1, TEST, "chrome", FAILED),
+                execution(2, TEST, "chrome", FAILED), execution(3, TEST, "chrome", FAILED)));
+        Assert.assertEquals(score.getFailures(), 3);
+        Assert.assertEquals(score.flipRate(), 0.0);
+    }
+
+    @Test
+    public void alternatingOutcomesFlipEveryTime() {
+        FlakinessScore score = FlakinessScore.of(TEST, List.of(execution(1, TEST, "chrome", PASSED),
+                execution(2, TEST, "chrome", FAILED), execution(3, TEST, "chrome", PASSED),
+                execution(4, TEST, "chrome", FAILED)));
+        Assert.assertEquals(score.getFlips(), 3);
+        Assert.assertEquals(score.flipRate(), 1.0);
+    }
+
+    @Test
+    public void skipsInBetweenDoNotBreakTheChain() {
+        FlakinessScore score = FlakinessScore.of(TEST, List.of(execution(1, TEST, "chrome", PASSED),
+                execution(2, TEST, "chrome", SKIPPED), execution(3, TEST, "chrome", FAILED)));
+        Assert.assertEquals(score.getExecutions(), 2);
+        Assert.assertEquals(score.getFlips(), 1);
+        Assert.assertEquals(score.flipRate(), 1.0);
+    }
+
+    @Test
+    public void browsersAreComparedSeparately() {
+        // Passing on chrome and failing on firefox in every run is a browser bug, not flakiness
+        FlakinessScore score = FlakinessScore.of(TEST, List.of(execution(1, TEST, "chrome", PASSED),
+                execution(1, TEST, "firefox", FAILED), execution(2, TEST, "chrome", PASSED),
+                execution(2, TEST, "firefox", FAILED)));
+        Assert.assertEquals(score.getExecutions(), 4);
+        Assert.assertEquals(score.getFlips(), 0);
+        Assert.assertEquals(score.flipRate(), 0.0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.saucedemo.history;
+
+import com.saucedemo.utils.TempDirs;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.saucedemo.history.RunHistoryTest.execution;
+
+public class QuarantineTest {
+    private static final String FLAKY = "com.saucedemo.tests.CartTest.testFlaky";
+    private static final String STABLE = "com.saucedemo.tests.CartTest.testStable";
+    private static final String NEW = "com.saucedemo.tests.CartTest.testNew";
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("quarantine");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        TempDirs.deleteRecursively(dir);
+    }
+
+    @Test
+    public void emptyHistoryQuarantinesOnlyNamedTests() {
+        Quarantine quarantine = Quarantine.evaluate(RunHistory.open(dir), List.of(FLAKY, STABLE),
+                Set.of("testStable"), 10, 0.3, 4);
+        Assert.assertEquals(quarantine.testIds(), Set.of(STABLE));
+        Assert.assertTrue(quarantine.reason(STABLE).startsWith("quarantined by configuration"));
+        Assert.assertNull(quarantine.reason(FLAKY));
+    }
+
+    @Test
+    public void flakyTestWithEnoughHistoryIsQuarantined() {
+        List<TestExecution> executions = new ArrayList<>();
+        for (long run = 1; run <= 6; run++) {
+            executions.add(execution(run, FLAKY, "chrome",
+                    run % 2 == 0 ? TestExecution.Outcome.FAILED : TestExecution.Outcome.PASSED));
+            executions.add(execution(run, STABLE, "chrome", TestExecution.Outcome.PASSED));
+        }
+        executions.add(execution(6, NEW, "chrome", TestExecution.Outcome.FAILED));
+        RunHistory.append(dir, executions);
+
+        Quarantine quarantine = Quarantine.evaluate(RunHistory.open(dir), List.of(FLAKY, STABLE, NEW), Set.of(),
+                10, 0.3, 4);
+        Assert.assertTrue(quarantine.contains(FLAKY));
+        Assert.assertTrue(quarantine.reason(FLAKY).startsWith("flip rate 1.00 >= 0.30"), quarantine.reason(FLAKY));
+        Assert.assertFalse(quarantine.contains(STABLE));
+        Assert.assertFalse(quarantine.contains(NEW), "a single execution is not enough to judge");
+    }
+
+    @Test
+    public void onlyTheRecentRunsCount() {
+        List<TestExecution> executions = new ArrayList<>();
+        for (long run = 1; run <= 10; run++) {
+            // Flaky early on, stable for the last five runs
+            TestExecution.Outcome outcome = run <= 5 && run % 2 == 0 ? TestExecution.Outcome.FAILED
+                    : TestExecution.Outcome.PASSED;
+            executions.add(execution(run, FLAKY, "chrome", outcome));
+        }
+        RunHistory.append(dir, executions);
+
+        Assert.assertTrue(Quarantine.evaluate(RunHistory.open(dir), List.of(FLAKY), Set.of(), 10, 0.3, 4)
+                .contains(FLAKY));
+        Assert.assertFalse(Quarantine.evaluate(RunHistory.open(dir), List.of(FLAKY), Set.of(), 5, 0.3, 4)
+                .contains(FLAKY));
+    }
+
+    @Test
+    public void writesDecisionsAndScores() throws IOException {
+        Path file = dir.resolve("report").resolve("quarantine.txt");
+        Quarantine.evaluate(RunHistory.open(dir), List.of(FLAKY, STABLE), Set.of(FLAKY), 10, 0.3, 4).write(file);
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.get(0), "Quarantined: 1 of 2 tests");
+        Assert.assertTrue(lines.get(1).startsWith("  " + FLAKY + " - quarantined by configuration"), lines.get(1));
+        Assert.assertEquals(lines.get(2), "Scores:");
+        Assert.assertEquals(lines.size(), 5);
+    }
+
+    @Test
+    public void noneQuarantinesNothing() {
+        Assert.assertFalse(Quarantine.NONE.contains(FLAKY));
+        Assert.assertTrue(Quarantine.NONE.testIds().isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.saucedemo.history;
+
+import com.saucedemo.utils.TempDirs;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class RunHistoryTest {
+    private static final String LOGIN = "com.saucedemo.tests.LoginTest.testLogin";
+    private static final String CART = "com.saucedemo.tests.CartTest.testCart";
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("run-history");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        TempDirs.deleteRecursively(dir);
+    }
+
+    @Test
+    public void missingHistoryIsEmpty() {
+        RunHistory history = RunHistory.open(dir.resolve("none"));
+        Assert.assertEquals(history.size(), 0);
+        Assert.assertTrue(history.testIds().isEmpty());
+        Assert.assertTrue(history.lastRuns(LOGIN, null, 10).isEmpty());
+        Assert.assertTrue(history.resolve("testLogin").isEmpty());
+    }
+
+    @Test
+    public void appendingNothingCreatesNothing() {
+        RunHistory.append(dir.resolve("none"), List.of());
+        Assert.assertFalse(Files.exists(dir.resolve("none")));
+    }
+
+    @Test
+    public void singleExecutionRoundTrips() {
+        Map<String, Integer> steps = new LinkedHashMap<>();
+        steps.put("Open login page", 120);
+        steps.put("Log in", 340);
+        RunHistory.append(dir, List.of(new TestExecution(7, LOGIN, "chrome", 1500,
+                TestExecution.Outcome.FAILED, steps)));
+
+        RunHistory history = RunHistory.open(dir);
+        Assert.assertEquals(history.size(), 1);
+        List<TestExecution> runs = history.lastRuns(LOGIN, null, 5);
+        Assert.assertEquals(runs.size(), 1);
+        TestExecution execution = runs.get(0);
+        Assert.assertEquals(execution.getRunId(), 7);
+        Assert.assertEquals(execution.getBrowser(), "chrome");
+        Assert.assertEquals(execution.getDurationMs(), 1500);
+        Assert.assertEquals(execution.getOutcome(), TestExecution.Outcome.FAILED);
+        Assert.assertEquals(new ArrayList<>(execution.getStepMillis().keySet()), List.of("Open login page", "Log in"));
+        Assert.assertEquals(execution.getStepMillis().get("Log in"), Integer.valueOf(340));
+    }
+
+    @Test
+    public void lastRunsFollowsOneTestAcrossAppends() {
+        for (long run = 1; run <= 5; run++) {
+            RunHistory.append(dir, List.of(
+                    execution(run, LOGIN, "chrome", TestExecution.Outcome.PASSED),
+                    execution(run, LOGIN, "firefox", TestExecution.Outcome.FAILED),
+                    execution(run, CART, "chrome", TestExecution.Outcome.SKIPPED)));
+        }
+        RunHistory history = RunHistory.open(dir);
+        Assert.assertEquals(history.size(), 15);
+        Assert.assertEquals(history.testIds(), Set.of(CART, LOGIN));
+
+        List<TestExecution> lastTwo = history.lastRuns(LOGIN, null, 2);
+        Assert.assertEquals(lastTwo.size(), 4);
+        Assert.assertEquals(lastTwo.get(0).getRunId(), 4);
+        Assert.assertEquals(lastTwo.get(3).getRunId(), 5);
+
+        List<TestExecution> firefox = history.lastRuns(LOGIN, "firefox", 3);
+        Assert.assertEquals(firefox.stream().map(TestExecution::getRunId).collect(Collectors.toList()),
+                List.of(3L, 4L, 5L));
+        Assert.assertTrue(firefox.stream().allMatch(e -> e.getOutcome() == TestExecution.Outcome.FAILED));
+
+        Assert.assertTrue(history.lastRuns(LOGIN, "safari", 3).isEmpty());
+        Assert.assertTrue(history.lastRuns(LOGIN, null, 0).isEmpty());
+        Assert.assertEquals(history.lastRuns(CART, null, 10).size(), 5);
+    }
+
+    @Test
+    public void resolvesMethodNamesToTestIds() {
+        RunHistory.append(dir, List.of(execution(1, LOGIN, "chrome", TestExecution.Outcome.PASSED)));
+        RunHistory history = RunHistory.open(dir);
+        Assert.assertEquals(history.resolve("testLogin"), List.of(LOGIN));
+        Assert.assertEquals(history.resolve(LOGIN), List.of(LOGIN));
+        Assert.assertTrue(history.resolve("Login").isEmpty());
+    }
+
+    @Test
+    public void openViewDoesNotSeeLaterAppends() {
+        RunHistory.append(dir, List.of(execution(1, LOGIN, "chrome", TestExecution.Outcome.PASSED)));
+        RunHistory before = RunHistory.open(dir);
+        RunHistory.append(dir, List.of(execution(2, LOGIN, "chrome", TestExecution.Outcome.PASSED)));
+        Assert.assertEquals(before.size(), 1);
+        Assert.assertEquals(RunHistory.open(dir).size(), 2);
+    }
+
+    static TestExecution execution(long runId, String testId, String browser, TestExecution.Outcome outcome) {
+        return new TestExecution(runId, testId, browser, 1000, outcome, Map.of());
+    }
+}
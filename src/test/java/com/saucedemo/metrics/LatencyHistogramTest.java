@@ -0,0 +1,99 @@
+package com.saucedemo.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramReportsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.count(), 0);
+        Assert.assertEquals(histogram.min(), 0);
+        Assert.assertEquals(histogram.max(), 0);
+        Assert.assertEquals(histogram.mean(), 0.0);
+        Assert.assertEquals(histogram.percentile(99), 0);
+    }
+
+    @Test
+    public void singleValueIsEveryPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1234);
+        for (double percentile : new double[]{0, 50, 99.9, 100}) {
+            Assert.assertEquals(histogram.percentile(percentile), 1234, "p" + percentile);
+        }
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+        Assert.assertEquals(histogram.percentile(50), 5);
+        Assert.assertEquals(histogram.percentile(90), 9);
+        Assert.assertEquals(histogram.percentile(100), 10);
+        Assert.assertEquals(histogram.mean(), 5.5);
+    }
+
+    @Test
+    public void largePercentilesStayWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        for (double percentile : new double[]{10, 50, 90, 95, 99, 99.9}) {
+            double expected = percentile * 1000;
+            Assert.assertEquals(histogram.percentile(percentile), expected, expected * 0.03, "p" + percentile);
+        }
+        Assert.assertEquals(histogram.min(), 1);
+        Assert.assertEquals(histogram.max(), 100_000);
+    }
+
+    @Test
+    public void negativeValuesCountAsZeroAndExtremesDoNotOverflow() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(histogram.min(), 0);
+        Assert.assertEquals(histogram.percentile(50), 0);
+        long top = histogram.percentile(100);
+        Assert.assertTrue(top > 0 && top >= Long.MAX_VALUE / 100 * 97, "p100 = " + top);
+    }
+
+    @Test
+    public void mergeAddsCountsAndKeepsExtremes() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        first.record(20);
+        second.record(5);
+        second.record(400);
+        first.merge(second);
+        Assert.assertEquals(first.count(), 4);
+        Assert.assertEquals(first.sum(), 435);
+        Assert.assertEquals(first.min(), 5);
+        Assert.assertEquals(first.max(), 400);
+        Assert.assertEquals(second.count(), 2, "merge must not change its argument");
+    }
+
+    @Test
+    public void mergingAnEmptyHistogramChangesNothing() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.merge(new LatencyHistogram());
+        Assert.assertEquals(histogram.count(), 1);
+        Assert.assertEquals(histogram.min(), 42);
+        Assert.assertEquals(histogram.percentile(50), 42);
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(7);
+        LatencyHistogram copy = histogram.copy();
+        histogram.record(9);
+        Assert.assertEquals(copy.count(), 1);
+        Assert.assertEquals(copy.max(), 7);
+    }
+}
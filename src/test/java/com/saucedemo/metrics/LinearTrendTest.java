@@ -0,0 +1,96 @@
+package com.saucedemo.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LinearTrendTest {
+    private static final double[] X = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+    @Test
+    public void fitsAnExactLine() {
+        double[] y = new double[X.length];
+        for (int i = 0; i < X.length; i++) {
+            y[i] = 100 + 5 * X[i];
+        }
+        LinearTrend trend = LinearTrend.fit(X, y);
+        Assert.assertEquals(trend.getCount(), 10);
+        Assert.assertEquals(trend.getSlope(), 5.0, 1e-9);
+        Assert.assertEquals(trend.at(20), 200.0, 1e-9);
+        Assert.assertEquals(trend.relativeGrowth(), 0.45, 1e-9);
+        Assert.assertEquals(trend.tStatistic(), Double.POSITIVE_INFINITY);
+        Assert.assertTrue(trend.isRising(0.01));
+    }
+
+    @Test
+    public void flatSeriesWithZeroVarianceIsNotRising() {
+        LinearTrend trend = LinearTrend.fit(X, new double[]{7, 7, 7, 7, 7, 7, 7, 7, 7, 7});
+        Assert.assertEquals(trend.getSlope(), 0.0);
+        Assert.assertEquals(trend.tStatistic(), 0.0);
+        Assert.assertEquals(trend.relativeGrowth(), 0.0);
+        Assert.assertFalse(trend.isRising(0.01));
+    }
+
+    @Test
+    public void exactFallingLineIsNotRising() {
+        LinearTrend trend = LinearTrend.fit(new double[]{0, 1, 2}, new double[]{9, 6, 3});
+        Assert.assertEquals(trend.tStatistic(), Double.NEGATIVE_INFINITY);
+        Assert.assertFalse(trend.isRising(0.01));
+    }
+
+    @Test
+    public void noiseAroundALevelIsNotRising() {
+        double[] y = {100, 103, 98, 101, 99, 102, 97, 101, 100, 99};
+        Assert.assertFalse(LinearTrend.fit(X, y).isRising(0.01));
+    }
+
+    @Test
+    public void steadyGrowthThroughNoiseIsRising() {
+        double[] y = {100, 112, 118, 133, 139, 152, 158, 171, 180, 189};
+        LinearTrend trend = LinearTrend.fit(X, y);
+        Assert.assertTrue(trend.isRising(0.01), "t = " + trend.tStatistic());
+        Assert.assertTrue(trend.relativeGrowth() > 0.5);
+    }
+
+    @Test
+    public void growthFromZeroOrBelowIsReportedAsNone() {
+        LinearTrend trend = LinearTrend.fit(new double[]{0, 1, 2}, new double[]{-2, 0, 2});
+        Assert.assertEquals(trend.relativeGrowth(), 0.0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void needsThreePoints() {
+        LinearTrend.fit(new double[]{0, 1}, new double[]{1, 2});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void needsDistinctX() {
+        LinearTrend.fit(new double[]{3, 3, 3}, new double[]{1, 2, 3});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void needsEqualLengths() {
+        LinearTrend.fit(new double[]{0, 1, 2}, new double[]{1, 2});
+    }
+
+    @Test
+    public void normalQuantileMatchesTables() {
+        Assert.assertEquals(LinearTrend.normalQuantile(0.5), 0.0, 1e-3);
+        Assert.assertEquals(LinearTrend.normalQuantile(0.975), 1.960, 1e-3);
+        Assert.assertEquals(LinearTrend.normalQuantile(0.99), 2.326, 1e-3);
+        Assert.assertEquals(LinearTrend.normalQuantile(0.01), -2.326, 1e-3);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void normalQuantileRejectsCertainty() {
+        LinearTrend.normalQuantile(1);
+    }
+
+    @Test
+    public void tQuantileMatchesTablesFromFiveDegreesOfFreedom() {
+        // Student's t tables, one-sided 0.99: df 5 -> 3.365, 10 -> 2.764, 30 -> 2.457
+        Assert.assertEquals(LinearTrend.tQuantile(0.99, 5), 3.365, 3.365 * 0.05);
+        Assert.assertEquals(LinearTrend.tQuantile(0.99, 10), 2.764, 2.764 * 0.02);
+        Assert.assertEquals(LinearTrend.tQuantile(0.99, 30), 2.457, 2.457 * 0.01);
+        Assert.assertEquals(LinearTrend.tQuantile(0.99, 100_000), 2.326, 1e-3);
+    }
+}
@@ -1,48 +1,145 @@
 package com.saucedemo.runner;
 
+import com.saucedemo.execution.ShardLauncher;
+import com.saucedemo.execution.ShardResultMerger;
+import com.saucedemo.listeners.ConfigSuiteListener;
+import com.saucedemo.listeners.QuarantineListener;
+import com.saucedemo.listeners.ResourceTelemetryListener;
+import com.saucedemo.listeners.RunHistoryListener;
+import com.saucedemo.listeners.SessionWatchdogListener;
+import com.saucedemo.listeners.SeverityScheduler;
+import com.saucedemo.listeners.ShardMethodInterceptor;
+import com.saucedemo.listeners.SmartRetryListener;
+import com.saucedemo.listeners.TestDurationListener;
+import com.saucedemo.listeners.TestImpactListener;
+import com.saucedemo.listeners.TestListener;
+import com.saucedemo.profiling.FlightRecording;
+import com.saucedemo.utils.ConfigReader;
 import org.testng.TestNG;
 import org.testng.xml.XmlClass;
 import org.testng.xml.XmlSuite;
 import org.testng.xml.XmlTest;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Runs the suite in-process, or sharded: with {@code -Dshard.count=N -Dshard.index=I} only shard I's
+ * methods run (one process per machine), and with {@code -Dshard.count=N} alone all N shards are
+ * started as separate JVMs here and their results merged afterwards.
+ * <p>
+ * {@code -Drunner.browsers=chrome,firefox} runs the classes once per browser in this JVM, all
+ * browsers at the same time: each gets its own {@code <test>} (named after it, so results are
+ * grouped and tagged per browser in Allure) and its own session pool, and everything lands in
+ * the one results directory.
+ * <p>
+ * {@code -Dimpact.base=origin/main} runs only the tests affected by the changes since that ref,
+ * see {@link TestImpactListener}.
+ * <p>
+ * {@code -Djfr.enabled=true} records the run with Java Flight Recorder, page and driver events
+ * included, and dumps it to {@code jfr.dir}; see {@link FlightRecording}.
+ */
 public class TestRunner {
 
     public static void main(String[] args) {
+        int shardCount = ConfigReader.getInt("shard.count");
+        if (shardCount > 1 && ConfigReader.getProperty("shard.index", null) == null) {
+            System.exit(runAllShards(shardCount));
+        }
+
         // Create suite
         XmlSuite suite = new XmlSuite();
         suite.setName("SauceDemo Test Suite");
         suite.setVerbose(1);
 
-        // Set suite parameters
-        Map<String, String> suiteParameters = new HashMap<>();
-        suiteParameters.put("browser", System.getProperty("browser", "chrome"));
-        suite.setParameters(suiteParameters);
-
-        // Create test
-        XmlTest test = new XmlTest(suite);
-        test.setName("SauceDemo E2E Tests");
-        test.setPreserveOrder(true);
+        // One test per browser; several browsers run side by side
+        List<String> browsers = browsers();
+        for (String browser : browsers) {
+            XmlTest test = new XmlTest(suite);
+            test.setName(browsers.size() > 1 ? "SauceDemo E2E Tests [" + browser + "]" : "SauceDemo E2E Tests");
+            test.setPreserveOrder(true);
+            Map<String, String> testParameters = new HashMap<>();
+            testParameters.put("browser", browser);
+            test.setParameters(testParameters);
 
-        // Add test classes
-        List<XmlClass> classes = new ArrayList<>();
-        classes.add(new XmlClass("com.saucedemo.tests.SauceDemoTest"));
-        test.setXmlClasses(classes);
+            // Add test classes
+            List<XmlClass> classes = new ArrayList<>();
+            for (String className : ConfigReader.getProperty("runner.classes").split(",")) {
+                classes.add(new XmlClass(className.trim()));
+            }
+            test.setXmlClasses(classes);
+        }
+        if (browsers.size() > 1) {
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(browsers.size());
+        }
 
         // Create TestNG instance and run
         TestNG testng = new TestNG();
         List<XmlSuite> suites = new ArrayList<>();
         suites.add(suite);
         testng.setXmlSuites(suites);
+        testng.setOutputDirectory(ConfigReader.getProperty("shard.output.dir", "test-output"));
 
         // Add listeners
-        testng.addListener("com.saucedemo.listeners.TestListener");
+        testng.addListener(new ConfigSuiteListener());
+        testng.addListener(new SessionWatchdogListener());
+        testng.addListener(new TestImpactListener());
+        testng.addListener(new ShardMethodInterceptor());
+        testng.addListener(new SeverityScheduler());
+        testng.addListener(new QuarantineListener());
+        testng.addListener(new TestDurationListener());
+        testng.addListener(new RunHistoryListener());
+        testng.addListener(new ResourceTelemetryListener());
+        testng.addListener(new SmartRetryListener());
+        testng.addListener(new TestListener());
+
+        System.out.println("Running SauceDemo Test Suite on " + String.join(", ", browsers) + "...");
+        String shardIndex = ConfigReader.getProperty("shard.index", null);
+        FlightRecording recording = ConfigReader.getBoolean("jfr.enabled")
+                ? FlightRecording.start(shardIndex == null ? "saucedemo" : "saucedemo-shard-" + shardIndex) : null;
+        try {
+            testng.run();
+        } finally {
+            if (recording != null) {
+                recording.close();
+            }
+        }
+        if (shardCount > 1) {
+            System.exit(testng.getStatus());
+        }
+    }
+
+    private static List<String> browsers() {
+        List<String> browsers = new ArrayList<>();
+        String setting = ConfigReader.getProperty("runner.browsers");
+        for (String browser : (setting.trim().isEmpty() ? ConfigReader.getBrowser() : setting).split(",")) {
+            String name = browser.trim().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty() && !browsers.contains(name)) {
+                browsers.add(name);
+            }
+        }
+        if (browsers.isEmpty()) {
+            throw new IllegalArgumentException("runner.browsers lists no browser");
+        }
+        return browsers;
+    }
+
+    private static int runAllShards(int shardCount) {
+        System.out.println("Running SauceDemo Test Suite in " + shardCount + " shards...");
+        List<ShardLauncher.ShardResult> shards = ShardLauncher.launch(TestRunner.class.getName(), shardCount,
+                Paths.get(ConfigReader.getProperty("shard.output.root")));
+        ShardResultMerger.merge(shards, Paths.get(ConfigReader.getProperty("allure.results.directory",
+                "target/allure-results")), Paths.get(ConfigReader.getProperty("shard.reports.dir")));
 
-        System.out.println("Running SauceDemo Test Suite...");
-        testng.run();
+        int status = 0;
+        for (ShardLauncher.ShardResult shard : shards) {
+            status |= shard.getExitCode();
+        }
+        return status;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.data.DataRecord;
+import com.saucedemo.data.DataSet;
+import com.saucedemo.data.DataSetProvider;
+import com.saucedemo.listeners.DataSetThroughputListener;
+import com.saucedemo.pages.*;
+import com.saucedemo.standin.SwagLabsServer;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.DriverManager;
+import com.saucedemo.utils.TestDataReader;
+import com.saucedemo.utils.handleAnyPopups;
+import io.qameta.allure.*;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Checkout form validation driven by {@code datasets/checkout-validation.csv}. Cases run on the
+ * data provider's worker threads, each of which keeps one browser from {@link DriverManager}
+ * and resets the session between cases instead of relaunching it.
+ */
+@Epic("SauceDemo Checkout Testing")
+@Feature("Data-Driven Checkout Validation")
+@Listeners(DataSetThroughputListener.class)
+public class CheckoutDataDrivenTest {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutDataDrivenTest.class);
+
+    @Test(description = "Checkout step one accepts or rejects each data set record",
+            dataProvider = DataSetProvider.PARALLEL, dataProviderClass = DataSetProvider.class)
+    @DataSet(name = "checkout", path = "datasets/checkout-validation.csv")
+    @Story("Checkout Form Validation")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testCheckoutInformation(DataRecord record) {
+        logger.info("Running checkout case {}", record);
+        WebDriver driver = startSession();
+        WebDriverWait wait = new WebDriverWait(driver, ConfigReader.getDuration("timeout.explicit"),
+                ConfigReader.getDuration("poll.interval"));
+
+        InventoryPage inventoryPage = new LoginPage(driver, wait).login(
+                TestDataReader.getData().getCredentials().getUsername(),
+                TestDataReader.getData().getCredentials().getPassword());
+        new handleAnyPopups(driver, wait).handleBrowserPopups();
+        inventoryPage.addBackpackToCart();
+
+        CheckoutStepOnePage checkoutPage = inventoryPage.clickShoppingCartLink().clickCheckoutButton();
+        checkoutPage.fillCheckoutInformation(record.get("firstName"), record.get("lastName"), record.get("postalCode"));
+        CheckoutStepTwoPage stepTwo = checkoutPage.clickContinueButton();
+
+        if ("success".equals(record.get("expect"))) {
+            Assert.assertTrue(stepTwo.isCheckoutStepTwoPageLoaded(),
+                    "Case " + record + " should reach checkout step two");
+        } else {
+            Assert.assertTrue(checkoutPage.isErrorMessageDisplayed(),
+                    "Case " + record + " should show an error message");
+            String errorMessage = checkoutPage.getErrorMessageText();
+            boolean matches = false;
+            for (String expected : record.get("messageContains").split("\\|")) {
+                matches |= errorMessage.contains(expected);
+            }
+            Assert.assertTrue(matches, "Case " + record + " expected one of '"
+                    + record.get("messageContains") + "'. Actual: " + errorMessage);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        DriverManager.closeAllDrivers(this);
+    }
+
+    /** Reuses this thread's browser, logged out with an empty cart. */
+    private WebDriver startSession() {
+        WebDriver driver = DriverManager.getDriver(this);
+        driver.manage().timeouts().implicitlyWait(ConfigReader.getDuration("timeout.implicit"));
+        String baseUrl = SwagLabsServer.resolveBaseUrl();
+        driver.get(baseUrl);
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        driver.get(baseUrl);
+        return driver;
+    }
+}
@@ -0,0 +1,89 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.base.BaseTest;
+import com.saucedemo.data.CheckoutInput;
+import com.saucedemo.data.CheckoutInputGenerator;
+import com.saucedemo.data.CheckoutInputShrinker;
+import com.saucedemo.pages.*;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.TestDataReader;
+import io.qameta.allure.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Property test for checkout step one: thousands of generated inputs are submitted on the same
+ * page and each outcome must match {@link CheckoutInput#expectedError()}. A failing input is
+ * shrunk to a minimal counterexample before the test fails.
+ * <p>
+ * Tuned through {@link ConfigReader}: {@code fuzz.count}, {@code fuzz.seed} (logged on every run,
+ * so a failure can be replayed), {@code fuzz.batch.size}, {@code fuzz.shrink.attempts} and
+ * {@code fuzz.supplementary=true} for browsers that can type characters outside the Basic
+ * Multilingual Plane.
+ */
+@Epic("SauceDemo Checkout Testing")
+@Feature("Checkout Input Fuzzing")
+public class CheckoutFuzzTest extends BaseTest {
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutFuzzTest.class);
+    private String lastError;
+
+    @Test(description = "Checkout step one reports exactly the required-field errors for generated inputs")
+    @Story("Checkout Form Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testGeneratedCheckoutInformation() {
+        long seed = Long.parseLong(ConfigReader.getProperty("fuzz.seed", String.valueOf(System.nanoTime())));
+        long count = ConfigReader.getLong("fuzz.count");
+        int shrinkAttempts = ConfigReader.getInt("fuzz.shrink.attempts");
+        CheckoutInputGenerator generator = new CheckoutInputGenerator(seed, ConfigReader.getBoolean("fuzz.supplementary"));
+        logger.info("Fuzzing checkout step one with {} inputs, seed {}", count, seed);
+
+        InventoryPage inventoryPage = new LoginPage(driver, wait).login(
+                TestDataReader.getData().getCredentials().getUsername(),
+                TestDataReader.getData().getCredentials().getPassword());
+        handleAnyPopups();
+        inventoryPage.addBackpackToCart();
+        CheckoutStepOnePage checkoutPage = inventoryPage.clickShoppingCartLink().clickCheckoutButton();
+        // Submissions poll for an error element that is usually absent
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+
+        long start = System.nanoTime();
+        long index = 0;
+        Iterator<CheckoutInput> inputs = generator.iterator(count, ConfigReader.getInt("fuzz.batch.size"));
+        while (inputs.hasNext()) {
+            CheckoutInput input = inputs.next();
+            if (!behavesAsExpected(checkoutPage, input)) {
+                String originalError = lastError;
+                CheckoutInput minimal = CheckoutInputShrinker.shrink(input,
+                        candidate -> !behavesAsExpected(checkoutPage, candidate), shrinkAttempts);
+                behavesAsExpected(checkoutPage, minimal);
+                Allure.addAttachment("Minimal failing input", "text/plain", minimal + System.lineSeparator()
+                        + "expected error: " + minimal.expectedError() + System.lineSeparator()
+                        + "actual error: " + lastError, ".txt");
+                Assert.fail(String.format("Input #%d of seed %d: %s expected error %s but got %s. Shrunk to %s",
+                        index, seed, input, input.expectedError(), originalError, minimal));
+            }
+            index++;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info("Checked {} generated inputs in {} s ({} inputs/sec), seed {}", index,
+                String.format("%.1f", seconds), String.format("%.2f", index / seconds), seed);
+    }
+
+    /** Submits the input on the reused page and leaves the page ready for the next one. */
+    private boolean behavesAsExpected(CheckoutStepOnePage checkoutPage, CheckoutInput input) {
+        checkoutPage.dismissErrorMessage();
+        checkoutPage.fillCheckoutInformation(input.getFirstName(), input.getLastName(), input.getPostalCode());
+        lastError = checkoutPage.submitCheckoutInformation();
+        if (lastError == null) {
+            driver.navigate().back();
+        }
+        return Objects.equals(lastError, input.expectedError());
+    }
+}
@@ -23,8 +23,8 @@ public class CheckoutValidationTest extends BaseTest {
 
         // Step 1: Login and add items to cart
         LoginPage loginPage = new LoginPage(driver, wait);
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         handleAnyPopups();
@@ -66,8 +66,8 @@ public class CheckoutValidationTest extends BaseTest {
 
         // Step 1: Login and add items to cart
         LoginPage loginPage = new LoginPage(driver, wait);
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         handleAnyPopups();
@@ -108,8 +108,8 @@ public class CheckoutValidationTest extends BaseTest {
 
         // Step 1: Login and add items to cart
         LoginPage loginPage = new LoginPage(driver, wait);
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         handleAnyPopups();
@@ -146,8 +146,8 @@ public class CheckoutValidationTest extends BaseTest {
 
         // Step 1: Login without adding items to cart
         LoginPage loginPage = new LoginPage(driver, wait);
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         handleAnyPopups();
@@ -202,8 +202,8 @@ public class CheckoutValidationTest extends BaseTest {
 
         // Step 1: Login and add items to cart
         LoginPage loginPage = new LoginPage(driver, wait);
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         handleAnyPopups();
@@ -253,8 +253,8 @@ public class CheckoutValidationTest extends BaseTest {
 
         // Step 1: Login and add items to cart
         LoginPage loginPage = new LoginPage(driver, wait);
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         handleAnyPopups();
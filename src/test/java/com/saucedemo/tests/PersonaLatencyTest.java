@@ -0,0 +1,113 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.load.JourneyRecorder;
+import com.saucedemo.load.PersonaLatencyReport;
+import com.saucedemo.load.PurchaseJourney;
+import com.saucedemo.standin.SwagLabsServer;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.DriverManager;
+import com.saucedemo.utils.TestDataReader;
+import io.qameta.allure.*;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the purchase journey {@code persona.iterations} times as each persona in
+ * {@code testdata.json}, then compares every step with the baseline credentials user. The
+ * comparison must flag {@code performance_glitch_user} as slower on login, which is what shows
+ * the timing through the page objects can see a slow persona at all.
+ * <p>
+ * The report is attached to Allure and written to {@code persona.report.dir}; see
+ * {@link PersonaLatencyReport} for the statistics.
+ */
+@Epic("SauceDemo Performance")
+@Feature("Persona Latency Comparison")
+public class PersonaLatencyTest {
+    private static final Logger logger = LoggerFactory.getLogger(PersonaLatencyTest.class);
+    private static final String GLITCH_PERSONA = "performance_glitch_user";
+
+    private PersonaLatencyReport report;
+    private String baseline;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        report = new PersonaLatencyReport(PurchaseJourney.STEPS, ConfigReader.getDouble("persona.confidence"),
+                ConfigReader.getInt("persona.bootstrap.resamples"), ConfigReader.getLong("persona.seed"));
+        baseline = TestDataReader.getData().getCredentials().getUsername();
+    }
+
+    @DataProvider(name = "personas")
+    public Object[][] personas() {
+        List<String> personas = TestDataReader.getData().getPersonas();
+        Object[][] data = new Object[personas.size()][];
+        for (int i = 0; i < personas.size(); i++) {
+            data[i] = new Object[]{personas.get(i)};
+        }
+        return data;
+    }
+
+    @Test(description = "Purchase journey timings are collected for the persona", dataProvider = "personas")
+    @Story("Persona Latency")
+    @Severity(SeverityLevel.NORMAL)
+    public void measurePersona(String persona) throws InterruptedException {
+        int iterations = ConfigReader.getInt("persona.iterations");
+        int warmup = ConfigReader.getInt("persona.warmup");
+        String baseUrl = SwagLabsServer.resolveBaseUrl();
+        String password = TestDataReader.getData().getCredentials().getPassword();
+        PurchaseJourney warmupJourney = new PurchaseJourney(baseUrl, persona, password, Duration.ZERO, Duration.ZERO,
+                JourneyRecorder.NONE);
+        PurchaseJourney journey = new PurchaseJourney(baseUrl, persona, password, Duration.ZERO, Duration.ZERO,
+                report.recorderFor(persona));
+        SplittableRandom random = new SplittableRandom(ConfigReader.getLong("persona.seed"));
+        logger.info("Timing {} journeys as {} after {} warm-up journeys", iterations, persona, warmup);
+
+        for (int i = 0; i < warmup + iterations; i++) {
+            WebDriver driver = DriverManager.getDriver(this);
+            driver.manage().timeouts().implicitlyWait(ConfigReader.getDuration("timeout.implicit"));
+            try {
+                (i < warmup ? warmupJourney : journey).run(driver, random);
+            } catch (RuntimeException e) {
+                logger.warn("Journey {} as {} failed: {}", i + 1, persona, e.getMessage());
+                // The session is in an unknown state; the next journey gets a fresh browser
+                DriverManager.closeDriver();
+            }
+        }
+        Assert.assertEquals(report.getFailures(persona), 0, "Every timed journey as " + persona + " should complete");
+    }
+
+    @Test(description = "The glitch persona is measurably slower than the baseline on login",
+            dependsOnMethods = "measurePersona")
+    @Story("Persona Latency")
+    @Severity(SeverityLevel.NORMAL)
+    public void comparePersonas() {
+        String text = report.toText(baseline);
+        logger.info("Persona latency comparison:{}{}", System.lineSeparator(), text);
+        Allure.addAttachment("Persona latency", "text/plain", text);
+        report.write(Paths.get(ConfigReader.getProperty("persona.report.dir")), baseline);
+
+        if (!TestDataReader.getData().getPersonas().contains(GLITCH_PERSONA)) {
+            logger.info("{} is not among the test data personas; nothing to check", GLITCH_PERSONA);
+            return;
+        }
+        PersonaLatencyReport.Comparison login = report.compare(baseline, GLITCH_PERSONA, "login");
+        Assert.assertTrue(login.isSlower(), GLITCH_PERSONA + " login should be slower than " + baseline
+                + ": median " + login.getMedian() + " vs " + login.getBaselineMedian()
+                + " ms, difference interval " + login.getDifferenceInterval() + " ms");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        DriverManager.closeAllDrivers(this);
+    }
+}
@@ -26,8 +26,8 @@ public class SauceDemoTest extends BaseTest {
         Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
         Assert.assertEquals(loginPage.getPageTitle(), "Swag Labs", "Page title should be 'Swag Labs'");
 
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         takeScreenshot();
@@ -63,9 +63,9 @@ public class SauceDemoTest extends BaseTest {
         Assert.assertTrue(checkoutStepOnePage.areFormFieldsDisplayed(), "Form fields should be displayed");
 
         // Step 6: Fill checkout information
-        String firstName = TestDataReader.getTestDataAsString("checkout.firstName");
-        String lastName = TestDataReader.getTestDataAsString("checkout.lastName");
-        String postalCode = TestDataReader.getTestDataAsString("checkout.postalCode");
+        String firstName = TestDataReader.getData().getCheckout().getFirstName();
+        String lastName = TestDataReader.getData().getCheckout().getLastName();
+        String postalCode = TestDataReader.getData().getCheckout().getPostalCode();
 
         checkoutStepOnePage.fillCheckoutInformation(firstName, lastName, postalCode);
         takeScreenshot();
@@ -82,9 +82,9 @@ public class SauceDemoTest extends BaseTest {
         Assert.assertTrue(checkoutStepTwoPage.isSauceCardPaymentMethod(),
                 "Payment method should be SauceCard");
 
-        String expectedSubtotal = TestDataReader.getTestDataAsString("pricing.subtotal");
-        String expectedTax = TestDataReader.getTestDataAsString("pricing.tax");
-        String expectedTotal = TestDataReader.getTestDataAsString("pricing.total");
+        String expectedSubtotal = TestDataReader.getData().getPricing().getSubtotal().toPlainString();
+        String expectedTax = TestDataReader.getData().getPricing().getTax().toPlainString();
+        String expectedTotal = TestDataReader.getData().getPricing().getTotal().toPlainString();
 
         Assert.assertTrue(checkoutStepTwoPage.verifySubtotal(expectedSubtotal),
                 "Subtotal should match expected amount: $" + expectedSubtotal);
@@ -242,8 +242,8 @@ public class SauceDemoTest extends BaseTest {
         logger.info("Starting inventory page test");
 
         LoginPage loginPage = new LoginPage(driver, wait);
-        String username = TestDataReader.getTestDataAsString("credentials.username");
-        String password = TestDataReader.getTestDataAsString("credentials.password");
+        String username = TestDataReader.getData().getCredentials().getUsername();
+        String password = TestDataReader.getData().getCredentials().getPassword();
 
         InventoryPage inventoryPage = loginPage.login(username, password);
         Assert.assertTrue(inventoryPage.isInventoryPageLoaded(), "Inventory page should be loaded");
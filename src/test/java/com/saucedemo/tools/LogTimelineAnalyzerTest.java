@@ -0,0 +1,71 @@
+package com.saucedemo.tools;
+
+import com.saucedemo.metrics.LatencyHistogram;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class LogTimelineAnalyzerTest {
+    private LogTimelineAnalyzer analyzer;
+
+    @BeforeMethod
+    public void analyzeFixture() throws Exception {
+        analyzer = new LogTimelineAnalyzer(5, 60_000);
+        analyzer.analyze(Paths.get(getClass().getResource("/logs/selenium-tests-timeline.log").toURI()));
+        analyzer.finish();
+    }
+
+    @Test
+    public void phasesFollowTheSetupAndTeardownLines() {
+        Map<String, LatencyHistogram> phases = analyzer.phases();
+        assertHistogram(phases.get(LogTimelineAnalyzer.SETUP_DRIVER_INIT), 3, 4000);
+        assertHistogram(phases.get(LogTimelineAnalyzer.SETUP_NAVIGATION), 3, 1500);
+        assertHistogram(phases.get(LogTimelineAnalyzer.SETUP_TOTAL), 3, 7000);
+        assertHistogram(phases.get(LogTimelineAnalyzer.TEST_BODY), 3, 5000);
+        assertHistogram(phases.get(LogTimelineAnalyzer.TEST_TOTAL), 3, 12000);
+    }
+
+    @Test
+    public void actionsLastUntilTheNextLineOnTheThread() {
+        Map<String, LatencyHistogram> actions = analyzer.actions();
+        assertHistogram(actions.get("LoginPage.Entering username"), 1, 1000);
+        assertHistogram(actions.get("LoginTest.Logging in as user #"), 2, 3000);
+        // The idle time before the next test's setup is not an action of the previous one
+        Assert.assertFalse(actions.containsKey("BaseTest.Closing browser and cleaning up resources"),
+                actions.keySet().toString());
+    }
+
+    @Test
+    public void unnamedRunsOfTheSameTestShareOneEntry() {
+        Map<String, LatencyHistogram> tests = analyzer.tests();
+        Assert.assertEquals(tests.keySet().size(), 2, tests.keySet().toString());
+        assertHistogram(tests.get("testValidLogin"), 1, 5000);
+        assertHistogram(tests.get("LoginTest.Logging in as user #"), 2, 7000);
+    }
+
+    @Test
+    public void rolledFilesSortBeforeTheActiveOne() throws Exception {
+        List<Path> files = LogTimelineAnalyzer.collectLogFiles(Arrays.asList(
+                Paths.get("selenium-tests.log"),
+                Paths.get("selenium-tests.2026-01-05.10.log.gz"),
+                Paths.get("selenium-tests.2026-01-05.9.log.gz"),
+                Paths.get("selenium-tests.2026-01-04.12.log.gz")));
+        Assert.assertEquals(files, Arrays.asList(
+                Paths.get("selenium-tests.2026-01-04.12.log.gz"),
+                Paths.get("selenium-tests.2026-01-05.9.log.gz"),
+                Paths.get("selenium-tests.2026-01-05.10.log.gz"),
+                Paths.get("selenium-tests.log")));
+    }
+
+    private static void assertHistogram(LatencyHistogram histogram, long count, long sum) {
+        Assert.assertNotNull(histogram);
+        Assert.assertEquals(histogram.count(), count);
+        Assert.assertEquals(histogram.sum(), sum);
+    }
+}
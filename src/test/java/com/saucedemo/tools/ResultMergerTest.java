@@ -0,0 +1,177 @@
+package com.saucedemo.tools;
+
+import com.saucedemo.utils.TempDirs;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ResultMergerTest {
+    private Path root;
+    private Path out;
+
+    @BeforeMethod
+    public void createRoot() throws IOException {
+        root = Files.createTempDirectory("result-merge");
+        out = root.resolve("merged");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteRoot() throws IOException {
+        TempDirs.deleteRecursively(root);
+    }
+
+    @Test
+    public void emptySourceMergesToNothing() throws IOException {
+        ResultMerger merger = new ResultMerger(out, 5, false);
+        merger.add(Files.createDirectories(root.resolve("chrome")));
+        merger.write();
+
+        ResultMerger.Totals totals = merger.totals(ResultMerger.Format.JUNIT);
+        Assert.assertEquals(totals.getTests(), 0);
+        Assert.assertEquals(totals.getDurationMs(), 0);
+        Assert.assertTrue(Files.readString(out.resolve("summary.properties")).contains("junit.tests=0"));
+    }
+
+    @Test
+    public void junitReportsOfEverySourceAreKeptUnderDistinctNames() throws IOException {
+        junit("chrome", "surefire-reports", testcase("LoginTest", "valid", "1.5", ""));
+        junit("firefox", "surefire-reports", testcase("LoginTest", "valid", "2", "<failure/>"));
+        ResultMerger merger = new ResultMerger(out, 5, false);
+        merger.add(root.resolve("chrome"));
+        merger.add(root.resolve("firefox"));
+        merger.write();
+
+        ResultMerger.Totals totals = merger.totals(ResultMerger.Format.JUNIT);
+        Assert.assertEquals(totals.getTests(), 2);
+        Assert.assertEquals(totals.count(ResultMerger.Status.PASSED), 1);
+        Assert.assertEquals(totals.count(ResultMerger.Status.FAILED), 1);
+        Assert.assertEquals(totals.getDurationMs(), 3500);
+        Assert.assertEquals(names(out.resolve(ResultMerger.SUREFIRE_DIR)),
+                List.of("TEST-Suite-chrome.xml", "TEST-Suite-firefox.xml"));
+    }
+
+    @Test
+    public void aPassAfterAFailureInOneSourceIsFlaky() throws IOException {
+        junit("chrome", "surefire-reports", testcase("CartTest", "add", "1", "<failure/>")
+                + testcase("CartTest", "add", "1", ""));
+        ResultMerger merger = new ResultMerger(out, 5, false);
+        merger.add(root.resolve("chrome"));
+
+        ResultMerger.Totals totals = merger.totals(ResultMerger.Format.JUNIT);
+        Assert.assertEquals(totals.getTests(), 1);
+        Assert.assertEquals(totals.count(ResultMerger.Status.PASSED), 1);
+        Assert.assertEquals(totals.getFlaky(), 1);
+        Assert.assertEquals(totals.getRetries(), 1);
+        Assert.assertEquals(totals.getDurationMs(), 2000);
+    }
+
+    @Test
+    public void allSkippedStaysSkipped() throws IOException {
+        junit("chrome", "surefire-reports", testcase("CartTest", "add", "0", "<skipped/>")
+                + testcase("CartTest", "remove", "0", "<skipped/>"));
+        ResultMerger merger = new ResultMerger(out, 5, false);
+        merger.add(root.resolve("chrome"));
+
+        ResultMerger.Totals totals = merger.totals(ResultMerger.Format.JUNIT);
+        Assert.assertEquals(totals.count(ResultMerger.Status.SKIPPED), 2);
+        Assert.assertEquals(totals.getFlaky(), 0);
+    }
+
+    @Test
+    public void testngJunitReportsAreReadOnlyWithoutSurefireReports() throws IOException {
+        junit("chrome", "surefire-reports", testcase("A", "one", "1", ""));
+        junit("chrome", "junitreports", testcase("A", "one", "1", ""));
+        junit("firefox", "junitreports", testcase("A", "one", "1", ""));
+        ResultMerger merger = new ResultMerger(out, 5, false);
+        merger.add(root.resolve("chrome"));
+        merger.add(root.resolve("firefox"));
+
+        ResultMerger.Totals totals = merger.totals(ResultMerger.Format.JUNIT);
+        Assert.assertEquals(totals.getTests(), 2);
+        Assert.assertEquals(totals.getRetries(), 0);
+    }
+
+    @Test
+    public void supersededAllureAttemptsAreDroppedUnlessKept() throws IOException {
+        allure("chrome", "a1-result.json", "h1", "failed", 0, 1000);
+        allure("chrome", "a2-result.json", "h1", "passed", 2000, 2500);
+        Files.write(root.resolve("chrome").resolve(ResultMerger.ALLURE_DIR).resolve("c1-container.json"),
+                "{}".getBytes(StandardCharsets.UTF_8));
+
+        ResultMerger merger = new ResultMerger(out, 5, false);
+        merger.add(root.resolve("chrome"));
+        merger.write();
+        ResultMerger.Totals totals = merger.totals(ResultMerger.Format.ALLURE);
+        Assert.assertEquals(totals.getTests(), 1);
+        Assert.assertEquals(totals.getFlaky(), 1);
+        Assert.assertEquals(totals.getDurationMs(), 1500);
+        Assert.assertEquals(names(out.resolve(ResultMerger.ALLURE_DIR)),
+                List.of("a2-result.json", "c1-container.json"));
+
+        Path kept = root.resolve("kept");
+        ResultMerger keeping = new ResultMerger(kept, 5, true);
+        keeping.add(root.resolve("chrome"));
+        keeping.write();
+        Assert.assertEquals(names(kept.resolve(ResultMerger.ALLURE_DIR)),
+                List.of("a1-result.json", "a2-result.json", "c1-container.json"));
+    }
+
+    @Test
+    public void unreadableFilesAreReportedNotFatal() throws IOException {
+        junit("chrome", "surefire-reports", "<testsuite><testcase name=");
+        allure("chrome", "a1-result.json", "h1", "passed", 0, 10);
+        Files.write(root.resolve("chrome").resolve(ResultMerger.ALLURE_DIR).resolve("bad-result.json"),
+                "[]".getBytes(StandardCharsets.UTF_8));
+        ResultMerger merger = new ResultMerger(out, 5, false);
+        merger.add(root.resolve("chrome"));
+
+        Assert.assertEquals(merger.getProblems().size(), 2);
+        Assert.assertEquals(merger.totals(ResultMerger.Format.ALLURE).getTests(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsMissingInput() throws IOException {
+        new ResultMerger(out, 5, false).add(root.resolve("missing"));
+    }
+
+    @Test
+    public void formatsDurations() {
+        Assert.assertEquals(ResultMerger.formatDuration(999), "999 ms");
+        Assert.assertEquals(ResultMerger.formatDuration(1500), "1.5 s");
+        Assert.assertEquals(ResultMerger.formatDuration(125_000), "2m 05s");
+    }
+
+    private void junit(String source, String directory, String body) throws IOException {
+        Path dir = Files.createDirectories(root.resolve(source).resolve(directory));
+        String xml = body.startsWith("<testsuite") ? body : "<testsuite name=\"Suite\">" + body + "</testsuite>";
+        Files.write(dir.resolve("TEST-Suite.xml"), xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String testcase(String className, String name, String time, String content) {
+        return "<testcase classname=\"" + className + "\" name=\"" + name + "\" time=\"" + time + "\">" + content
+                + "</testcase>";
+    }
+
+    private void allure(String source, String file, String historyId, String status, long start, long stop)
+            throws IOException {
+        Path dir = Files.createDirectories(root.resolve(source).resolve(ResultMerger.ALLURE_DIR));
+        String json = "{\"historyId\":\"" + historyId + "\",\"fullName\":\"Test.method\",\"status\":\"" + status
+                + "\",\"steps\":[{\"name\":\"x\"}],\"start\":" + start + ",\"stop\":" + stop + "}";
+        Files.write(dir.resolve(file), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> names(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
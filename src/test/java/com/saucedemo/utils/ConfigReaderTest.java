@@ -0,0 +1,48 @@
+package com.saucedemo.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class ConfigReaderTest {
+    /** A number with a unit suffix; bare numbers are durations only for keys read as such. */
+    private static final Pattern SUFFIXED = Pattern.compile("\\d+\\s*[a-zA-Z]+");
+
+    @Test
+    public void everySuffixedDefaultParsesAsDuration() {
+        for (Map.Entry<String, String> entry : ConfigReader.defaults().entrySet()) {
+            if (SUFFIXED.matcher(entry.getValue()).matches()) {
+                try {
+                    ConfigReader.parseDuration(entry.getValue());
+                } catch (NumberFormatException e) {
+                    Assert.fail("Default " + entry.getKey() + "=" + entry.getValue() + " is not a duration", e);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parsesEverySuffix() {
+        Assert.assertEquals(ConfigReader.parseDuration("250ms"), Duration.ofMillis(250));
+        Assert.assertEquals(ConfigReader.parseDuration("30s"), Duration.ofSeconds(30));
+        Assert.assertEquals(ConfigReader.parseDuration("5m"), Duration.ofMinutes(5));
+        Assert.assertEquals(ConfigReader.parseDuration("4h"), Duration.ofHours(4));
+        Assert.assertEquals(ConfigReader.parseDuration(" 2 H "), Duration.ofHours(2));
+        Assert.assertEquals(ConfigReader.parseDuration("10"), Duration.ofSeconds(10));
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void rejectsUnknownSuffix() {
+        ConfigReader.parseDuration("3d");
+    }
+
+    @Test
+    public void soakDefaultsAreConsistent() {
+        Duration duration = ConfigReader.parseDuration(ConfigReader.defaults().get("soak.duration"));
+        Duration warmup = ConfigReader.parseDuration(ConfigReader.defaults().get("soak.warmup"));
+        Assert.assertTrue(warmup.compareTo(duration) < 0, "soak.warmup must be shorter than soak.duration");
+    }
+}